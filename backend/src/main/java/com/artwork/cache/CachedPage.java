@@ -0,0 +1,70 @@
+package com.artwork.cache;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+@JsonIncludeProperties({"content", "number", "size", "totalElements", "orders"})
+public class CachedPage<T> extends PageImpl<T> {
+
+    @JsonCreator
+    public CachedPage(@JsonProperty("content") List<T> content,
+                      @JsonProperty("number") int number,
+                      @JsonProperty("size") int size,
+                      @JsonProperty("totalElements") long totalElements,
+                      @JsonProperty("orders") List<SortOrder> orders) {
+        super(content != null ? content : new ArrayList<>(),
+                PageRequest.of(number, Math.max(size, 1), toSort(orders)),
+                totalElements);
+    }
+
+    public static <T> CachedPage<T> of(Page<T> page) {
+        if (page instanceof CachedPage<T> cached) {
+            return cached;
+        }
+        return new CachedPage<>(new ArrayList<>(page.getContent()),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                fromSort(page.getSort()));
+    }
+
+    @JsonProperty("orders")
+    public List<SortOrder> getOrders() {
+        return fromSort(getSort());
+    }
+
+    private static List<SortOrder> fromSort(Sort sort) {
+        List<SortOrder> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orders.add(new SortOrder(order.getProperty(), order.getDirection().name(), order.isIgnoreCase(),
+                    order.getNullHandling().name()));
+        }
+        return orders;
+    }
+
+    private static Sort toSort(List<SortOrder> orders) {
+        if (orders == null || orders.isEmpty()) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> sortOrders = new ArrayList<>();
+        for (SortOrder order : orders) {
+            Sort.Order sortOrder = new Sort.Order(Sort.Direction.fromString(order.direction()), order.property(),
+                    order.nullHandling() != null ? Sort.NullHandling.valueOf(order.nullHandling()) : Sort.NullHandling.NATIVE);
+            sortOrders.add(order.ignoreCase() ? sortOrder.ignoreCase() : sortOrder);
+        }
+        return Sort.by(sortOrders);
+    }
+
+
+    // Enum names rather than Sort's own types, which the cache serializer's type validator does not allow.
+    public record SortOrder(String property, String direction, boolean ignoreCase, String nullHandling) {}
+}
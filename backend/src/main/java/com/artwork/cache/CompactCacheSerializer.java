@@ -0,0 +1,134 @@
+package com.artwork.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+@Slf4j
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    // 0x01 and 0x02 were written without type ids on final types; those entries are read as misses.
+    private static final byte LEGACY_FORMAT_SMILE = 0x01;
+    private static final byte LEGACY_FORMAT_SMILE_LZ4 = 0x02;
+    private static final byte FORMAT_SMILE = 0x03;
+    private static final byte FORMAT_SMILE_LZ4 = 0x04;
+
+    private static final int LZ4_HEADER_LENGTH = 1 + Integer.BYTES;
+
+    private final ObjectMapper mapper;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public CompactCacheSerializer(int compressionThreshold) {
+        this.mapper = createMapper();
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    private static ObjectMapper createMapper() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+
+        PolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.artwork.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType("java.math.")
+                .allowIfSubType("java.time.")
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper(smileFactory);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // EVERYTHING rather than NON_FINAL: records, final DTOs and boxed scalars like Long need a type id
+        // too, or they come back as LinkedHashMap or Integer when read as Object.
+        objectMapper.activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] encoded;
+        try {
+            encoded = mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value of type " + value.getClass().getName(), e);
+        }
+
+        if (compressionThreshold > 0 && encoded.length >= compressionThreshold) {
+            return compress(encoded);
+        }
+
+        byte[] framed = new byte[encoded.length + 1];
+        framed[0] = FORMAT_SMILE;
+        System.arraycopy(encoded, 0, framed, 1, encoded.length);
+        return framed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        try {
+            return switch (bytes[0]) {
+                case FORMAT_SMILE -> mapper.readValue(bytes, 1, bytes.length - 1, Object.class);
+                case FORMAT_SMILE_LZ4 -> mapper.readValue(decompress(bytes), Object.class);
+                case LEGACY_FORMAT_SMILE, LEGACY_FORMAT_SMILE_LZ4 -> null;
+                default -> throw new SerializationException("Unknown cache value format: " + bytes[0]);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+    private byte[] compress(byte[] encoded) {
+        int maxLength = compressor.maxCompressedLength(encoded.length);
+        byte[] framed = new byte[LZ4_HEADER_LENGTH + maxLength];
+        framed[0] = FORMAT_SMILE_LZ4;
+        ByteBuffer.wrap(framed, 1, Integer.BYTES).putInt(encoded.length);
+        int compressedLength = compressor.compress(encoded, 0, encoded.length, framed, LZ4_HEADER_LENGTH, maxLength);
+
+        byte[] result = new byte[LZ4_HEADER_LENGTH + compressedLength];
+        System.arraycopy(framed, 0, result, 0, result.length);
+        log.trace("Compressed cache value from {} to {} bytes", encoded.length, compressedLength);
+        return result;
+    }
+
+    private byte[] decompress(byte[] framed) {
+        if (framed.length < LZ4_HEADER_LENGTH) {
+            throw new SerializationException("Truncated compressed cache value");
+        }
+        int originalLength = ByteBuffer.wrap(framed, 1, Integer.BYTES).getInt();
+        byte[] restored = new byte[originalLength];
+        decompressor.decompress(framed, LZ4_HEADER_LENGTH, restored, 0, originalLength);
+        return restored;
+    }
+}
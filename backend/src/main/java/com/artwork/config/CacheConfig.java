@@ -1,5 +1,6 @@
 package com.artwork.config;
 
+import com.artwork.cache.CompactCacheSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -10,7 +11,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 
 import java.time.Duration;
@@ -23,6 +23,9 @@ public class CacheConfig {
     @Value("${spring.cache.redis.time-to-live:3600}")
     private long timeToLiveSeconds;
 
+    @Value("${cache.redis.compression-threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+
     
     @Bean
     @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
@@ -30,50 +33,50 @@ public class CacheConfig {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofSeconds(timeToLiveSeconds))
                 .disableCachingNullValues()
-                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .serializeValuesWith(SerializationPair.fromSerializer(new CompactCacheSerializer(compressionThresholdBytes)));
     }
 
     
     @Bean
     @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(RedisCacheConfiguration cacheConfiguration) {
         return (builder) -> builder
                 
                 .withCacheConfiguration("artworks",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(10)))
                 
                 .withCacheConfiguration("artwork",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(30)))
                 
                 .withCacheConfiguration("artists",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(60)))
                 
                 .withCacheConfiguration("featuredArtists",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(6)))
+                        cacheConfiguration.entryTtl(Duration.ofHours(6)))
                 
                 .withCacheConfiguration("featuredArtworks",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(4)))
+                        cacheConfiguration.entryTtl(Duration.ofHours(4)))
                 
                 .withCacheConfiguration("users",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(30)))
                 
                 .withCacheConfiguration("categories",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(24)))
+                        cacheConfiguration.entryTtl(Duration.ofHours(24)))
                 
                 .withCacheConfiguration("topCategories",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(10)))
                 
                 .withCacheConfiguration("allCategories",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofHours(12)))
+                        cacheConfiguration.entryTtl(Duration.ofHours(12)))
                 
                 .withCacheConfiguration("activeCategories",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(30)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(30)))
                 
                 .withCacheConfiguration("categoryStats",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(15)))
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(15)))
                 
                 .withCacheConfiguration("homeStats",
-                        RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)));
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(5)));
     }
 
     
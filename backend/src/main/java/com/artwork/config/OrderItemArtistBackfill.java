@@ -0,0 +1,38 @@
+package com.artwork.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@Slf4j
+public class OrderItemArtistBackfill {
+
+    private static final String BACKFILL_SQL =
+            "UPDATE order_items SET artist_id = " +
+            "(SELECT a.artist_id FROM artworks a WHERE a.id = order_items.artwork_id) " +
+            "WHERE artist_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so that ddl-auto has added the column before the backfill runs.
+    public OrderItemArtistBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void initialize() {
+        try {
+            int updated = jdbcTemplate.update(BACKFILL_SQL);
+            if (updated > 0) {
+                log.info("Backfilled artist_id for {} order items", updated);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not backfill order item artist ids: {}", e.getMessage());
+        }
+    }
+}
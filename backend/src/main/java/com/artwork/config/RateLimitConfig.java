@@ -1,32 +1,46 @@
 package com.artwork.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.artwork.filter.RateLimitFilter;
+import com.artwork.ratelimit.LocalRateLimitStore;
+import com.artwork.ratelimit.RateLimitProperties;
+import com.artwork.ratelimit.RateLimitStore;
+import com.artwork.ratelimit.RedisRateLimitStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @Configuration
+@Slf4j
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-
     @Bean
-    public Map<String, Bucket> buckets() {
-        return buckets;
-    }
+    public RateLimitStore rateLimitStore(RateLimitProperties properties,
+                                         ObjectProvider<StringRedisTemplate> redisTemplate) {
+        LocalRateLimitStore localStore = new LocalRateLimitStore(properties.getLocal());
 
-    public Bucket resolveBucket(String key) {
-        return buckets.computeIfAbsent(key, this::newBucket);
+        if (properties.getStore() == RateLimitProperties.Store.REDIS) {
+            StringRedisTemplate template = redisTemplate.getIfAvailable();
+            if (template != null) {
+                log.info("Rate limiting with shared Redis buckets ({} policies)", properties.getPolicies().size());
+                return new RedisRateLimitStore(template, localStore);
+            }
+            log.warn("Redis rate limit store requested but Redis is not configured, using local buckets");
+        }
+
+        log.info("Rate limiting with local buckets (max {}, idle timeout {})",
+                properties.getLocal().getMaxBuckets(), properties.getLocal().getIdleTimeout());
+        return localStore;
     }
 
-    private Bucket newBucket(String key) {
-        
-        Bandwidth limit = Bandwidth.classic(5, Refill.greedy(5, Duration.ofMinutes(1)));
-        return Bucket.builder().addLimit(limit).build();
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 }
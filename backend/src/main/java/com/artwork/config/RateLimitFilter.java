@@ -1,70 +0,0 @@
-package com.artwork.config;
-
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-@Slf4j
-@Component("configRateLimitFilter")
-public class RateLimitFilter extends OncePerRequestFilter {
-
-    
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        
-        
-        String path = request.getRequestURI();
-        if (!path.startsWith("/api/auth/")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        
-        String clientIP = getClientIP(request);
-        
-        
-        Bucket bucket = buckets.computeIfAbsent(clientIP, this::createNewBucket);
-        
-        
-        if (bucket.tryConsume(1)) {
-            
-            filterChain.doFilter(request, response);
-        } else {
-            
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"Rate limit exceeded. Please try again later.\", \"status\": 429}");
-            log.warn("Rate limit exceeded for IP: {}", clientIP);
-        }
-    }
-
-    private Bucket createNewBucket(String ip) {
-        return Bucket.builder()
-                .addLimit(Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1))))
-                .build();
-    }
-
-    private String getClientIP(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
-}
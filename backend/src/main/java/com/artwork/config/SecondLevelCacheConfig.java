@@ -0,0 +1,66 @@
+package com.artwork.config;
+
+import com.artwork.entity.Category;
+import com.artwork.entity.SocialLinks;
+import com.artwork.entity.UserSummary;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${cache.l2.user-summary.max-size:50000}")
+    private long userSummaryMaxSize;
+
+    @Value("${cache.l2.user-summary.ttl:PT10M}")
+    private Duration userSummaryTtl;
+
+    @Value("${cache.l2.query-results.max-size:5000}")
+    private long queryResultsMaxSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        createRegion(cacheManager, Category.CACHE_REGION, 1_000, Duration.ofHours(12));
+        createRegion(cacheManager, SocialLinks.CACHE_REGION, 20_000, Duration.ofHours(1));
+        createRegion(cacheManager, UserSummary.CACHE_REGION, userSummaryMaxSize, userSummaryTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryResultsMaxSize, Duration.ofMinutes(30));
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null);
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String region, long maxSize, Duration ttl) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(region, configuration);
+        log.info("Second-level cache region '{}' created (maxSize={}, ttl={})", region, maxSize, ttl);
+    }
+}
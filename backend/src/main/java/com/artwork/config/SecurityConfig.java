@@ -26,7 +26,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailsService userDetailsService;
     private final BCryptPasswordEncoder passwordEncoder;
-    private final com.artwork.config.RateLimitFilter rateLimitFilter;
+    private final com.artwork.filter.RateLimitFilter rateLimitFilter;
     
     
     private final CustomOAuth2UserService customOAuth2UserService;
@@ -0,0 +1,116 @@
+package com.artwork.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+
+@Component
+@Slf4j
+public class UserLookupColumnsInitializer {
+
+    private static final String PENDING_SQL =
+            "SELECT COUNT(*) FROM (SELECT 1 FROM users WHERE %1$s_lower IS NULL LIMIT 1) pending";
+
+    private static final String SIMPLE_BACKFILL_SQL =
+            "UPDATE users SET %1$s_lower = LOWER(%1$s) WHERE %1$s_lower IS NULL";
+
+    // Only rows still missing the column and the rows they could collide with are ranked. The oldest
+    // account, or the one already holding the lowered value, gets it; case-variant duplicates stay NULL.
+    private static final String POSTGRES_BACKFILL_SQL =
+            "UPDATE users u SET %1$s_lower = ranked.lowered " +
+            "FROM (SELECT id, LOWER(%1$s) AS lowered, ROW_NUMBER() OVER (PARTITION BY LOWER(%1$s) " +
+            "        ORDER BY %1$s_lower IS NULL, created_at NULLS LAST, id) AS rn " +
+            "      FROM users " +
+            "      WHERE %1$s_lower IS NULL " +
+            "         OR %1$s_lower IN (SELECT LOWER(%1$s) FROM users WHERE %1$s_lower IS NULL)) ranked " +
+            "WHERE u.id = ranked.id AND u.%1$s_lower IS NULL AND ranked.rn = 1";
+
+    private static final String DUPLICATES_SQL =
+            "SELECT id, %1$s AS value FROM users WHERE %1$s_lower IS NULL ORDER BY LOWER(%1$s) LIMIT 100";
+
+    private static final List<String> LOOKUP_COLUMNS = List.of("email", "username");
+
+    private static final List<String> POSTGRES_INDEXES = List.of(
+            "CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (email_lower)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_lower ON users (username_lower)",
+            "CREATE INDEX IF NOT EXISTS idx_users_username_lower_pattern ON users (username_lower text_pattern_ops)",
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (LOWER(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (LOWER(last_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_username_lower_trgm ON users USING gin (username_lower gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so that ddl-auto has added the columns before the backfill runs.
+    public UserLookupColumnsInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void initialize() {
+        boolean postgres = isPostgres();
+        try {
+            for (String column : LOOKUP_COLUMNS) {
+                backfill(column, postgres);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not backfill normalized user lookup columns: {}", e.getMessage());
+            return;
+        }
+
+        if (!postgres) {
+            return;
+        }
+        for (String statement : POSTGRES_INDEXES) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                log.warn("Skipping user lookup index ({}): {}", statement, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void backfill(String column, boolean postgres) {
+        Long pending = jdbcTemplate.queryForObject(String.format(PENDING_SQL, column), Long.class);
+        if (pending == null || pending == 0) {
+            return;
+        }
+
+        int updated = jdbcTemplate.update(String.format(postgres ? POSTGRES_BACKFILL_SQL : SIMPLE_BACKFILL_SQL, column));
+        if (updated > 0) {
+            log.info("Backfilled normalized {} for {} users", column, updated);
+        }
+        if (postgres) {
+            reportDuplicates(column);
+        }
+    }
+
+    private void reportDuplicates(String column) {
+        List<Map<String, Object>> duplicates = jdbcTemplate.queryForList(String.format(DUPLICATES_SQL, column));
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        log.error("Users sharing a case-insensitive {} with another account are left out of {} lookups " +
+                "until merged or renamed (first 100): {}", column, column, duplicates);
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            return product != null && product.toLowerCase().contains("postgres");
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
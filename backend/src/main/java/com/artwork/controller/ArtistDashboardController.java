@@ -2,8 +2,7 @@ package com.artwork.controller;
 
 import com.artwork.entity.*;
 import com.artwork.repository.*;
-import com.artwork.security.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.artwork.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,7 +23,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ArtistDashboardController {
     
-    private final JwtUtil jwtUtil;
+    private final AuthContext authContext;
     private final UserRepository userRepository;
     private final ArtworkRepository artworkRepository;
     private final OrderRepository orderRepository;
@@ -246,7 +245,6 @@ public class ArtistDashboardController {
         }
         
         String token = authHeader.substring(7);
-        Claims claims = jwtUtil.getClaims(token);
-        return claims.getSubject(); 
+        return authContext.resolveUserId(token);
     }
 }
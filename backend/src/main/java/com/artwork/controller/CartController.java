@@ -9,7 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -77,18 +76,20 @@ public class CartController {
             return ResponseEntity.badRequest().body(Map.of("error", "Guest session ID is required"));
         }
         
-        List<CartItemDto> guestItems = guestCartService.getCartItems(guestSessionId);
+        Map<String, Integer> guestItems = guestCartService.claimCartItems(guestSessionId);
         
-        for (CartItemDto item : guestItems) {
-            cartService.addToCart(item, token);
+        int mergedCount;
+        try {
+            mergedCount = cartService.mergeItems(guestItems, token);
+        } catch (RuntimeException e) {
+            guestCartService.restoreCartItems(guestSessionId, guestItems);
+            throw e;
         }
         
-        guestCartService.deleteSession(guestSessionId);
-        
         Map<String, Object> cartSummary = cartService.getCartSummary(token);
         return ResponseEntity.ok(Map.of(
             "message", "Guest cart merged successfully",
-            "mergedItems", guestItems.size(),
+            "mergedItems", mergedCount,
             "cart", cartSummary
         ));
     }
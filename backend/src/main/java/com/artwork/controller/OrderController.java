@@ -4,6 +4,8 @@ import com.artwork.dto.OrderRequestDto;
 import com.artwork.dto.OrderDto;
 import com.artwork.service.OrderService;
 import com.artwork.service.admin.AdminOrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,12 +24,24 @@ import java.util.Map;
 public class OrderController {
     private final OrderService orderService;
     private final AdminOrderService adminOrderService;
+    private final MeterRegistry meterRegistry;
 
     @PreAuthorize("hasRole('CUSTOMER')")
     @PostMapping
     public ResponseEntity<?> placeOrder(@RequestBody OrderRequestDto orderRequestDto, @RequestHeader("Authorization") String authHeader) {
         String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
-        OrderDto order = orderService.placeOrder(orderRequestDto, token);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        OrderDto order;
+        try {
+            order = orderService.placeOrder(orderRequestDto, token);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("checkout.place.order")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
         Map<String, Object> response = new HashMap<>();
         response.put("data", order);
         response.put("message", "Order placed successfully");
@@ -2,10 +2,9 @@ package com.artwork.controller;
 
 import com.artwork.dto.TokenDto;
 import com.artwork.security.JwtUtil;
+import com.artwork.security.TokenBlacklistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
@@ -17,8 +16,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TokenController {
     private final JwtUtil jwtUtil;
-    @Autowired(required = false)
-    private RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklistService tokenBlacklistService;
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestBody TokenDto tokenDto) {
@@ -28,15 +26,8 @@ public class TokenController {
         }
         
         
-        try {
-            if (redisTemplate != null) {
-                Boolean isBlacklisted = redisTemplate.hasKey("BLACKLIST:" + refreshToken);
-                if (Boolean.TRUE.equals(isBlacklisted)) {
-                    return ResponseEntity.status(401).body(Map.of("success", false, "message", "Token is blacklisted"));
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Redis connection failed for token blacklist check, continuing without check: {}", e.getMessage());
+        if (tokenBlacklistService.isBlacklisted(refreshToken)) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "Token is blacklisted"));
         }
         
         var claims = jwtUtil.getClaims(refreshToken);
@@ -53,17 +44,12 @@ public class TokenController {
         String refreshToken = tokenDto.getRefreshToken();
         
         
-        try {
-            if (redisTemplate != null) {
-                if (accessToken != null) {
-                    redisTemplate.opsForValue().set("BLACKLIST:" + accessToken, "true");
-                }
-                if (refreshToken != null) {
-                    redisTemplate.opsForValue().set("BLACKLIST:" + refreshToken, "true");
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Redis connection failed for token blacklisting, logout still successful: {}", e.getMessage());
+        if (accessToken != null) {
+            tokenBlacklistService.blacklist(accessToken);
+            jwtUtil.invalidate(accessToken);
+        }
+        if (refreshToken != null) {
+            tokenBlacklistService.blacklist(refreshToken);
         }
         
         return ResponseEntity.ok(Map.of("success", true, "message", "Logged out successfully"));
@@ -9,8 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/wishlist")
@@ -48,16 +48,16 @@ public class WishlistController {
             return ResponseEntity.badRequest().body(Map.of("error", "Guest session ID is required"));
         }
         
-        List<WishlistItemDto> guestItems = guestWishlistService.getWishlistItems(guestSessionId);
+        Set<String> guestItems = guestWishlistService.claimWishlistItems(guestSessionId);
         
-        int mergedCount = 0;
-        for (WishlistItemDto item : guestItems) {
-            wishlistService.addToWishlist(item, token);
-            mergedCount++;
+        int mergedCount;
+        try {
+            mergedCount = wishlistService.mergeItems(guestItems, token);
+        } catch (RuntimeException e) {
+            guestWishlistService.restoreWishlistItems(guestSessionId, guestItems);
+            throw e;
         }
         
-        guestWishlistService.deleteSession(guestSessionId);
-        
         var wishlist = wishlistService.getWishlist(token);
         return ResponseEntity.ok(Map.of(
             "message", "Guest wishlist merged successfully",
@@ -28,4 +28,14 @@ public class AdminAnalyticsController {
         response.put("success", true);
         return ResponseEntity.ok(response);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache")
+    public ResponseEntity<?> getSecondLevelCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", adminAnalyticsService.getSecondLevelCacheStats());
+        response.put("message", "Cache statistics retrieved successfully");
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,109 @@
+package com.artwork.controller.admin;
+
+import com.artwork.entity.payment.SettlementMismatch;
+import com.artwork.entity.payment.SettlementMismatchType;
+import com.artwork.entity.payment.SettlementReconciliation;
+import com.artwork.service.payment.SettlementReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+
+@RestController
+@RequestMapping({"/api/admin/settlements/reconciliations", "/api/v1/admin/settlements/reconciliations"})
+@RequiredArgsConstructor
+@Slf4j
+public class AdminSettlementReconciliationController {
+
+    private final SettlementReconciliationService reconciliationService;
+
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> upload(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime periodStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime periodEnd)
+            throws IOException {
+        Path reportFile = Files.createTempFile("settlement-", ".csv");
+        file.transferTo(reportFile);
+        try {
+            String sourceName = file.getOriginalFilename() != null ? file.getOriginalFilename() : reportFile.getFileName().toString();
+            return ResponseEntity.accepted().body(
+                    reconciliationService.submit(sourceName, reportFile, true, periodStart, periodEnd));
+        } catch (IllegalArgumentException e) {
+            Files.deleteIfExists(reportFile);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // For reports too large to upload: the file is read in place from settlement.recon.import-dir.
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importFile(
+            @RequestParam String fileName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime periodStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime periodEnd) {
+        try {
+            return ResponseEntity.accepted().body(reconciliationService.importFile(fileName, periodStart, periodEnd));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SettlementReconciliation>> list(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reconciliationService.getRecentReconciliations(page, size));
+    }
+
+    @GetMapping("/{reconciliationId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long reconciliationId) {
+        return ResponseEntity.ok(Map.of(
+                "reconciliation", reconciliationService.getReconciliation(reconciliationId),
+                "mismatchCounts", reconciliationService.getMismatchCounts(reconciliationId)));
+    }
+
+    @GetMapping("/{reconciliationId}/mismatches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SettlementMismatch>> mismatches(
+            @PathVariable Long reconciliationId,
+            @RequestParam(required = false) SettlementMismatchType type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(reconciliationService.getMismatches(reconciliationId, type, page, size));
+    }
+
+    @GetMapping(value = "/{reconciliationId}/mismatches/export", produces = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMismatches(@PathVariable Long reconciliationId) {
+        reconciliationService.getReconciliation(reconciliationId);
+        StreamingResponseBody body = outputStream -> reconciliationService.exportMismatches(reconciliationId,
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"settlement-mismatches-" + reconciliationId + ".csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
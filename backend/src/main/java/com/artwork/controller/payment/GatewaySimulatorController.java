@@ -0,0 +1,62 @@
+package com.artwork.controller.payment;
+
+import com.artwork.service.payment.simulator.SimulatedGatewayException;
+import com.artwork.service.payment.simulator.SimulatedPaymentGateway;
+import com.artwork.service.payment.simulator.SimulatedRazorpayXPayoutService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+
+@RestController
+@RequestMapping("/api/simulator/razorpay")
+@Profile("gateway-sim")
+@RequiredArgsConstructor
+@Slf4j
+public class GatewaySimulatorController {
+
+    private final SimulatedPaymentGateway simulatedGateway;
+    private final SimulatedRazorpayXPayoutService simulatedPayouts;
+
+    @PostMapping("/orders/{gatewayOrderId}/pay")
+    public ResponseEntity<?> pay(
+            @PathVariable String gatewayOrderId,
+            @RequestParam(defaultValue = "card") String method,
+            @RequestParam(defaultValue = "true") boolean succeed) {
+        try {
+            return ResponseEntity.ok(simulatedGateway.pay(gatewayOrderId, method, succeed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (SimulatedGatewayException e) {
+            return ResponseEntity.status(e.isTimeout() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/settlements/report", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> settlementReport() {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write("entity_id,type,amount,status\n");
+            simulatedGateway.writeSettlementRows(writer);
+            simulatedPayouts.writeSettlementRows(writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"simulated-settlement.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+}
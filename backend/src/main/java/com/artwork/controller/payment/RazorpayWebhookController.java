@@ -1,14 +1,9 @@
 package com.artwork.controller.payment;
 
-import com.artwork.entity.payment.Payment;
-import com.artwork.entity.payment.PaymentStatus;
-import com.artwork.entity.payment.Payout;
-import com.artwork.entity.payment.PayoutStatus;
-import com.artwork.repository.payment.PaymentRepository;
-import com.artwork.repository.payment.PayoutRepository;
+import com.artwork.service.payment.impl.RazorpayWebhookInbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.JSONObject;
+import org.json.JSONException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,8 +11,10 @@ import org.springframework.web.bind.annotation.*;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.util.Formatter;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 
 @RestController
@@ -26,8 +23,18 @@ import java.util.Formatter;
 @Slf4j
 public class RazorpayWebhookController {
     
-    private final PaymentRepository paymentRepository;
-    private final PayoutRepository payoutRepository;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    private final RazorpayWebhookInbox webhookInbox;
+    
+    // Mac is not thread-safe, so each request thread keeps its own keyed instance.
+    private final ThreadLocal<Mac> webhookMac = ThreadLocal.withInitial(this::newMac);
     
     @Value("${razorpay.webhook.secret:}")
     private String webhookSecret;
@@ -36,250 +43,56 @@ public class RazorpayWebhookController {
     @PostMapping("/razorpay")
     public ResponseEntity<String> handleRazorpayWebhook(
             @RequestBody String payload,
-            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature) {
-        
-        log.info("Received Razorpay webhook");
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
         
-        
-        if (webhookSecret != null && !webhookSecret.isEmpty() && signature != null) {
-            if (!verifySignature(payload, signature)) {
+        if (webhookSecret != null && !webhookSecret.isEmpty()) {
+            if (signature == null || !verifySignature(payload, signature)) {
                 log.warn("Invalid webhook signature received");
                 return ResponseEntity.badRequest().body("Invalid signature");
             }
         }
         
+        String inboxEventId = eventId != null && !eventId.isBlank() ? eventId : "sha256:" + sha256Hex(payload);
+        
         try {
-            JSONObject event = new JSONObject(payload);
-            String eventType = event.optString("event", "unknown");
-            
-            log.info("Processing webhook event: {}", eventType);
-            
-            JSONObject payloadData = event.optJSONObject("payload");
-            if (payloadData == null) {
-                log.warn("No payload data in webhook");
-                return ResponseEntity.ok("No payload");
+            if (!webhookInbox.receive(inboxEventId, payload)) {
+                return ResponseEntity.ok("Duplicate webhook");
             }
-            
-            switch (eventType) {
-                case "payment.captured" -> handlePaymentCaptured(payloadData);
-                case "payment.failed" -> handlePaymentFailed(payloadData);
-                case "transfer.processed" -> handleTransferProcessed(payloadData);
-                case "payout.processed" -> handlePayoutProcessed(payloadData);
-                case "payout.failed" -> handlePayoutFailed(payloadData);
-                case "payout.reversed" -> handlePayoutReversed(payloadData);
-                default -> log.info("Unhandled webhook event type: {}", eventType);
-            }
-            
-            return ResponseEntity.ok("Webhook processed");
-            
+            return ResponseEntity.ok("Webhook accepted");
+        } catch (JSONException e) {
+            log.warn("Malformed webhook payload: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Malformed payload");
         } catch (Exception e) {
-            log.error("Error processing webhook", e);
+            log.error("Error storing webhook", e);
             return ResponseEntity.internalServerError().body("Error processing webhook");
         }
     }
     
-    private void handlePaymentCaptured(JSONObject payloadData) {
-        JSONObject payment = payloadData.optJSONObject("payment");
-        if (payment == null) {
-            payment = payloadData.optJSONObject("entity");
-        }
-        
-        if (payment == null) {
-            log.warn("No payment entity in payload");
-            return;
-        }
-        
-        String razorpayPaymentId = payment.optString("id");
-        String razorpayOrderId = payment.optString("order_id");
-        String method = payment.optString("method");
-        
-        log.info("Payment captured: paymentId={}, orderId={}, method={}", 
-            razorpayPaymentId, razorpayOrderId, method);
-        
-        
-        paymentRepository.findAll().stream()
-            .filter(p -> razorpayOrderId.equals(p.getGatewayOrderId()))
-            .findFirst()
-            .ifPresent(p -> {
-                p.setGatewayPaymentId(razorpayPaymentId);
-                p.setPaymentStatus(PaymentStatus.CAPTURED);
-                p.setPaymentMethod(method.toUpperCase());
-                p.setCompletedAt(LocalDateTime.now());
-                paymentRepository.save(p);
-                log.info("Payment record updated: {}", p.getId());
-            });
-    }
-    
-    private void handlePaymentFailed(JSONObject payloadData) {
-        JSONObject payment = payloadData.optJSONObject("payment");
-        if (payment == null) {
-            payment = payloadData.optJSONObject("entity");
-        }
-        
-        if (payment == null) {
-            log.warn("No payment entity in payload");
-            return;
-        }
-        
-        String razorpayPaymentId = payment.optString("id");
-        String razorpayOrderId = payment.optString("order_id");
-        String errorDescription = payment.optString("error_description", "Payment failed");
-        
-        log.info("Payment failed: paymentId={}, orderId={}, reason={}", 
-            razorpayPaymentId, razorpayOrderId, errorDescription);
-        
-        paymentRepository.findAll().stream()
-            .filter(p -> razorpayOrderId.equals(p.getGatewayOrderId()))
-            .findFirst()
-            .ifPresent(p -> {
-                p.setGatewayPaymentId(razorpayPaymentId);
-                p.setPaymentStatus(PaymentStatus.FAILED);
-                p.setFailureReason(errorDescription);
-                paymentRepository.save(p);
-                log.info("Payment record marked as failed: {}", p.getId());
-            });
-    }
-    
-    private void handleTransferProcessed(JSONObject payloadData) {
-        JSONObject transfer = payloadData.optJSONObject("transfer");
-        if (transfer == null) {
-            transfer = payloadData.optJSONObject("entity");
-        }
-        
-        if (transfer == null) {
-            log.warn("No transfer entity in payload");
-            return;
-        }
-        
-        String transferId = transfer.optString("id");
-        String sourcePaymentId = transfer.optString("source");
-        String recipientAccountId = transfer.optString("recipient");
-        int amountPaise = transfer.optInt("amount");
-        
-        log.info("Transfer processed: transferId={}, source={}, recipient={}, amount={}", 
-            transferId, sourcePaymentId, recipientAccountId, amountPaise / 100.0);
-        
-        
-        
-    }
-    
-    private void handlePayoutProcessed(JSONObject payloadData) {
-        JSONObject payout = payloadData.optJSONObject("payout");
-        if (payout == null) {
-            payout = payloadData.optJSONObject("entity");
-        }
-        
-        if (payout == null) {
-            log.warn("No payout entity in payload");
-            return;
-        }
-        
-        String razorpayPayoutId = payout.optString("id");
-        String referenceId = payout.optString("reference_id");
-        String utr = payout.optString("utr");
-        
-        log.info("Payout processed: payoutId={}, referenceId={}, utr={}", 
-            razorpayPayoutId, referenceId, utr);
-        
-        
-        if (referenceId != null && !referenceId.isEmpty()) {
-            payoutRepository.findById(referenceId)
-                .ifPresent(p -> {
-                    p.setStatus(PayoutStatus.COMPLETED);
-                    p.setGatewayPayoutId(razorpayPayoutId);
-                    p.setProcessedAt(LocalDateTime.now());
-                    payoutRepository.save(p);
-                    log.info("Payout record marked as completed: {}", p.getId());
-                });
-        }
-    }
-    
-    private void handlePayoutFailed(JSONObject payloadData) {
-        JSONObject payout = payloadData.optJSONObject("payout");
-        if (payout == null) {
-            payout = payloadData.optJSONObject("entity");
-        }
-        
-        if (payout == null) {
-            log.warn("No payout entity in payload");
-            return;
-        }
-        
-        String razorpayPayoutId = payout.optString("id");
-        String referenceId = payout.optString("reference_id");
-        String failureReason = payout.optString("failure_reason", "Payout failed");
-        
-        log.info("Payout failed: payoutId={}, referenceId={}, reason={}", 
-            razorpayPayoutId, referenceId, failureReason);
-        
-        if (referenceId != null && !referenceId.isEmpty()) {
-            payoutRepository.findById(referenceId)
-                .ifPresent(p -> {
-                    p.setStatus(PayoutStatus.FAILED);
-                    p.setGatewayPayoutId(razorpayPayoutId);
-                    p.setFailureReason(failureReason);
-                    p.setProcessedAt(LocalDateTime.now());
-                    payoutRepository.save(p);
-                    log.info("Payout record marked as failed: {}", p.getId());
-                });
-        }
-    }
-    
-    private void handlePayoutReversed(JSONObject payloadData) {
-        JSONObject payout = payloadData.optJSONObject("payout");
-        if (payout == null) {
-            payout = payloadData.optJSONObject("entity");
-        }
-        
-        if (payout == null) {
-            log.warn("No payout entity in payload");
-            return;
-        }
-        
-        String razorpayPayoutId = payout.optString("id");
-        String referenceId = payout.optString("reference_id");
-        
-        log.info("Payout reversed: payoutId={}, referenceId={}", razorpayPayoutId, referenceId);
-        
-        if (referenceId != null && !referenceId.isEmpty()) {
-            payoutRepository.findById(referenceId)
-                .ifPresent(p -> {
-                    p.setStatus(PayoutStatus.FAILED);
-                    p.setFailureReason("Payout was reversed by bank");
-                    p.setProcessedAt(LocalDateTime.now());
-                    payoutRepository.save(p);
-                    log.info("Payout record marked as reversed: {}", p.getId());
-                });
-        }
-    }
-    
     
     private boolean verifySignature(String payload, String signature) {
         try {
-            Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(
-                webhookSecret.getBytes(StandardCharsets.UTF_8), 
-                "HmacSHA256"
-            );
-            sha256Hmac.init(secretKey);
-            
-            byte[] hash = sha256Hmac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            String computedSignature = byteArrayToHex(hash);
-            
-            return computedSignature.equals(signature);
+            Mac mac = webhookMac.get();
+            byte[] expected = HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)))
+                .getBytes(StandardCharsets.US_ASCII);
+            return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
         } catch (Exception e) {
             log.error("Error verifying webhook signature", e);
             return false;
         }
     }
     
-    private String byteArrayToHex(byte[] bytes) {
-        Formatter formatter = new Formatter();
-        for (byte b : bytes) {
-            formatter.format("%02x", b);
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
         }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+    }
+    
+    private static String sha256Hex(String payload) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(payload.getBytes(StandardCharsets.UTF_8)));
     }
 }
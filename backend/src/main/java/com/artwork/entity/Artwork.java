@@ -1,8 +1,10 @@
 package com.artwork.entity;
 
 import com.artwork.dto.Dimensions;
+import com.artwork.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -13,7 +15,9 @@ import java.util.List;
     @Index(name = "idx_artwork_approval", columnList = "approvalStatus"),
     @Index(name = "idx_artwork_featured", columnList = "featured"),
     @Index(name = "idx_artwork_price", columnList = "price"),
-    @Index(name = "idx_artwork_created", columnList = "createdAt")
+    @Index(name = "idx_artwork_created", columnList = "createdAt"),
+    @Index(name = "idx_artwork_reserved_order", columnList = "reservedOrderId"),
+    @Index(name = "idx_artwork_reserved_until", columnList = "reservedUntil")
 })
 @Data
 @NoArgsConstructor
@@ -21,7 +25,7 @@ import java.util.List;
 @Builder
 public class Artwork {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     private String title;
@@ -34,11 +38,13 @@ public class Artwork {
     private Double depth;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "artwork_images", joinColumns = @JoinColumn(name = "artwork_id"))
     @Column(name = "images")
     private List<String> images;
 
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "artwork_tags", joinColumns = @JoinColumn(name = "artwork_id"))
     @Column(name = "tags")
     private List<String> tags;
@@ -46,6 +52,10 @@ public class Artwork {
     @Builder.Default
     private Boolean isAvailable = true;
     
+    private String reservedOrderId;
+    
+    private LocalDateTime reservedUntil;
+    
     @Builder.Default
     private Boolean featured = false;
     
@@ -24,11 +24,11 @@ public class CartItem {
     private Integer quantity = 1;
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId", referencedColumnName = "id", insertable = false, updatable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artworkId", referencedColumnName = "id", insertable = false, updatable = false)
     private Artwork artwork;
 }
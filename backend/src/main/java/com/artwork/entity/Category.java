@@ -2,6 +2,9 @@ package com.artwork.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.time.LocalDateTime;
 
 
@@ -13,11 +16,14 @@ import java.time.LocalDateTime;
     @Index(name = "idx_category_active", columnList = "isActive"),
     @Index(name = "idx_category_display_order", columnList = "displayOrder")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Category {
+
+    public static final String CACHE_REGION = "category";
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -1,5 +1,6 @@
 package com.artwork.entity;
 
+import com.artwork.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 public class EmailLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @Column(nullable = false)
@@ -1,17 +1,20 @@
 package com.artwork.entity;
 
+import com.artwork.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_item_artist", columnList = "artistId, orderId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(nullable = false)
@@ -20,14 +23,16 @@ public class OrderItem {
     @Column(nullable = false)
     private String artworkId;
 
+    private String artistId;
+
     private Integer quantity;
     private Double price;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "orderId", referencedColumnName = "id", insertable = false, updatable = false)
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artworkId", referencedColumnName = "id", insertable = false, updatable = false)
     private Artwork artwork;
 }
@@ -0,0 +1,8 @@
+package com.artwork.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    IN_FLIGHT,
+    PUBLISHED,
+    DEAD
+}
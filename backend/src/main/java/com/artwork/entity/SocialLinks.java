@@ -2,14 +2,19 @@ package com.artwork.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "social_links")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SocialLinks.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class SocialLinks {
+    public static final String CACHE_REGION = "socialLinks";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
 @Table(name = "users", indexes = {
@@ -13,6 +14,7 @@ import java.util.List;
     @Index(name = "idx_user_status", columnList = "status"),
     @Index(name = "idx_user_oauth", columnList = "oauth2_provider, oauth2_id")
 })
+@EntityListeners(UserSummaryCacheListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +30,14 @@ public class User {
     @Column(unique = true, nullable = false, length = 50)
     private String username; 
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_lower")
+    private String emailLower;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "username_lower", length = 50)
+    private String usernameLower;
+
     @Column(nullable = false)
     private String password;
 
@@ -96,5 +106,18 @@ public class User {
         if (updatedAt == null) {
             updatedAt = java.time.LocalDateTime.now();
         }
+        this.emailLower = email != null ? email.toLowerCase(Locale.ROOT) : null;
+        this.usernameLower = username != null ? username.toLowerCase(Locale.ROOT) : null;
+    }
+
+    // A NULL lookup column on an existing row marks a case-variant duplicate that the backfill left out.
+    @PreUpdate
+    void normalizeLookupColumns() {
+        if (emailLower != null) {
+            this.emailLower = email != null ? email.toLowerCase(Locale.ROOT) : null;
+        }
+        if (usernameLower != null) {
+            this.usernameLower = username != null ? username.toLowerCase(Locale.ROOT) : null;
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.artwork.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+
+@Entity
+@Immutable
+@Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = UserSummary.CACHE_REGION)
+@Getter
+@NoArgsConstructor
+public class UserSummary {
+
+    public static final String CACHE_REGION = "userSummary";
+
+    @Id
+    private String id;
+
+    private String email;
+
+    private String username;
+
+    private String firstName;
+
+    private String lastName;
+
+    @Enumerated(EnumType.STRING)
+    private Role role;
+
+    @Enumerated(EnumType.STRING)
+    private UserStatus status;
+
+    private Boolean isActive;
+
+    private Boolean enabled;
+
+    private String profileImage;
+
+    
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .email(email)
+                .username(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .role(role)
+                .status(status)
+                .isActive(isActive)
+                .enabled(enabled)
+                .profileImage(profileImage)
+                .build();
+    }
+}
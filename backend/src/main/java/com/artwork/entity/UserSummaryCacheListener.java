@@ -0,0 +1,45 @@
+package com.artwork.entity;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+public class UserSummaryCacheListener {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public UserSummaryCacheListener(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evictSummary(User user) {
+        String userId = user.getId();
+        if (userId == null) {
+            return;
+        }
+        // Evicting at flush time would let a concurrent read cache the old row again before this commit lands.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(String userId) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory != null) {
+            factory.getCache().evict(UserSummary.class, userId);
+        }
+    }
+}
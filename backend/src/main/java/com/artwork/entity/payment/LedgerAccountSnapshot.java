@@ -0,0 +1,42 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "ledger_account_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerAccountSnapshot {
+    
+    // accountType:accountId
+    @Id
+    @Column(length = 110)
+    private String id;
+    
+    @Column(nullable = false, length = 50)
+    private String accountType;
+    
+    @Column(nullable = false, length = 50)
+    private String accountId;
+    
+    @Column(nullable = false, precision = 16, scale = 2)
+    @Builder.Default
+    private BigDecimal balance = BigDecimal.ZERO;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Long entryCount = 0L;
+    
+    // Balance covers every entry created at or before this instant.
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.artwork.entity.payment;
+
+
+public enum LedgerAccountType {
+    GATEWAY_CLEARING,
+    ORDER_CLEARING,
+    SELLER_PAYABLE,
+    PLATFORM_COMMISSION,
+    TAX_PAYABLE,
+    REFUNDS
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 @Table(name = "ledger_entries", indexes = {
     @Index(name = "idx_ledger_transaction_id", columnList = "transactionId"),
     @Index(name = "idx_ledger_account_type", columnList = "accountType"),
-    @Index(name = "idx_ledger_created_at", columnList = "createdAt")
+    @Index(name = "idx_ledger_created_at", columnList = "createdAt"),
+    @Index(name = "idx_ledger_account_created_at", columnList = "accountType, accountId, createdAt"),
+    @Index(name = "ux_ledger_transaction_account", columnList = "transactionId, accountType, accountId", unique = true)
 })
 @Data
 @NoArgsConstructor
@@ -44,6 +46,7 @@ public class LedgerEntry {
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal creditAmount;
     
+    // Signed effect on the account (credit - debit); running balances live in ledger_account_snapshots.
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal balance;
     
@@ -0,0 +1,44 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "ledger_period_closes", indexes = {
+    @Index(name = "ux_ledger_period_account", columnList = "period, accountType, accountId", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerPeriodClose {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // yyyy-MM
+    @Column(nullable = false, length = 7)
+    private String period;
+    
+    @Column(nullable = false, length = 50)
+    private String accountType;
+    
+    @Column(nullable = false, length = 50)
+    private String accountId;
+    
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal debitTotal;
+    
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal creditTotal;
+    
+    @Column(nullable = false)
+    private Long entryCount;
+    
+    private LocalDateTime closedAt;
+}
@@ -0,0 +1,10 @@
+package com.artwork.entity.payment;
+
+
+public enum LedgerTransactionType {
+    PAYMENT_CAPTURE,
+    SPLIT_SETTLEMENT,
+    REFUND,
+    PAYOUT,
+    PAYOUT_REVERSAL
+}
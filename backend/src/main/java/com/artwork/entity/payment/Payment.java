@@ -1,5 +1,6 @@
 package com.artwork.entity.payment;
 
+import com.artwork.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
@@ -14,9 +15,12 @@ import java.time.LocalDateTime;
 @Table(name = "payments", indexes = {
     @Index(name = "idx_payments_order_id", columnList = "orderId"),
     @Index(name = "idx_payments_customer_id", columnList = "customerId"),
+    @Index(name = "ux_payments_gateway_order_id", columnList = "gatewayOrderId", unique = true),
     @Index(name = "idx_payments_gateway_payment_id", columnList = "gatewayPaymentId"),
     @Index(name = "idx_payments_status", columnList = "paymentStatus"),
-    @Index(name = "idx_payments_idempotency_key", columnList = "idempotencyKey")
+    @Index(name = "idx_payments_idempotency_key", columnList = "idempotencyKey"),
+    @Index(name = "idx_payments_created_at", columnList = "createdAt"),
+    @Index(name = "idx_payments_updated_at", columnList = "updatedAt")
 })
 @Data
 @NoArgsConstructor
@@ -26,7 +30,7 @@ import java.time.LocalDateTime;
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @Column(nullable = false)
@@ -0,0 +1,55 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "payment_analytics_rollups", indexes = {
+    @Index(name = "ux_payment_rollup_bucket",
+           columnList = "granularity, bucketStart, metric, status, method", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentAnalyticsRollup {
+    
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    
+    public static final String PAYMENT = "PAYMENT";
+    public static final String REFUND = "REFUND";
+    public static final String COMMISSION = "COMMISSION";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 5)
+    private String granularity;
+    
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false, length = 20)
+    private String metric;
+    
+    @Column(nullable = false, length = 30)
+    private String status;
+    
+    // Empty when the source row has no payment method.
+    @Column(nullable = false, length = 50)
+    private String method;
+    
+    @Column(nullable = false)
+    private Long txnCount;
+    
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal amount;
+    
+    private LocalDateTime refreshedAt;
+}
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_splits_payment_id", columnList = "paymentId"),
     @Index(name = "idx_splits_seller_id", columnList = "sellerId"),
     @Index(name = "idx_splits_status", columnList = "splitStatus"),
-    @Index(name = "idx_splits_hold_status", columnList = "holdStatus")
+    @Index(name = "idx_splits_hold_status", columnList = "holdStatus"),
+    @Index(name = "idx_splits_created_at", columnList = "createdAt"),
+    @Index(name = "idx_splits_updated_at", columnList = "updatedAt")
 })
 @Data
 @NoArgsConstructor
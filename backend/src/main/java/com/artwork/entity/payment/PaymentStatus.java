@@ -6,6 +6,8 @@ public enum PaymentStatus {
     PENDING,
     AUTHORIZED,
     CAPTURED,
+    // Captured after the order's hold had expired and the order was cancelled; the money has to go back.
+    REFUND_REQUIRED,
     FAILED,
     REFUNDED,
     PARTIALLY_REFUNDED
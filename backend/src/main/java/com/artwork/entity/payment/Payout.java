@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "payouts", indexes = {
     @Index(name = "idx_payouts_seller_id", columnList = "sellerId"),
-    @Index(name = "idx_payouts_status", columnList = "status")
+    @Index(name = "idx_payouts_status", columnList = "status"),
+    @Index(name = "idx_payouts_status_scheduled_at", columnList = "status, scheduledAt"),
+    @Index(name = "ux_payouts_gateway_payout_id", columnList = "gatewayPayoutId", unique = true),
+    @Index(name = "idx_payouts_created_at", columnList = "createdAt")
 })
 @Data
 @NoArgsConstructor
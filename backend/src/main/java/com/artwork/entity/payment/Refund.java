@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Table(name = "refunds", indexes = {
     @Index(name = "idx_refunds_payment_id", columnList = "paymentId"),
     @Index(name = "idx_refunds_order_id", columnList = "orderId"),
-    @Index(name = "idx_refunds_status", columnList = "status")
+    @Index(name = "idx_refunds_status", columnList = "status"),
+    @Index(name = "idx_refunds_created_at", columnList = "createdAt"),
+    @Index(name = "idx_refunds_updated_at", columnList = "updatedAt"),
+    @Index(name = "idx_refunds_gateway_refund_id", columnList = "gatewayRefundId")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,55 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "seller_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerBalance {
+    
+    @Id
+    @Column(length = 100)
+    private String sellerId;
+    
+    // Settled earnings not yet requested as a payout.
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal availableAmount = BigDecimal.ZERO;
+    
+    // Requested payouts that have not completed yet.
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal reservedAmount = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal paidOutAmount = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal totalEarnings = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal commissionAmount = BigDecimal.ZERO;
+    
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal tdsAmount = BigDecimal.ZERO;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Long settledSplits = 0L;
+    
+    private LocalDateTime reconciledAt;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "settlement_mismatches", indexes = {
+    @Index(name = "idx_settlement_mismatches_recon_type", columnList = "reconciliationId, mismatchType, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementMismatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long reconciliationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SettlementMismatchType mismatchType;
+
+    @Column(nullable = false, length = 10)
+    private String entityType;
+
+    @Column(length = 100)
+    private String gatewayId;
+
+    private String internalId;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal reportedAmount;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal internalAmount;
+
+    @Column(length = 30)
+    private String reportedStatus;
+
+    @Column(length = 30)
+    private String internalStatus;
+
+    private Long lineNumber;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
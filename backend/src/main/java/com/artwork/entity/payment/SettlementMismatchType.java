@@ -0,0 +1,10 @@
+package com.artwork.entity.payment;
+
+
+public enum SettlementMismatchType {
+    MISSING_INTERNAL,
+    MISSING_IN_REPORT,
+    AMOUNT_MISMATCH,
+    STATUS_MISMATCH,
+    DUPLICATE_IN_REPORT
+}
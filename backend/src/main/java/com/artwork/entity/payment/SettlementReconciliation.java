@@ -0,0 +1,72 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+
+@Entity
+@Table(name = "settlement_reconciliations", indexes = {
+    @Index(name = "idx_settlement_recon_created_at", columnList = "createdAt"),
+    @Index(name = "idx_settlement_recon_status_heartbeat", columnList = "status, heartbeatAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementReconciliation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String sourceName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private SettlementReconciliationStatus status = SettlementReconciliationStatus.QUEUED;
+
+    // Internal records in this window that never appear in the report are flagged MISSING_IN_REPORT.
+    private LocalDateTime periodStart;
+
+    private LocalDateTime periodEnd;
+
+    @Builder.Default
+    private Long rowsRead = 0L;
+
+    @Builder.Default
+    private Long rowsMatched = 0L;
+
+    @Builder.Default
+    private Long rowsSkipped = 0L;
+
+    @Builder.Default
+    private Long malformedRows = 0L;
+
+    @Builder.Default
+    private Long mismatches = 0L;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    // The instance whose coordinator runs this reconciliation; it refreshes heartbeatAt while the run is live.
+    @Column(length = 64)
+    private String ownerId;
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.artwork.entity.payment;
+
+
+public enum SettlementReconciliationStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
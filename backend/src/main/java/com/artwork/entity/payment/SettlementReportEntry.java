@@ -0,0 +1,33 @@
+package com.artwork.entity.payment;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+/**
+ * Gateway ids seen in a settlement report while its reconciliation runs.
+ * Kept in the database so duplicate and missing-in-report checks need no in-memory set; cleared when the run ends.
+ */
+@Entity
+@Table(name = "settlement_report_entries", indexes = {
+    @Index(name = "ux_settlement_report_entries", columnList = "reconciliationId, entityType, gatewayId", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementReportEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long reconciliationId;
+
+    @Column(nullable = false, length = 10)
+    private String entityType;
+
+    @Column(nullable = false, length = 100)
+    private String gatewayId;
+}
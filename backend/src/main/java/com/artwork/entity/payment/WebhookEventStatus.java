@@ -0,0 +1,9 @@
+package com.artwork.entity.payment;
+
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    DEAD
+}
@@ -7,19 +7,25 @@ import java.util.Map;
 
 @Getter
 public class EmailEvent extends ApplicationEvent {
+    private final String aggregateType;
+    private final String aggregateId;
     private final String to;
     private final String subject;
     private final String templateName;
     private final Map<String, Object> variables;
 
     public EmailEvent(Object source, String to, String subject, String templateName, Map<String, Object> variables) {
+        this(source, "email", to, to, subject, templateName, variables);
+    }
+
+    public EmailEvent(Object source, String aggregateType, String aggregateId,
+                      String to, String subject, String templateName, Map<String, Object> variables) {
         super(source);
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
         this.to = to;
         this.subject = subject;
         this.templateName = templateName;
         this.variables = variables;
     }
-
-
-    //
 }
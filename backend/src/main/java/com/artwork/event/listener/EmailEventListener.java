@@ -1,11 +1,11 @@
 package com.artwork.event.listener;
 
 import com.artwork.event.EmailEvent;
-import com.artwork.service.EmailService;
+import com.artwork.event.outbox.EmailMessage;
+import com.artwork.event.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,21 +13,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class EmailEventListener {
 
-    private final EmailService emailService;
+    private final OutboxPublisher outboxPublisher;
 
-    @Async
+    // Runs on the publishing thread so the outbox row joins the caller's transaction.
     @EventListener
     public void handleEmailEvent(EmailEvent event) {
-        log.info("Handling email event for: {}", event.getTo());
-        try {
-            emailService.sendHtmlMessage(
-                event.getTo(),
-                event.getSubject(),
-                event.getTemplateName(),
-                event.getVariables()
-            );
-        } catch (Exception e) {
-            log.error("Error sending email to {}", event.getTo(), e);
-        }
+        log.debug("Queueing email to {} for {}:{}", event.getTo(), event.getAggregateType(), event.getAggregateId());
+        outboxPublisher.publish(
+            event.getAggregateType(),
+            event.getAggregateId(),
+            OutboxPublisher.EMAIL,
+            new EmailMessage(event.getTo(), event.getSubject(), event.getTemplateName(), event.getVariables())
+        );
     }
 }
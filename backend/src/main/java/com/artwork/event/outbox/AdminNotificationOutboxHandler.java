@@ -0,0 +1,27 @@
+package com.artwork.event.outbox;
+
+import com.artwork.dto.websocket.NotificationDto;
+import com.artwork.entity.OutboxEvent;
+import com.artwork.service.websocket.WebSocketDashboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AdminNotificationOutboxHandler implements OutboxEventHandler {
+
+    private final WebSocketDashboardService webSocketDashboardService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return OutboxPublisher.ADMIN_NOTIFICATION;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        NotificationDto notification = objectMapper.readValue(event.getPayload(), NotificationDto.class);
+        webSocketDashboardService.sendNotificationToAdmins(notification);
+    }
+}
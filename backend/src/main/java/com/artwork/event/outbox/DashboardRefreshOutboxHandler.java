@@ -0,0 +1,23 @@
+package com.artwork.event.outbox;
+
+import com.artwork.entity.OutboxEvent;
+import com.artwork.service.websocket.WebSocketDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DashboardRefreshOutboxHandler implements OutboxEventHandler {
+
+    private final WebSocketDashboardService webSocketDashboardService;
+
+    @Override
+    public String eventType() {
+        return OutboxPublisher.DASHBOARD_REFRESH;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        webSocketDashboardService.triggerImmediateUpdate();
+    }
+}
@@ -0,0 +1,6 @@
+package com.artwork.event.outbox;
+
+import java.util.Map;
+
+public record EmailMessage(String to, String subject, String templateName, Map<String, Object> variables) {
+}
@@ -0,0 +1,26 @@
+package com.artwork.event.outbox;
+
+import com.artwork.entity.OutboxEvent;
+import com.artwork.service.EmailService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxHandler implements OutboxEventHandler {
+
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String eventType() {
+        return OutboxPublisher.EMAIL;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        EmailMessage message = objectMapper.readValue(event.getPayload(), EmailMessage.class);
+        emailService.sendHtmlMessage(message.to(), message.subject(), message.templateName(), message.variables());
+    }
+}
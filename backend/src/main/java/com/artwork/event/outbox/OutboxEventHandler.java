@@ -0,0 +1,11 @@
+package com.artwork.event.outbox;
+
+import com.artwork.entity.OutboxEvent;
+
+
+public interface OutboxEventHandler {
+
+    String eventType();
+
+    void handle(OutboxEvent event) throws Exception;
+}
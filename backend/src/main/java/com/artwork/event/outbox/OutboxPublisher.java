@@ -0,0 +1,40 @@
+package com.artwork.event.outbox;
+
+import com.artwork.entity.OutboxEvent;
+import com.artwork.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    public static final String EMAIL = "EMAIL";
+    public static final String ADMIN_NOTIFICATION = "ADMIN_NOTIFICATION";
+    public static final String DASHBOARD_REFRESH = "DASHBOARD_REFRESH";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    
+    @Transactional
+    public void publish(String aggregateType, String aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload for " + eventType + " is not serializable", e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(json)
+                .build());
+    }
+}
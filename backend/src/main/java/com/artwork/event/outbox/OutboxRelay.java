@@ -0,0 +1,89 @@
+package com.artwork.event.outbox;
+
+import com.artwork.entity.OutboxEvent;
+import com.artwork.event.queue.OrderedClaimDispatcher;
+import com.artwork.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    public static final OrderedClaimDispatcher.QueueTable TABLE = new OrderedClaimDispatcher.QueueTable(
+            "outbox_events", List.of("aggregate_type", "aggregate_id"), "IN_FLIGHT", "PUBLISHED", "published_at");
+
+    private final Map<String, OutboxEventHandler> handlers;
+    private final OrderedClaimDispatcher<OutboxEvent> dispatcher;
+    private final int retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       NamedParameterJdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.per-aggregate-limit:10}") int perAggregateLimit,
+                       @Value("${outbox.relay.threads:4}") int threads,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.base-backoff-ms:5000}") long baseBackoffMs,
+                       @Value("${outbox.relay.max-backoff-ms:3600000}") long maxBackoffMs,
+                       @Value("${outbox.relay.claim-timeout-ms:300000}") long claimTimeoutMs,
+                       @Value("${outbox.relay.retention-days:7}") int retentionDays) {
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(OutboxEventHandler::eventType, Function.identity()));
+        this.retentionDays = retentionDays;
+        // Handlers talk to mail servers and sockets, so they run outside a transaction and are marked
+        // published in one batch afterwards.
+        this.dispatcher = new OrderedClaimDispatcher<>("outbox", TABLE,
+                new OrderedClaimDispatcher.Settings(batchSize, perAggregateLimit, threads, maxAttempts,
+                        baseBackoffMs, maxBackoffMs, claimTimeoutMs, retentionDays),
+                outboxEventRepository::findAllById, this::handle, false,
+                jdbcTemplate, transactionManager, meterRegistry);
+    }
+
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        dispatcher.drain();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.reclaim-interval-ms:60000}")
+    public void reclaimStaleClaims() {
+        int reclaimed = dispatcher.reclaimStaleClaims();
+        if (reclaimed > 0) {
+            log.warn("Returned {} outbox events from an abandoned relay claim to the queue", reclaimed);
+        }
+    }
+
+    @Scheduled(cron = "${outbox.relay.cleanup-cron:0 30 3 * * *}")
+    public void purgePublished() {
+        int deleted = dispatcher.purgeDone();
+        log.info("Purged {} published outbox events older than {} days", deleted, retentionDays);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void handle(OutboxEvent event) throws Exception {
+        OutboxEventHandler handler = handlers.get(event.getEventType());
+        if (handler == null) {
+            throw new IllegalStateException("No outbox handler for event type " + event.getEventType());
+        }
+        handler.handle(event);
+    }
+}
@@ -0,0 +1,17 @@
+package com.artwork.event.queue;
+
+
+/**
+ * A row of a table drained by {@link OrderedClaimDispatcher}.
+ */
+public interface DispatchableEvent {
+
+    Long getId();
+
+    String getEventType();
+
+    Integer getAttempts();
+
+    // Events sharing a key are handled one at a time in id order.
+    String getOrderingKey();
+}
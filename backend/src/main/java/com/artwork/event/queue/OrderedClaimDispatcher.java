@@ -0,0 +1,348 @@
+package com.artwork.event.queue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**
+ * Drains a queue table whose rows carry {@code id, status, attempts, next_attempt_at, claimed_at, last_error}:
+ * claims batches with {@code FOR UPDATE SKIP LOCKED}, hands each ordering key's events to one worker in id
+ * order, backs failures off exponentially and moves them to {@code DEAD} after {@code maxAttempts}.
+ */
+@Slf4j
+public class OrderedClaimDispatcher<E extends DispatchableEvent> {
+
+    private static final String PENDING = "PENDING";
+    private static final String DEAD = "DEAD";
+
+    /**
+     * @param keyColumns   columns that together form the ordering key
+     * @param doneAtColumn timestamp set when an event reaches {@code doneStatus}
+     */
+    public record QueueTable(String name, List<String> keyColumns, String claimedStatus, String doneStatus,
+                             String doneAtColumn) {
+    }
+
+    public record Settings(int batchSize, int perKeyLimit, int threads, int maxAttempts, long baseBackoffMs,
+                           long maxBackoffMs, long claimTimeoutMs, int retentionDays) {
+    }
+
+    @FunctionalInterface
+    public interface EventHandler<E> {
+        void handle(E event) throws Exception;
+    }
+
+    private final String name;
+    private final QueueTable table;
+    private final Settings settings;
+    private final Function<Collection<Long>, List<E>> loader;
+    private final EventHandler<E> handler;
+    private final boolean handleInTransaction;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workerExecutor;
+
+    private final String claimSql;
+    private final String outOfOrderSql;
+    private final String updateStatusSql;
+    private final String markDoneSql;
+    private final String markFailedSql;
+    private final String reclaimSql;
+    private final String purgeSql;
+    private final String countPendingSql;
+
+    private final Counter doneCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    /**
+     * @param loader              loads the claimed rows as entities
+     * @param handleInTransaction run each handler call in the transaction that marks its event done, so the
+     *                            handler's own writes and the done mark commit together
+     */
+    public OrderedClaimDispatcher(String name,
+                                  QueueTable table,
+                                  Settings settings,
+                                  Function<Collection<Long>, List<E>> loader,
+                                  EventHandler<E> handler,
+                                  boolean handleInTransaction,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.table = table;
+        this.settings = settings;
+        this.loader = loader;
+        this.handler = handler;
+        this.handleInTransaction = handleInTransaction;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String t = table.name();
+        String claimed = table.claimedStatus();
+        String partition = table.keyColumns().stream().map(c -> "p." + c).collect(Collectors.joining(", "));
+
+        // Up to :perKey of each key's oldest events, always an unbroken prefix: one still waiting out a backoff
+        // holds back everything after it, and a key with events already claimed is left alone.
+        this.claimSql = "SELECT q.id FROM " + t + " q WHERE q.id IN (" +
+                "  SELECT ranked.id FROM (" +
+                "    SELECT p.id, ROW_NUMBER() OVER w AS rn, MAX(p.next_attempt_at) OVER w AS latest_due " +
+                "    FROM " + t + " p " +
+                "    WHERE p.status = '" + PENDING + "' " +
+                "    AND NOT EXISTS (SELECT 1 FROM " + t + " f WHERE " + sameKey("f", "p") +
+                "      AND f.status = '" + claimed + "') " +
+                "    WINDOW w AS (PARTITION BY " + partition + " ORDER BY p.id)) ranked " +
+                "  WHERE ranked.rn <= :perKey AND ranked.latest_due <= :now) " +
+                "ORDER BY q.id LIMIT :limit FOR UPDATE SKIP LOCKED";
+        // Of the just-locked ids, those with an older pending or claimed event outside the set: a concurrent
+        // dispatcher holds the head of that key, so SKIP LOCKED handed this one only its tail.
+        this.outOfOrderSql = "SELECT q.id FROM " + t + " q WHERE q.id IN (:ids) " +
+                "AND EXISTS (SELECT 1 FROM " + t + " p WHERE " + sameKey("p", "q") + " AND p.id < q.id " +
+                "  AND p.status IN ('" + PENDING + "', '" + claimed + "') AND p.id NOT IN (:ids))";
+        this.updateStatusSql = "UPDATE " + t + " SET status = :status, claimed_at = :claimedAt WHERE id IN (:ids)";
+        this.markDoneSql = "UPDATE " + t + " SET status = '" + table.doneStatus() + "', " +
+                table.doneAtColumn() + " = :now, last_error = NULL WHERE id IN (:ids)";
+        this.markFailedSql = "UPDATE " + t + " SET status = :status, attempts = :attempts, " +
+                "next_attempt_at = :nextAttemptAt, last_error = :error WHERE id = :id";
+        this.reclaimSql = "UPDATE " + t + " SET status = '" + PENDING + "' " +
+                "WHERE status = '" + claimed + "' AND claimed_at < :cutoff";
+        this.purgeSql = "DELETE FROM " + t + " WHERE status = '" + table.doneStatus() + "' " +
+                "AND " + table.doneAtColumn() + " < :cutoff";
+        this.countPendingSql = "SELECT COUNT(*) FROM " + t + " WHERE status = '" + PENDING + "'";
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerExecutor = Executors.newFixedThreadPool(settings.threads(), runnable -> {
+            Thread thread = new Thread(runnable, name + "-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String metricPrefix = name + ".events.";
+        this.doneCounter = Counter.builder(metricPrefix + table.doneStatus().toLowerCase()).register(meterRegistry);
+        this.failedCounter = Counter.builder(metricPrefix + "failed").register(meterRegistry);
+        this.deadCounter = Counter.builder(metricPrefix + "dead").register(meterRegistry);
+        Gauge.builder(metricPrefix + "pending", this, OrderedClaimDispatcher::countPending).register(meterRegistry);
+    }
+
+
+    /**
+     * Claims and handles batches until one comes back short.
+     */
+    public void drain() {
+        List<E> batch;
+        do {
+            batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            dispatch(batch);
+        } while (batch.size() == settings.batchSize());
+    }
+
+    /**
+     * Returns events claimed longer than the claim timeout ago to the queue.
+     */
+    public int reclaimStaleClaims() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusNanos(settings.claimTimeoutMs() * 1_000_000));
+        Integer reclaimed = transactionTemplate.execute(status ->
+                jdbcTemplate.update(reclaimSql, new MapSqlParameterSource("cutoff", cutoff)));
+        return reclaimed != null ? reclaimed : 0;
+    }
+
+    /**
+     * Deletes done events older than the retention period.
+     */
+    public int purgeDone() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(settings.retentionDays()));
+        Integer deleted = transactionTemplate.execute(status ->
+                jdbcTemplate.update(purgeSql, new MapSqlParameterSource("cutoff", cutoff)));
+        return deleted != null ? deleted : 0;
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(countPendingSql, new MapSqlParameterSource(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    public void shutdown() {
+        workerExecutor.shutdown();
+    }
+
+    List<E> claimBatch() {
+        List<E> claimed = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Long> ids = jdbcTemplate.queryForList(claimSql, new MapSqlParameterSource()
+                    .addValue("now", now)
+                    .addValue("perKey", settings.perKeyLimit())
+                    .addValue("limit", settings.batchSize()), Long.class);
+            if (!ids.isEmpty()) {
+                Set<Long> outOfOrder = new HashSet<>(findOutOfOrder(ids));
+                if (!outOfOrder.isEmpty()) {
+                    ids = ids.stream().filter(id -> !outOfOrder.contains(id)).toList();
+                }
+            }
+            if (ids.isEmpty()) {
+                return Collections.<E>emptyList();
+            }
+            updateStatus(ids, table.claimedStatus(), now);
+            return loader.apply(ids).stream().sorted(Comparator.comparing(E::getId)).toList();
+        });
+        return claimed != null ? claimed : Collections.emptyList();
+    }
+
+    List<Long> findOutOfOrder(Collection<Long> ids) {
+        return jdbcTemplate.queryForList(outOfOrderSql, new MapSqlParameterSource("ids", ids), Long.class);
+    }
+
+    private void dispatch(List<E> batch) {
+        // Events of one key run in id order on one worker; different keys run in parallel.
+        Map<String, List<E>> byKey = new LinkedHashMap<>();
+        for (E event : batch) {
+            byKey.computeIfAbsent(event.getOrderingKey(), key -> new ArrayList<>()).add(event);
+        }
+
+        List<Future<List<Long>>> results = new ArrayList<>(byKey.size());
+        for (List<E> events : byKey.values()) {
+            results.add(workerExecutor.submit(() -> dispatchInOrder(events)));
+        }
+
+        List<Long> handled = new ArrayList<>(batch.size());
+        for (Future<List<Long>> result : results) {
+            try {
+                handled.addAll(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("{} worker task failed", name, e.getCause());
+            }
+        }
+
+        if (!handled.isEmpty() && !handleInTransaction) {
+            transactionTemplate.executeWithoutResult(status -> markDone(handled));
+        }
+        doneCounter.increment(handled.size());
+    }
+
+    private List<Long> dispatchInOrder(List<E> events) {
+        List<Long> handled = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            E event = events.get(i);
+            try {
+                handle(event);
+                handled.add(event.getId());
+            } catch (Exception e) {
+                recordFailure(event, e);
+                List<E> blocked = events.subList(i + 1, events.size());
+                if (!blocked.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> updateStatus(ids(blocked), PENDING, null));
+                }
+                break;
+            }
+        }
+        return handled;
+    }
+
+    private void handle(E event) throws Exception {
+        if (!handleInTransaction) {
+            handler.handle(event);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    handler.handle(event);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new HandlerException(e);
+                }
+                markDone(List.of(event.getId()));
+            });
+        } catch (HandlerException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private void recordFailure(E event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        boolean dead = attempts >= settings.maxAttempts();
+        long backoffMs = Math.min(settings.maxBackoffMs(), settings.baseBackoffMs() << Math.min(attempts - 1, 20));
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > 1000) {
+            error = error.substring(0, 1000);
+        }
+
+        String lastError = error;
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(markFailedSql, new MapSqlParameterSource()
+                .addValue("id", event.getId())
+                .addValue("status", dead ? DEAD : PENDING)
+                .addValue("attempts", attempts)
+                .addValue("nextAttemptAt", Timestamp.valueOf(LocalDateTime.now().plusNanos(backoffMs * 1_000_000)))
+                .addValue("error", lastError)));
+
+        if (dead) {
+            deadCounter.increment();
+            log.error("{} event {} ({} for {}) moved to dead letter after {} attempts: {}",
+                    name, event.getId(), event.getEventType(), event.getOrderingKey(), attempts, lastError);
+        } else {
+            failedCounter.increment();
+            log.warn("{} event {} ({}) failed on attempt {}, retrying in {} ms: {}",
+                    name, event.getId(), event.getEventType(), attempts, backoffMs, lastError);
+        }
+    }
+
+    private void updateStatus(Collection<Long> ids, String status, Timestamp claimedAt) {
+        jdbcTemplate.update(updateStatusSql, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("status", status)
+                .addValue("claimedAt", claimedAt));
+    }
+
+    private void markDone(Collection<Long> ids) {
+        jdbcTemplate.update(markDoneSql, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now())));
+    }
+
+    private String sameKey(String left, String right) {
+        return table.keyColumns().stream()
+                .map(c -> left + "." + c + " = " + right + "." + c)
+                .collect(Collectors.joining(" AND "));
+    }
+
+    private static List<Long> ids(List<? extends DispatchableEvent> events) {
+        return events.stream().map(DispatchableEvent::getId).collect(Collectors.toList());
+    }
+
+    private static class HandlerException extends RuntimeException {
+        HandlerException(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.artwork.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ArtworkUnavailableException extends RuntimeException {
+    
+    private final String artworkId;
+    
+    public ArtworkUnavailableException(String artworkId) {
+        super(String.format("Artwork '%s' is no longer available", artworkId));
+        this.artworkId = artworkId;
+    }
+    
+    public String getArtworkId() {
+        return artworkId;
+    }
+}
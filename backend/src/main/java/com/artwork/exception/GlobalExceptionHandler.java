@@ -2,6 +2,7 @@ package com.artwork.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -132,6 +133,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
     }
     
+    @ExceptionHandler(ArtworkUnavailableException.class)
+    public ResponseEntity<?> handleArtworkUnavailableException(
+            ArtworkUnavailableException ex, WebRequest request, HttpServletRequest httpRequest) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ex.getMessage(),
+            request.getDescription(false),
+            httpRequest.getRequestURI()
+        );
+        
+        log.info("Artwork unavailable at URI: {} - {}", httpRequest.getRequestURI(), ex.getMessage());
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request, HttpServletRequest httpRequest) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false),
+            httpRequest.getRequestURI()
+        );
+        
+        log.warn("Service busy at URI: {} - {}", httpRequest.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorDetails);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGlobalException(
             Exception ex, WebRequest request, HttpServletRequest httpRequest) {
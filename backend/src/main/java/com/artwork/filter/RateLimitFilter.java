@@ -1,84 +1,180 @@
 package com.artwork.filter;
 
-import com.artwork.config.RateLimitConfig;
+import com.artwork.ratelimit.RateLimitDecision;
+import com.artwork.ratelimit.RateLimitProperties;
+import com.artwork.ratelimit.RateLimitStore;
+import com.artwork.security.AuthContext;
+import com.artwork.security.AuthenticatedUser;
+import com.artwork.security.JwtTokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final RateLimitConfig rateLimitConfig;
+    private final RateLimitProperties properties;
+    private final RateLimitStore rateLimitStore;
+    private final AuthContext authContext;
     private final ObjectMapper objectMapper;
-    
-    private final String[] rateLimit = {
-        "/api/auth/login",
-        "/api/auth/register"
-    };
+
+    private final JwtTokenService jwtTokenService;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private List<IpAddressMatcher> trustedProxies = List.of();
+
+    @Override
+    protected void initFilterBean() {
+        trustedProxies = properties.getTrustedProxies().stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
 
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String path = request.getRequestURI();
-        
-        
-        boolean shouldRateLimit = false;
-        for (String endpoint : rateLimit) {
-            if (path.startsWith(endpoint)) {
-                shouldRateLimit = true;
-                break;
+        RateLimitDecision tightest = null;
+
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : properties.getPolicies().entrySet()) {
+            RateLimitProperties.Policy policy = entry.getValue();
+            if (!matches(policy, request.getMethod(), path)) {
+                continue;
+            }
+
+            String key = entry.getKey() + ":" + resolveKey(policy, request);
+            RateLimitDecision decision = rateLimitStore.tryConsume(key, policy);
+            if (!decision.isAllowed()) {
+                reject(response, entry.getKey(), key, decision);
+                return;
+            }
+            if (tightest == null || decision.getRemaining() < tightest.getRemaining()) {
+                tightest = decision;
             }
         }
-        
-        if (!shouldRateLimit) {
-            filterChain.doFilter(request, response);
-            return;
+
+        if (tightest != null) {
+            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(tightest.getRemaining()));
+            response.addHeader("X-Rate-Limit-Reset", String.valueOf(tightest.getSecondsToWait()));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Policy policy, String method, String path) {
+        if (!policy.getMethods().isEmpty()
+                && policy.getMethods().stream().noneMatch(allowed -> allowed.equalsIgnoreCase(method))) {
+            return false;
+        }
+        for (String pattern : policy.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        
-        String clientIP = getClientIP(request);
-        Bucket bucket = rateLimitConfig.resolveBucket(clientIP);
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+    private String resolveKey(RateLimitProperties.Policy policy, HttpServletRequest request) {
+        if (policy.getKey() == RateLimitProperties.KeyType.USER) {
+            String userId = resolveUserId(request);
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + getClientIP(request);
+    }
 
-        if (probe.isConsumed()) {
-            
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
-            response.addHeader("X-Rate-Limit-Reset", String.valueOf(probe.getNanosToWaitForRefill() / 1_000_000_000));
-            
-            filterChain.doFilter(request, response);
-        } else {
-            
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            response.setContentType("application/json");
-            
-            Map<String, Object> errorResponse = Map.of(
-                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
-                "error", "Too Many Requests",
-                "message", "Too many login attempts. Please try again later.",
-                "retryAfter", probe.getNanosToWaitForRefill() / 1_000_000_000
-            );
-            
-            response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    // Runs ahead of JwtAuthenticationFilter, so only the token signature is checked here; the
+    // verified claims are cached and reused when the request is authenticated.
+    private String resolveUserId(HttpServletRequest request) {
+        Optional<String> current = authContext.current().map(AuthenticatedUser::getId);
+        if (current.isPresent()) {
+            return current.get();
         }
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return jwtTokenService.verify(authHeader.substring(7)).map(Claims::getSubject).orElse(null);
     }
-    
+
+    private void reject(HttpServletResponse response, String policyName, String key,
+                        RateLimitDecision decision) throws IOException {
+        long retryAfter = Math.max(1, decision.getSecondsToWait());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType("application/json");
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.addHeader("X-Rate-Limit-Remaining", "0");
+
+        Map<String, Object> errorResponse = Map.of(
+            "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+            "error", "Too Many Requests",
+            "message", "Too many requests. Please try again later.",
+            "policy", policyName,
+            "retryAfter", retryAfter
+        );
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        log.warn("Rate limit exceeded for {}", key);
+    }
+
     private String getClientIP(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!properties.isTrustForwardedFor() || (!trustedProxies.isEmpty() && !isTrustedProxy(remoteAddr))) {
+            return remoteAddr;
+        }
         String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+        if (xForwardedFor == null || xForwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+
+        // Hops on the left are whatever the client sent; walk back from the hop our proxy appended.
+        String[] hops = xForwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
         }
-        return request.getRemoteAddr();
+        return false;
     }
 }
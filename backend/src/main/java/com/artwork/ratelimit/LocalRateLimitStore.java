@@ -0,0 +1,38 @@
+package com.artwork.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+
+
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitStore(RateLimitProperties.Local settings) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxBuckets())
+                .expireAfterAccess(settings.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitProperties.Policy policy) {
+        Bucket bucket = buckets.get(key, k -> newBucket(policy));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        return new RateLimitDecision(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private Bucket newBucket(RateLimitProperties.Policy policy) {
+        Bandwidth limit = Bandwidth.classic(policy.getCapacity(),
+                Refill.greedy(policy.getCapacity(), policy.getPeriod()));
+        return Bucket.builder().addLimit(limit).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.artwork.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private Store store = Store.LOCAL;
+
+    private boolean trustForwardedFor = false;
+
+    /**
+     * Proxy addresses or CIDR ranges whose X-Forwarded-For hops are skipped. When empty, only the
+     * immediate peer is treated as a proxy and the right-most forwarded address is used.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    private Local local = new Local();
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    public enum Store {
+        LOCAL,
+        REDIS
+    }
+
+    public enum KeyType {
+        IP,
+        USER
+    }
+
+    @Data
+    public static class Local {
+
+        private long maxBuckets = 100_000;
+
+        private Duration idleTimeout = Duration.ofMinutes(15);
+    }
+
+    @Data
+    public static class Policy {
+
+        private List<String> paths = new ArrayList<>();
+
+        private List<String> methods = new ArrayList<>();
+
+        private KeyType key = KeyType.IP;
+
+        private long capacity = 60;
+
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
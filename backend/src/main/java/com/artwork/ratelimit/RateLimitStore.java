@@ -0,0 +1,7 @@
+package com.artwork.ratelimit;
+
+
+public interface RateLimitStore {
+
+    RateLimitDecision tryConsume(String key, RateLimitProperties.Policy policy);
+}
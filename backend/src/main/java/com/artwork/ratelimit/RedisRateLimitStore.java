@@ -0,0 +1,73 @@
+package com.artwork.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+@Slf4j
+public class RedisRateLimitStore implements RateLimitStore {
+
+    static final String KEY_PREFIX = "RATE_LIMIT:";
+
+    // Greedy token bucket kept in a hash (tokens, last refill in ms), refilled and consumed atomically.
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1])\n" +
+            "local period = tonumber(ARGV[2])\n" +
+            "local time = redis.call('TIME')\n" +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)\n" +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')\n" +
+            "local tokens = tonumber(state[1]) or capacity\n" +
+            "local ts = tonumber(state[2]) or now\n" +
+            "if now > ts then tokens = math.min(capacity, tokens + (now - ts) * capacity / period) end\n" +
+            "local allowed = 0\n" +
+            "local wait = 0\n" +
+            "if tokens >= 1 then\n" +
+            "  tokens = tokens - 1\n" +
+            "  allowed = 1\n" +
+            "else\n" +
+            "  wait = math.ceil((1 - tokens) * period / capacity)\n" +
+            "end\n" +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))\n" +
+            "redis.call('PEXPIRE', KEYS[1], period)\n" +
+            "return {allowed, math.floor(tokens), wait}",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitStore fallback;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate, RateLimitStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitProperties.Policy policy) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET,
+                    Collections.singletonList(KEY_PREFIX + key),
+                    String.valueOf(policy.getCapacity()),
+                    String.valueOf(Math.max(1, policy.getPeriod().toMillis())));
+            if (result == null || result.size() < 3) {
+                return fallback.tryConsume(key, policy);
+            }
+            return new RateLimitDecision(
+                    toLong(result.get(0)) == 1,
+                    toLong(result.get(1)),
+                    TimeUnit.MILLISECONDS.toNanos(toLong(result.get(2))));
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limit check failed, using local buckets: {}", e.getMessage());
+            return fallback.tryConsume(key, policy);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+    }
+}
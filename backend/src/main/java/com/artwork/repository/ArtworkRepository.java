@@ -4,9 +4,13 @@ import com.artwork.entity.Artwork;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -33,6 +37,43 @@ public interface ArtworkRepository extends JpaRepository<Artwork, String> {
     @Query("SELECT COALESCE(AVG(r.rating), 0.0) FROM Review r JOIN r.artwork a WHERE a.artistId = :artistId")
     Double getAverageRatingForArtist(String artistId);
     
+    @Query("SELECT DISTINCT a FROM Artwork a LEFT JOIN FETCH a.artist ar LEFT JOIN FETCH ar.socialLinks " +
+           "WHERE a.id IN :ids")
+    List<Artwork> findAllWithArtistByIdIn(@Param("ids") Collection<String> ids);
+    
+    @Query("SELECT a.id FROM Artwork a WHERE a.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+    
+    @Query("SELECT a.id FROM Artwork a WHERE a.id IN :ids AND (a.isAvailable = true OR a.isAvailable IS NULL)")
+    List<String> findAvailableIds(@Param("ids") Collection<String> ids);
+    
+    @Modifying
+    @Query("UPDATE Artwork a SET a.isAvailable = false, a.reservedOrderId = :orderId, a.reservedUntil = :until " +
+           "WHERE a.id = :artworkId AND (a.isAvailable = true OR a.isAvailable IS NULL)")
+    int reserveIfAvailable(@Param("artworkId") String artworkId,
+                           @Param("orderId") String orderId,
+                           @Param("until") LocalDateTime until);
+    
+    @Modifying
+    @Query("UPDATE Artwork a SET a.reservedUntil = NULL WHERE a.reservedOrderId = :orderId")
+    int confirmReservation(@Param("orderId") String orderId);
+    
+    @Modifying
+    @Query("UPDATE Artwork a SET a.isAvailable = true, a.reservedOrderId = NULL, a.reservedUntil = NULL " +
+           "WHERE a.reservedOrderId = :orderId")
+    int releaseReservation(@Param("orderId") String orderId);
+    
+    @Modifying
+    @Query("UPDATE Artwork a SET a.isAvailable = true, a.reservedOrderId = NULL, a.reservedUntil = NULL " +
+           "WHERE a.reservedOrderId = :orderId AND a.reservedUntil < :now")
+    int releaseExpiredReservation(@Param("orderId") String orderId, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT DISTINCT a.reservedOrderId FROM Artwork a " +
+           "WHERE a.reservedUntil < :now AND a.reservedOrderId > :afterOrderId ORDER BY a.reservedOrderId")
+    List<String> findOrderIdsWithExpiredReservations(@Param("now") LocalDateTime now,
+                                                     @Param("afterOrderId") String afterOrderId,
+                                                     Pageable pageable);
+    
     long countByApprovalStatus(com.artwork.entity.ApprovalStatus approvalStatus);
     
     
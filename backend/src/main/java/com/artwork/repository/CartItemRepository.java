@@ -2,8 +2,37 @@ package com.artwork.repository;
 
 import com.artwork.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, String> {
+
+    @Query("SELECT c FROM CartItem c LEFT JOIN FETCH c.artwork a LEFT JOIN FETCH a.artist " +
+           "WHERE c.userId = :userId ORDER BY c.createdAt")
+    List<CartItem> findByUserIdWithArtwork(@Param("userId") String userId);
+
+    @Query("SELECT c FROM CartItem c LEFT JOIN FETCH c.artwork a LEFT JOIN FETCH a.artist " +
+           "WHERE c.userId = :userId AND c.artworkId = :artworkId")
+    Optional<CartItem> findByUserIdAndArtworkIdWithArtwork(@Param("userId") String userId,
+                                                           @Param("artworkId") String artworkId);
+
+    @Modifying
+    @Query(value = "INSERT INTO cart_items (id, user_id, artwork_id, quantity, created_at) " +
+                   "VALUES (:id, :userId, :artworkId, :quantity, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, artwork_id) DO UPDATE SET quantity = cart_items.quantity + EXCLUDED.quantity",
+           nativeQuery = true)
+    int upsertQuantity(@Param("id") String id,
+                       @Param("userId") String userId,
+                       @Param("artworkId") String artworkId,
+                       @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
 }
@@ -1,10 +1,13 @@
 package com.artwork.repository;
 
 import com.artwork.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +23,7 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
     
     
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByNameIgnoreCase(String name);
     
     
@@ -55,6 +59,7 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
     List<Category> findByIsDeletedFalseOrderByDisplayOrderAsc();
     
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByIsDeletedFalseAndIsActiveTrueOrderByDisplayOrderAsc();
     
     
@@ -120,6 +125,7 @@ public interface CategoryRepository extends JpaRepository<Category, String> {
     
     
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c.name FROM Category c WHERE c.isDeleted = false AND c.isActive = true ORDER BY c.displayOrder ASC")
     List<String> findAllActiveNames();
     
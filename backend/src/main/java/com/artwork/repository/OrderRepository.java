@@ -4,6 +4,7 @@ import com.artwork.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
@@ -23,6 +25,36 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     
     long countByStatus(com.artwork.entity.OrderStatus status);
     
+    @Query(value = "SELECT o FROM Order o WHERE o.id IN " +
+                   "(SELECT oi.orderId FROM OrderItem oi WHERE oi.artistId = :artistId)",
+           countQuery = "SELECT COUNT(DISTINCT oi.orderId) FROM OrderItem oi WHERE oi.artistId = :artistId")
+    Page<Order> findByArtistId(@Param("artistId") String artistId, Pageable pageable);
+    
+    @Query(value = "SELECT o FROM Order o WHERE o.status = :status AND o.id IN " +
+                   "(SELECT oi.orderId FROM OrderItem oi WHERE oi.artistId = :artistId)",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status AND o.id IN " +
+                        "(SELECT oi.orderId FROM OrderItem oi WHERE oi.artistId = :artistId)")
+    Page<Order> findByArtistIdAndStatus(@Param("artistId") String artistId,
+                                        @Param("status") com.artwork.entity.OrderStatus status,
+                                        Pageable pageable);
+    
+    
+    @Query("SELECT o.status, COUNT(DISTINCT o.id), COALESCE(SUM(oi.price * oi.quantity), 0) " +
+           "FROM OrderItem oi JOIN Order o ON o.id = oi.orderId " +
+           "WHERE oi.artistId = :artistId GROUP BY o.status")
+    List<Object[]> getArtistOrderStatsByStatus(@Param("artistId") String artistId);
+    
+    @Modifying
+    @Query("UPDATE Order o SET o.status = com.artwork.entity.OrderStatus.CANCELLED, " +
+           "o.cancellationReason = :reason, o.updatedAt = :now " +
+           "WHERE o.id = :orderId AND o.status = com.artwork.entity.OrderStatus.PENDING")
+    int cancelIfPending(@Param("orderId") String orderId,
+                        @Param("reason") String reason,
+                        @Param("now") LocalDateTime now);
+    
+    @Query("SELECT o.status FROM Order o WHERE o.id = :orderId")
+    Optional<com.artwork.entity.OrderStatus> findStatusById(@Param("orderId") String orderId);
+    
     
     @Query("SELECT o FROM Order o WHERE COALESCE(o.createdAt, o.updatedAt) >= :startDate AND COALESCE(o.createdAt, o.updatedAt) <= :endDate")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate, 
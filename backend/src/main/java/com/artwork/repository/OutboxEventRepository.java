@@ -0,0 +1,10 @@
+package com.artwork.repository;
+
+import com.artwork.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Claiming, retries and cleanup run through OutboxRelay's OrderedClaimDispatcher.
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
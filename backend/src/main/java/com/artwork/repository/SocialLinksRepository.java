@@ -2,11 +2,15 @@ package com.artwork.repository;
 
 import com.artwork.entity.SocialLinks;
 import com.artwork.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface SocialLinksRepository extends JpaRepository<SocialLinks, String> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<SocialLinks> findByUser(User user);
 }
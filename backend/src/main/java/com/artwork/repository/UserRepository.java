@@ -13,30 +13,33 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT u FROM User u WHERE u.emailLower = LOWER(:email)")
     Optional<User> findByEmail(String email);
     
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.emailLower = LOWER(:email)")
     boolean existsByEmail(String email);
     
     
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    @Query("SELECT u FROM User u WHERE u.usernameLower = LOWER(:username)")
     Optional<User> findByUsername(String username);
     
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.usernameLower = LOWER(:username)")
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.usernameLower FROM User u WHERE u.usernameLower LIKE CONCAT(:prefix, '%')")
+    List<String> findUsernamesStartingWith(@org.springframework.data.repository.query.Param("prefix") String prefix);
     
     List<User> findByRole(Role role);
     Page<User> findByRole(Role role, Pageable pageable);
     
-    @Query("SELECT u FROM User u WHERE u.role = :role AND (LOWER(u.firstName) LIKE %:search% OR LOWER(u.lastName) LIKE %:search% OR LOWER(u.username) LIKE %:search%)")
+    @Query("SELECT u FROM User u WHERE u.role = :role AND (LOWER(u.firstName) LIKE %:search% OR LOWER(u.lastName) LIKE %:search% OR u.usernameLower LIKE %:search%)")
     Page<User> findByRoleAndNameContaining(Role role, String search, Pageable pageable);
     
     
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.status = 'APPROVED'")
     Page<User> findByRoleAndStatusApproved(Role role, Pageable pageable);
     
-    @Query("SELECT u FROM User u WHERE u.role = :role AND u.status = 'APPROVED' AND (LOWER(u.firstName) LIKE %:search% OR LOWER(u.lastName) LIKE %:search% OR LOWER(u.username) LIKE %:search%)")
+    @Query("SELECT u FROM User u WHERE u.role = :role AND u.status = 'APPROVED' AND (LOWER(u.firstName) LIKE %:search% OR LOWER(u.lastName) LIKE %:search% OR u.usernameLower LIKE %:search%)")
     Page<User> findByRoleAndStatusApprovedAndNameContaining(Role role, String search, Pageable pageable);
     
     
@@ -0,0 +1,9 @@
+package com.artwork.repository;
+
+import com.artwork.entity.UserSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserSummaryRepository extends JpaRepository<UserSummary, String> {
+}
@@ -2,8 +2,20 @@ package com.artwork.repository;
 
 import com.artwork.entity.WishlistItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface WishlistItemRepository extends JpaRepository<WishlistItem, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO wishlist_items (id, user_id, artwork_id, created_at) " +
+                   "VALUES (:id, :userId, :artworkId, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, artwork_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("userId") String userId,
+                       @Param("artworkId") String artworkId);
 }
@@ -0,0 +1,17 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.LedgerAccountSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+
+@Repository
+public interface LedgerAccountSnapshotRepository extends JpaRepository<LedgerAccountSnapshot, String> {
+    
+    @Query("SELECT MAX(s.asOf) FROM LedgerAccountSnapshot s")
+    Optional<LocalDateTime> findLatestAsOf();
+}
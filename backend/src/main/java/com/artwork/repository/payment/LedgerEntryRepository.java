@@ -18,6 +18,8 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, String
     
     List<LedgerEntry> findByTransactionId(String transactionId);
     
+    boolean existsByTransactionId(String transactionId);
+    
     Page<LedgerEntry> findByAccountTypeAndAccountId(String accountType, String accountId, Pageable pageable);
     
     @Query("SELECT l FROM LedgerEntry l WHERE l.accountId = :accountId ORDER BY l.createdAt DESC")
@@ -26,6 +28,28 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, String
     @Query("SELECT SUM(l.creditAmount) - SUM(l.debitAmount) FROM LedgerEntry l WHERE l.accountId = :accountId")
     BigDecimal getBalanceForAccount(@Param("accountId") String accountId);
     
+    @Query("SELECT COALESCE(SUM(l.creditAmount - l.debitAmount), 0) FROM LedgerEntry l " +
+           "WHERE l.accountType = :accountType AND l.accountId = :accountId AND l.createdAt > :after")
+    BigDecimal getMovementSince(
+        @Param("accountType") String accountType,
+        @Param("accountId") String accountId,
+        @Param("after") LocalDateTime after
+    );
+    
+    @Query("SELECT l.accountType, l.accountId, SUM(l.creditAmount - l.debitAmount), COUNT(l) FROM LedgerEntry l " +
+           "WHERE l.createdAt > :after AND l.createdAt <= :upTo GROUP BY l.accountType, l.accountId")
+    List<Object[]> getMovementsByAccount(
+        @Param("after") LocalDateTime after,
+        @Param("upTo") LocalDateTime upTo
+    );
+    
+    @Query("SELECT l.accountType, l.accountId, SUM(l.debitAmount), SUM(l.creditAmount), COUNT(l) FROM LedgerEntry l " +
+           "WHERE l.createdAt >= :start AND l.createdAt < :end GROUP BY l.accountType, l.accountId")
+    List<Object[]> getTotalsByAccountInPeriod(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end
+    );
+    
     @Query("SELECT l FROM LedgerEntry l WHERE l.accountType = 'PLATFORM' AND l.createdAt BETWEEN :start AND :end")
     List<LedgerEntry> getPlatformEntriesInPeriod(
         @Param("start") LocalDateTime start,
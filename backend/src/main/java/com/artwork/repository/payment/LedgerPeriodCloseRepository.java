@@ -0,0 +1,21 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.LedgerPeriodClose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface LedgerPeriodCloseRepository extends JpaRepository<LedgerPeriodClose, Long> {
+    
+    List<LedgerPeriodClose> findByPeriodOrderByAccountTypeAscAccountIdAsc(String period);
+    
+    @Modifying
+    @Query("DELETE FROM LedgerPeriodClose c WHERE c.period = :period")
+    int deleteByPeriod(@Param("period") String period);
+}
@@ -0,0 +1,28 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.PaymentAnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+
+@Repository
+public interface PaymentAnalyticsRollupRepository extends JpaRepository<PaymentAnalyticsRollup, Long> {
+    
+    @Query("SELECT r.metric, r.status, SUM(r.txnCount), SUM(r.amount) FROM PaymentAnalyticsRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.metric, r.status")
+    List<Object[]> sumByMetricAndStatus(
+        @Param("granularity") String granularity,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+    
+    @Query("SELECT MAX(r.refreshedAt) FROM PaymentAnalyticsRollup r")
+    Optional<LocalDateTime> findLastRefreshedAt();
+}
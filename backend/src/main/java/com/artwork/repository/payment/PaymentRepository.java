@@ -19,6 +19,8 @@ public interface PaymentRepository extends JpaRepository<Payment, String> {
     
     Optional<Payment> findByOrderId(String orderId);
     
+    Optional<Payment> findByGatewayOrderId(String gatewayOrderId);
+    
     Optional<Payment> findByGatewayPaymentId(String gatewayPaymentId);
     
     Optional<Payment> findByIdempotencyKey(String idempotencyKey);
@@ -5,6 +5,7 @@ import com.artwork.entity.payment.SplitStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -30,6 +31,22 @@ public interface PaymentSplitRepository extends JpaRepository<PaymentSplit, Stri
     @Query("SELECT SUM(ps.netSellerAmount) FROM PaymentSplit ps WHERE ps.sellerId = :sellerId AND ps.splitStatus = 'SETTLED'")
     Optional<BigDecimal> getTotalEarningsForSeller(@Param("sellerId") String sellerId);
     
+    @Query("SELECT SUM(ps.netSellerAmount) FROM PaymentSplit ps WHERE ps.sellerId = :sellerId AND ps.splitStatus = 'PENDING'")
+    Optional<BigDecimal> getPendingEarningsForSeller(@Param("sellerId") String sellerId);
+    
+    @Modifying
+    @Query("UPDATE PaymentSplit ps SET ps.splitStatus = com.artwork.entity.payment.SplitStatus.SETTLED, " +
+           "ps.updatedAt = :now WHERE ps.id = :id AND ps.splitStatus = com.artwork.entity.payment.SplitStatus.PENDING")
+    int markSettled(@Param("id") String id, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT ps.splitStatus, COALESCE(SUM(ps.netSellerAmount), 0), COALESCE(SUM(ps.platformCommission), 0), " +
+           "COALESCE(SUM(ps.tdsDeducted), 0), COUNT(ps) FROM PaymentSplit ps " +
+           "WHERE ps.sellerId = :sellerId GROUP BY ps.splitStatus")
+    List<Object[]> getSellerTotalsByStatus(@Param("sellerId") String sellerId);
+    
+    @Query("SELECT DISTINCT ps.sellerId FROM PaymentSplit ps")
+    List<String> findDistinctSellerIds();
+    
     @Query("SELECT SUM(ps.platformCommission) FROM PaymentSplit ps WHERE ps.createdAt BETWEEN :start AND :end")
     Optional<BigDecimal> getTotalCommissionInPeriod(
         @Param("start") LocalDateTime start,
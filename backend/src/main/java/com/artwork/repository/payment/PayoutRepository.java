@@ -5,12 +5,14 @@ import com.artwork.entity.payment.PayoutStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,8 +29,42 @@ public interface PayoutRepository extends JpaRepository<Payout, String> {
     @Query("SELECT p FROM Payout p WHERE p.status = 'PENDING' AND p.scheduledAt <= :now")
     List<Payout> findPayoutsDueForProcessing(@Param("now") LocalDateTime now);
     
+    @Query(value = "SELECT * FROM payouts WHERE status = 'PENDING' AND scheduled_at <= :now " +
+                   "ORDER BY scheduled_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Payout> lockDueForProcessing(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE Payout p SET p.status = com.artwork.entity.payment.PayoutStatus.PROCESSING, p.updatedAt = :now " +
+           "WHERE p.id IN :ids AND p.status = com.artwork.entity.payment.PayoutStatus.PENDING")
+    int markProcessing(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Payout p SET p.gatewayPayoutId = :gatewayPayoutId, p.processedAt = :now, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.gatewayPayoutId IS NULL")
+    int markInitiated(@Param("id") String id,
+                      @Param("gatewayPayoutId") String gatewayPayoutId,
+                      @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Payout p SET p.status = com.artwork.entity.payment.PayoutStatus.FAILED, " +
+           "p.failureReason = :reason, p.processedAt = :now, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.status = com.artwork.entity.payment.PayoutStatus.PROCESSING")
+    int markFailed(@Param("id") String id, @Param("reason") String reason, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT COUNT(p) FROM Payout p WHERE p.status = com.artwork.entity.payment.PayoutStatus.PROCESSING " +
+           "AND p.gatewayPayoutId IS NULL AND p.updatedAt < :cutoff")
+    long countStuckInProcessing(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT p FROM Payout p WHERE p.status = com.artwork.entity.payment.PayoutStatus.PROCESSING " +
+           "AND p.gatewayPayoutId IS NULL AND p.updatedAt < :cutoff ORDER BY p.updatedAt")
+    List<Payout> findUnresolvedInProcessing(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
     @Query("SELECT SUM(p.amount) FROM Payout p WHERE p.sellerId = :sellerId AND p.status = 'COMPLETED'")
     Optional<BigDecimal> getTotalPayoutsForSeller(@Param("sellerId") String sellerId);
     
+    @Query("SELECT p.status, COALESCE(SUM(p.amount), 0) FROM Payout p WHERE p.sellerId = :sellerId GROUP BY p.status")
+    List<Object[]> getSellerTotalsByStatus(@Param("sellerId") String sellerId);
+    
     long countByStatus(PayoutStatus status);
 }
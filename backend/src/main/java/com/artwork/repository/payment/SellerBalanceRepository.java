@@ -0,0 +1,88 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.SellerBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+
+@Repository
+public interface SellerBalanceRepository extends JpaRepository<SellerBalance, String> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM SellerBalance b WHERE b.sellerId = :sellerId")
+    Optional<SellerBalance> lockBySellerId(@Param("sellerId") String sellerId);
+    
+    @Query("SELECT b.sellerId FROM SellerBalance b")
+    List<String> findAllSellerIds();
+    
+    @Modifying
+    @Query(value = "INSERT INTO seller_balances (seller_id, available_amount, reserved_amount, " +
+                   "paid_out_amount, total_earnings, commission_amount, tds_amount, settled_splits, updated_at) " +
+                   "VALUES (:sellerId, 0, 0, 0, 0, 0, 0, 0, :now) ON CONFLICT (seller_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("sellerId") String sellerId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.availableAmount = b.availableAmount + :netAmount, b.totalEarnings = b.totalEarnings + :netAmount, " +
+           "b.commissionAmount = b.commissionAmount + :commission, b.tdsAmount = b.tdsAmount + :tds, " +
+           "b.settledSplits = b.settledSplits + 1, b.updatedAt = :now WHERE b.sellerId = :sellerId")
+    int settleSplit(@Param("sellerId") String sellerId,
+                    @Param("netAmount") BigDecimal netAmount,
+                    @Param("commission") BigDecimal commission,
+                    @Param("tds") BigDecimal tds,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.availableAmount = b.availableAmount - :amount, " +
+           "b.reservedAmount = b.reservedAmount + :amount, b.updatedAt = :now " +
+           "WHERE b.sellerId = :sellerId AND b.availableAmount >= :amount")
+    int reserveForPayout(@Param("sellerId") String sellerId,
+                         @Param("amount") BigDecimal amount,
+                         @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.reservedAmount = b.reservedAmount - :amount, " +
+           "b.paidOutAmount = b.paidOutAmount + :amount, b.updatedAt = :now WHERE b.sellerId = :sellerId")
+    int completePayout(@Param("sellerId") String sellerId,
+                       @Param("amount") BigDecimal amount,
+                       @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.reservedAmount = b.reservedAmount - :amount, " +
+           "b.availableAmount = b.availableAmount + :amount, b.updatedAt = :now WHERE b.sellerId = :sellerId")
+    int releasePayout(@Param("sellerId") String sellerId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.availableAmount = b.availableAmount - :amount, " +
+           "b.paidOutAmount = b.paidOutAmount + :amount, b.updatedAt = :now " +
+           "WHERE b.sellerId = :sellerId AND b.availableAmount >= :amount")
+    int completeReleasedPayout(@Param("sellerId") String sellerId,
+                               @Param("amount") BigDecimal amount,
+                               @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.availableAmount = b.availableAmount - :amount, " +
+           "b.paidOutAmount = b.paidOutAmount + :amount, b.updatedAt = :now WHERE b.sellerId = :sellerId")
+    int forceCompleteReleasedPayout(@Param("sellerId") String sellerId,
+                                    @Param("amount") BigDecimal amount,
+                                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE SellerBalance b SET b.paidOutAmount = b.paidOutAmount - :amount, " +
+           "b.availableAmount = b.availableAmount + :amount, b.updatedAt = :now WHERE b.sellerId = :sellerId")
+    int reversePayout(@Param("sellerId") String sellerId,
+                      @Param("amount") BigDecimal amount,
+                      @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.SettlementMismatch;
+import com.artwork.entity.payment.SettlementMismatchType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface SettlementMismatchRepository extends JpaRepository<SettlementMismatch, Long> {
+
+    List<SettlementMismatch> findByReconciliationIdOrderById(Long reconciliationId, Pageable pageable);
+
+    List<SettlementMismatch> findByReconciliationIdAndMismatchTypeOrderById(Long reconciliationId,
+                                                                             SettlementMismatchType mismatchType,
+                                                                             Pageable pageable);
+
+    @Query("SELECT m.mismatchType, COUNT(m) FROM SettlementMismatch m " +
+           "WHERE m.reconciliationId = :reconciliationId GROUP BY m.mismatchType")
+    List<Object[]> countByType(@Param("reconciliationId") Long reconciliationId);
+}
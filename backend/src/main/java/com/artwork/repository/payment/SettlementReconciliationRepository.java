@@ -0,0 +1,66 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.SettlementReconciliation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Repository
+public interface SettlementReconciliationRepository extends JpaRepository<SettlementReconciliation, Long> {
+
+    List<SettlementReconciliation> findAllByOrderByIdDesc(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE SettlementReconciliation r SET r.status = com.artwork.entity.payment.SettlementReconciliationStatus.RUNNING, " +
+           "r.startedAt = :now, r.heartbeatAt = :now " +
+           "WHERE r.id = :id AND r.ownerId = :ownerId AND r.status = com.artwork.entity.payment.SettlementReconciliationStatus.QUEUED")
+    int markRunning(@Param("id") Long id, @Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SettlementReconciliation r SET r.heartbeatAt = :now " +
+           "WHERE r.ownerId = :ownerId AND r.status IN (com.artwork.entity.payment.SettlementReconciliationStatus.QUEUED, " +
+           "com.artwork.entity.payment.SettlementReconciliationStatus.RUNNING)")
+    int heartbeat(@Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.id FROM SettlementReconciliation r " +
+           "WHERE r.status IN (com.artwork.entity.payment.SettlementReconciliationStatus.QUEUED, " +
+           "com.artwork.entity.payment.SettlementReconciliationStatus.RUNNING) " +
+           "AND COALESCE(r.heartbeatAt, r.createdAt) < :staleBefore")
+    List<Long> findStaleIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Re-checks the heartbeat so a run whose owner caught up since findStaleIds is left alone.
+    @Modifying
+    @Query("UPDATE SettlementReconciliation r SET r.status = com.artwork.entity.payment.SettlementReconciliationStatus.FAILED, " +
+           "r.errorMessage = :error, r.finishedAt = :now " +
+           "WHERE r.id = :id AND r.status IN (com.artwork.entity.payment.SettlementReconciliationStatus.QUEUED, " +
+           "com.artwork.entity.payment.SettlementReconciliationStatus.RUNNING) " +
+           "AND COALESCE(r.heartbeatAt, r.createdAt) < :staleBefore")
+    int failIfStale(@Param("id") Long id,
+                    @Param("staleBefore") LocalDateTime staleBefore,
+                    @Param("error") String error,
+                    @Param("now") LocalDateTime now);
+
+    // Only the owner may finish its run, and only while no other node has failed it as stale.
+    @Modifying
+    @Query("UPDATE SettlementReconciliation r SET r.status = :status, r.errorMessage = :error, " +
+           "r.rowsRead = :rowsRead, r.rowsMatched = :rowsMatched, r.rowsSkipped = :rowsSkipped, " +
+           "r.malformedRows = :malformedRows, r.mismatches = :mismatches, r.finishedAt = :now " +
+           "WHERE r.id = :id AND r.ownerId = :ownerId AND r.status = com.artwork.entity.payment.SettlementReconciliationStatus.RUNNING")
+    int finish(@Param("id") Long id,
+               @Param("ownerId") String ownerId,
+               @Param("status") com.artwork.entity.payment.SettlementReconciliationStatus status,
+               @Param("error") String error,
+               @Param("rowsRead") long rowsRead,
+               @Param("rowsMatched") long rowsMatched,
+               @Param("rowsSkipped") long rowsSkipped,
+               @Param("malformedRows") long malformedRows,
+               @Param("mismatches") long mismatches,
+               @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.WebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+
+// Claiming, retries and cleanup run through RazorpayWebhookInbox's OrderedClaimDispatcher.
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+}
@@ -0,0 +1,60 @@
+package com.artwork.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+
+@Component
+@RequiredArgsConstructor
+public class AuthContext {
+
+    private static final String USER_ATTRIBUTE = AuthContext.class.getName() + ".user";
+
+    private final JwtTokenService jwtTokenService;
+
+    void populate(HttpServletRequest request, AuthenticatedUser user) {
+        request.setAttribute(USER_ATTRIBUTE, user);
+    }
+
+    public Optional<AuthenticatedUser> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        Object user = attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return user instanceof AuthenticatedUser ? Optional.of((AuthenticatedUser) user) : Optional.empty();
+    }
+
+    public String requireUserId() {
+        return current()
+                .map(AuthenticatedUser::getId)
+                .orElseThrow(() -> new AccessDeniedException("Authentication required"));
+    }
+
+
+    public String resolveUserId(String token) {
+        Optional<AuthenticatedUser> user = current();
+        if (user.isPresent() && isRequestToken(token)) {
+            return user.get().getId();
+        }
+        if (token == null || token.isEmpty()) {
+            throw new AccessDeniedException("Authentication required");
+        }
+        return jwtTokenService.extractUserId(token);
+    }
+
+    private boolean isRequestToken(String token) {
+        if (token == null) {
+            return true;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && token.equals(attributes.getAttribute(JwtTokenService.TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
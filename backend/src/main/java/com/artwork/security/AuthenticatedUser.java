@@ -0,0 +1,23 @@
+package com.artwork.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class AuthenticatedUser {
+    private final String id;
+    private final String email;
+    private final String role;
+
+    public boolean hasRole(String roleName) {
+        if (role == null || roleName == null) {
+            return false;
+        }
+        String expected = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
+        return role.equals(expected);
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -28,7 +27,6 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     private final com.artwork.util.UsernameGenerator usernameGenerator;
     
     @Override
-    @Transactional
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         
         OAuth2User oauth2User = super.loadUser(userRequest);
@@ -84,12 +82,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         log.info("Creating new user from OAuth2 provider: {}", provider);
         
         
-        String username = usernameGenerator.generateUniqueUsername(
-            userInfo.getEmail(), 
-            userInfo.getFirstName()
-        );
-        
-        User user = User.builder()
+        return usernameGenerator.withUniqueUsername(userInfo.getEmail(), userInfo.getFirstName(), username -> userRepository.saveAndFlush(User.builder()
             .email(userInfo.getEmail())
             .password("") 
             .firstName(userInfo.getFirstName())
@@ -105,9 +98,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             .status(UserStatus.APPROVED)
             .createdAt(LocalDateTime.now())
             .updatedAt(LocalDateTime.now())
-            .build();
-        
-        return userRepository.save(user);
+            .build()));
     }
     
     private User updateExistingUser(User existingUser, String provider, OAuth2UserInfo userInfo) {
@@ -13,7 +13,6 @@ import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -29,7 +28,6 @@ public class CustomOidcUserService extends OidcUserService {
     private final com.artwork.util.UsernameGenerator usernameGenerator;
     
     @Override
-    @Transactional
     public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
         OidcUser oidcUser = super.loadUser(userRequest);
         
@@ -73,21 +71,16 @@ public class CustomOidcUserService extends OidcUserService {
         try {
             
             String fullName = oAuth2UserInfo.getName();
-            String firstName = fullName;
-            String lastName = "";
-            if (fullName != null && fullName.contains(" ")) {
-                String[] nameParts = fullName.split(" ", 2);
-                firstName = nameParts[0];
-                lastName = nameParts[1];
-            }
-            
+            String[] nameParts = fullName != null && fullName.contains(" ")
+                ? fullName.split(" ", 2)
+                : new String[] {fullName, ""};
+            String firstName = nameParts[0];
+            String lastName = nameParts[1];
             
-            String username = usernameGenerator.generateUniqueUsername(
-                oAuth2UserInfo.getEmail(), 
-                firstName
-            );
+            log.info("Attempting to save user: email={}, firstName={}, lastName={}, provider={}", 
+                oAuth2UserInfo.getEmail(), firstName, lastName, registrationId);
             
-            User user = User.builder()
+            User user = usernameGenerator.withUniqueUsername(oAuth2UserInfo.getEmail(), firstName, username -> userRepository.saveAndFlush(User.builder()
                 .email(oAuth2UserInfo.getEmail())
                 .firstName(firstName)
                 .lastName(lastName)
@@ -103,22 +96,9 @@ public class CustomOidcUserService extends OidcUserService {
                 .enabled(true)
                 .createdAt(java.time.LocalDateTime.now())
                 .updatedAt(java.time.LocalDateTime.now())
-                .build();
-            
-            log.info("Attempting to save user: email={}, firstName={}, lastName={}, provider={}", 
-                user.getEmail(), user.getFirstName(), user.getLastName(), user.getOauth2Provider());
-            
-            user = userRepository.save(user);
+                .build()));
             log.info("Successfully created new OIDC user with ID: {}, email: {}", user.getId(), user.getEmail());
             
-            
-            Optional<User> verifyUser = userRepository.findByEmail(user.getEmail());
-            if (verifyUser.isPresent()) {
-                log.info("User save verification successful: User found with ID: {}", verifyUser.get().getId());
-            } else {
-                log.error("User save verification failed: User not found after save operation");
-            }
-            
             return user;
         } catch (Exception e) {
             log.error("Failed to create new OIDC user: {}", e.getMessage(), e);
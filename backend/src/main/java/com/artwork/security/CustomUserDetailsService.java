@@ -1,17 +1,38 @@
 package com.artwork.security;
 
 import com.artwork.entity.User;
+import com.artwork.entity.UserSummary;
 import com.artwork.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.artwork.repository.UserSummaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserSummaryRepository userSummaryRepository;
+    private final Cache<String, UserSummary> principalCache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    UserSummaryRepository userSummaryRepository,
+                                    @Value("${security.principal-cache.ttl-seconds:30}") long principalCacheTtlSeconds,
+                                    @Value("${security.principal-cache.max-size:50000}") long principalCacheMaxSize) {
+        this.userRepository = userRepository;
+        this.userSummaryRepository = userSummaryRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(principalCacheTtlSeconds))
+                .build();
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -21,8 +42,29 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     public UserDetails loadUserById(String id) throws UsernameNotFoundException {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new UserPrincipal(user);
+        UserSummary summary = principalCache.getIfPresent(id);
+        if (summary == null) {
+            summary = userSummaryRepository.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            principalCache.put(id, summary);
+        }
+        return new UserPrincipal(summary.toUser());
+    }
+
+    // Inside a transaction the eviction waits for the commit, otherwise a request in between would cache the old row again.
+    public void evictPrincipal(String id) {
+        if (id == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(id);
+                }
+            });
+        } else {
+            principalCache.invalidate(id);
+        }
     }
 }
@@ -5,24 +5,29 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtTokenService jwtTokenService;
     @Autowired
     private CustomUserDetailsService userDetailsService;
-    @Autowired(required = false)
-    private RedisTemplate<String, String> redisTemplate;
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+    @Autowired
+    private AuthContext authContext;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -57,27 +62,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             System.out.println("No JWT token in request");
         }
         
-        if (token != null && jwtUtil.validateToken(token)) {
+        Optional<Claims> verifiedClaims = jwtTokenService.verify(token);
+        if (verifiedClaims.isPresent()) {
             System.out.println("Token validation successful");
             
             
-            Boolean isBlacklisted = false;
-            if (redisTemplate != null) {
-                try {
-                    isBlacklisted = redisTemplate.hasKey("BLACKLIST:" + token);
-                    if (Boolean.TRUE.equals(isBlacklisted)) {
-                        System.out.println("Token is blacklisted, rejecting request");
-                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                        return;
-                    }
-                } catch (Exception e) {
-                    
-                    System.out.println("Redis connection error (ignoring for token validation): " + e.getMessage());
-                    
-                }
+            if (tokenBlacklistService.isBlacklisted(token)) {
+                System.out.println("Token is blacklisted, rejecting request");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
             }
             
-            Claims claims = jwtUtil.getClaims(token);
+            Claims claims = verifiedClaims.get();
+            request.setAttribute(JwtTokenService.TOKEN_ATTRIBUTE, token);
+            request.setAttribute(JwtTokenService.CLAIMS_ATTRIBUTE, claims);
             String userId = claims.getSubject();
             String userRole = (String) claims.get("role");
             
@@ -95,6 +93,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 userDetails = userDetailsService.loadUserById(userId);
             }
             
+            if (!userDetails.isEnabled()) {
+                log.debug("User {} is inactive, skipping authentication", userId);
+                filterChain.doFilter(request, response);
+                return;
+            }
+            
             
             System.out.println("Username from UserDetails: " + userDetails.getUsername());
             System.out.println("Authorities from UserDetails: " + userDetails.getAuthorities());
@@ -107,6 +111,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
+            String principalRole = userDetails.getAuthorities().stream()
+                    .findFirst()
+                    .map(GrantedAuthority::getAuthority)
+                    .orElse(userRole);
+            authContext.populate(request, new AuthenticatedUser(userId, (String) claims.get("email"), principalRole));
+            
             System.out.println("Authentication set in SecurityContext");
         } else if (token != null) {
             System.out.println("Token validation failed");
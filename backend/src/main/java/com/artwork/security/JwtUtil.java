@@ -1,16 +1,16 @@
 package com.artwork.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.util.Date;
 import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtTokenService jwtTokenService;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
@@ -30,7 +30,7 @@ public class JwtUtil {
                 .claim("role", roleWithPrefix)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenService.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -44,25 +44,23 @@ public class JwtUtil {
                 .claim("role", roleWithPrefix)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtRefreshExpirationMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS256)
+                .signWith(jwtTokenService.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return jwtTokenService.verify(token).isPresent();
     }
 
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes())).build().parseClaimsJws(token).getBody();
+        return jwtTokenService.parseClaims(token);
     }
     
     public String extractUserId(String token) {
-        Claims claims = getClaims(token);
-        return claims.getSubject();
+        return jwtTokenService.extractUserId(token);
+    }
+
+    public void invalidate(String token) {
+        jwtTokenService.evict(token);
     }
 }
@@ -0,0 +1,231 @@
+package com.artwork.security;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+
+@Service
+@Slf4j
+public class TokenBlacklistService implements MessageListener {
+
+    public static final String KEY_PREFIX = "BLACKLIST:";
+    public static final String CHANNEL = "token-blacklist";
+
+    private static final Duration DEFAULT_TTL = Duration.ofDays(7);
+
+    private final JwtTokenService jwtTokenService;
+    private final CircuitBreaker circuitBreaker;
+
+    @Autowired(required = false)
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Value("${jwt.blacklist.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.blacklist.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile TokenBloomFilter filter;
+    private volatile TokenBloomFilter building;
+    private volatile long lastSnapshotSize;
+    private RedisMessageListenerContainer listenerContainer;
+
+    public TokenBlacklistService(JwtTokenService jwtTokenService) {
+        this.jwtTokenService = jwtTokenService;
+        this.circuitBreaker = CircuitBreaker.of("tokenBlacklist", CircuitBreakerConfig.custom()
+                .failureRateThreshold(50)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .build());
+    }
+
+
+    public boolean isBlacklisted(String token) {
+        if (redisTemplate == null || token == null) {
+            return false;
+        }
+
+        TokenBloomFilter current = filter;
+        if (current != null && !current.mightContain(JwtTokenService.digest(token))) {
+            return false;
+        }
+
+        Optional<Boolean> confirmed = callRedis(() -> redisTemplate.hasKey(KEY_PREFIX + token));
+        if (confirmed.isPresent()) {
+            return Boolean.TRUE.equals(confirmed.get());
+        }
+
+        return current != null;
+    }
+
+
+    public void blacklist(String token) {
+        if (redisTemplate == null || token == null) {
+            return;
+        }
+
+        Duration ttl = remainingLifetime(token);
+        if (ttl.isZero()) {
+            return;
+        }
+
+        byte[] digest = JwtTokenService.digest(token);
+        addLocally(digest);
+
+        String encoded = Base64.getEncoder().encodeToString(digest);
+        Optional<Boolean> stored = callRedis(() -> {
+            redisTemplate.opsForValue().set(KEY_PREFIX + token, "true", Math.max(1, ttl.toSeconds()), TimeUnit.SECONDS);
+            redisTemplate.convertAndSend(CHANNEL, encoded);
+            return Boolean.TRUE;
+        });
+        if (stored.isEmpty()) {
+            log.warn("Redis unavailable, token blacklisted on this node only");
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            addLocally(Base64.getDecoder().decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed token blacklist message");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        subscribe();
+        refreshSnapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    // Subscribes under the same condition blacklist() publishes, so every node that announces entries also hears them.
+    private void subscribe() {
+        if (redisTemplate == null || redisTemplate.getConnectionFactory() == null) {
+            return;
+        }
+
+        ExponentialBackOff backOff = new ExponentialBackOff(5_000, 2);
+        backOff.setMaxInterval(300_000);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getConnectionFactory());
+        container.setRecoveryBackoff(backOff);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        listenerContainer = container;
+        try {
+            container.start();
+        } catch (RuntimeException e) {
+            log.warn("Token blacklist subscription not yet established, retrying in the background: {}", e.getMessage());
+        }
+    }
+
+
+    @Scheduled(fixedDelayString = "${jwt.blacklist.snapshot-interval-ms:300000}",
+               initialDelayString = "${jwt.blacklist.snapshot-interval-ms:300000}")
+    public void refreshSnapshot() {
+        if (redisTemplate == null) {
+            return;
+        }
+
+        TokenBloomFilter next = new TokenBloomFilter(Math.max(expectedInsertions, lastSnapshotSize * 2), falsePositiveRate);
+        building = next;
+        try {
+            Optional<Long> loaded = callRedis(() -> {
+                long count = 0;
+                ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+                try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                    while (cursor.hasNext()) {
+                        next.put(JwtTokenService.digest(cursor.next().substring(KEY_PREFIX.length())));
+                        count++;
+                    }
+                }
+                return count;
+            });
+
+            if (loaded.isPresent()) {
+                filter = next;
+                lastSnapshotSize = loaded.get();
+                log.info("Token blacklist snapshot loaded: {} entries", loaded.get());
+            } else {
+                log.warn("Token blacklist snapshot skipped, Redis unavailable");
+            }
+        } finally {
+            building = null;
+        }
+    }
+
+    private void addLocally(byte[] digest) {
+        TokenBloomFilter current = filter;
+        if (current != null) {
+            current.put(digest);
+        }
+        TokenBloomFilter pending = building;
+        if (pending != null) {
+            pending.put(digest);
+        }
+    }
+
+    private Duration remainingLifetime(String token) {
+        Optional<Claims> claims = jwtTokenService.verify(token);
+        if (claims.isEmpty()) {
+            return Duration.ZERO;
+        }
+        Date expiration = claims.get().getExpiration();
+        if (expiration == null) {
+            return DEFAULT_TTL;
+        }
+        long remainingMs = expiration.getTime() - System.currentTimeMillis();
+        return remainingMs > 0 ? Duration.ofMillis(remainingMs) : Duration.ZERO;
+    }
+
+    private <T> Optional<T> callRedis(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.ofNullable(result);
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            log.warn("Redis call for token blacklist failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -44,7 +44,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return user.getIsActive();
+        return !Boolean.FALSE.equals(user.getIsActive());
     }
 
     @Override
@@ -54,6 +54,6 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getIsActive();
+        return !Boolean.FALSE.equals(user.getIsActive());
     }
 }
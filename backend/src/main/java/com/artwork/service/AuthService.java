@@ -1,24 +1,29 @@
 package com.artwork.service;
 
 import com.artwork.dto.*;
+import com.artwork.dto.websocket.NotificationDto;
 import com.artwork.entity.PasswordResetToken;
 import com.artwork.entity.Role;
 import com.artwork.entity.User;
+import com.artwork.event.outbox.OutboxPublisher;
 import com.artwork.repository.PasswordResetTokenRepository;
 import com.artwork.repository.UserRepository;
 import com.artwork.security.JwtUtil;
+import com.artwork.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -28,14 +33,15 @@ public class AuthService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final JwtUtil jwtUtil;
     private final ModelMapper modelMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     private final com.artwork.util.UsernameGenerator usernameGenerator;
+    private final OutboxPublisher outboxPublisher;
+    private final PlatformTransactionManager transactionManager;
     
     @Value("${frontend.base-url}")
     private String frontendBaseUrl;
 
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             AuthResponse response = new AuthResponse();
@@ -46,28 +52,33 @@ public class AuthService {
         
         
         String username = request.getUsername();
-        if (username == null || username.trim().isEmpty()) {
-            username = usernameGenerator.generateUniqueUsername(request.getEmail(), request.getFirstName());
-        } else {
-            
-            if (userRepository.findByUsername(username).isPresent()) {
-                AuthResponse response = new AuthResponse();
-                response.setSuccess(false);
-                response.setMessage("Username already taken");
-                return response;
-            }
+        boolean generateUsername = username == null || username.trim().isEmpty();
+        if (!generateUsername && userRepository.findByUsername(username).isPresent()) {
+            AuthResponse response = new AuthResponse();
+            response.setSuccess(false);
+            response.setMessage("Username already taken");
+            return response;
         }
         
-        User user = User.builder()
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
+        Function<String, AuthResponse> registration = name -> completeRegistration(User.builder()
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
-                .username(username)
+                .username(name)
                 .role(request.getRole() != null ? request.getRole() : Role.CUSTOMER)
                 .isActive(true)
-                .build();
-        userRepository.save(user);
+                .build());
+        
+        if (generateUsername) {
+            return usernameGenerator.withUniqueUsername(request.getEmail(), request.getFirstName(), registration);
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> registration.apply(username));
+    }
+
+    private AuthResponse completeRegistration(User newUser) {
+        User user = userRepository.saveAndFlush(newUser);
         UserDto userDto = modelMapper.map(user, UserDto.class);
         Map<String, Object> claims = new HashMap<>();
         String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name(), claims);
@@ -99,11 +110,15 @@ public class AuthService {
         
         eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
             this,
+            "user",
+            user.getId(),
             user.getEmail(),
             "Welcome to ArtGallery!",
             "email/welcome",
             variables
         ));
+        outboxPublisher.publish("user", user.getId(), OutboxPublisher.ADMIN_NOTIFICATION,
+            NotificationDto.newUser(user.getId(), user.getFirstName() + " " + user.getLastName(), user.getRole().name()));
 
         return response;
     }
@@ -111,11 +126,14 @@ public class AuthService {
     public AuthResponse login(LoginRequest request) {
         User user = userRepository.findByEmail(request.getEmail()).orElse(null);
         AuthResponse response = new AuthResponse();
-        if (user == null || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (user == null || !passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             response.setSuccess(false);
             response.setMessage("Invalid credentials");
             return response;
         }
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            rehashPassword(user, request.getPassword());
+        }
         UserDto userDto = modelMapper.map(user, UserDto.class);
         Map<String, Object> claims = new HashMap<>();
         String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name(), claims);
@@ -142,6 +160,16 @@ public class AuthService {
         return response;
     }
 
+    private void rehashPassword(User user, String rawPassword) {
+        try {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Password hash upgraded to current cost for user {}", user.getId());
+        } catch (RuntimeException e) {
+            log.warn("Skipping password rehash for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     public UserDto getUserByPrincipal(Principal principal) {
         User user = userRepository.findByEmail(principal.getName()).orElse(null);
         return modelMapper.map(user, UserDto.class);
@@ -188,6 +216,8 @@ public class AuthService {
         
         eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
             this,
+            "user",
+            user.getId(),
             user.getEmail(),
             "Password Reset Request - ArtGallery",
             "email/password-reset",
@@ -220,7 +250,7 @@ public class AuthService {
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
         
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
         
         
@@ -11,4 +11,5 @@ public interface CartService {
     CartItemDto updateCartItemQuantity(String itemId, int quantity, String token);
     void removeCartItem(String itemId, String token);
     void clearCart(String token);
+    int mergeItems(Map<String, Integer> quantities, String token);
 }
@@ -5,6 +5,7 @@ import com.artwork.dto.GuestCartResponseDto;
 import com.artwork.dto.GuestSessionDto;
 
 import java.util.List;
+import java.util.Map;
 
 public interface GuestCartService {
     
@@ -22,6 +23,10 @@ public interface GuestCartService {
     
     List<CartItemDto> getCartItems(String sessionId);
     
+    Map<String, Integer> claimCartItems(String sessionId);
+    
+    void restoreCartItems(String sessionId, Map<String, Integer> quantities);
+    
     boolean sessionExists(String sessionId);
     
     void deleteSession(String sessionId);
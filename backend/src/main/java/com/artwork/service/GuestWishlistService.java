@@ -5,6 +5,7 @@ import com.artwork.dto.GuestWishlistResponseDto;
 import com.artwork.dto.WishlistItemDto;
 
 import java.util.List;
+import java.util.Set;
 
 public interface GuestWishlistService {
     
@@ -20,6 +21,10 @@ public interface GuestWishlistService {
     
     List<WishlistItemDto> getWishlistItems(String sessionId);
     
+    Set<String> claimWishlistItems(String sessionId);
+    
+    void restoreWishlistItems(String sessionId, Set<String> artworkIds);
+    
     boolean sessionExists(String sessionId);
     
     void deleteSession(String sessionId);
@@ -0,0 +1,12 @@
+package com.artwork.service;
+
+import com.artwork.entity.OrderStatus;
+import java.util.Collection;
+
+public interface InventoryReservationService {
+    void reserve(String orderId, Collection<String> artworkIds, String paymentMethod);
+    boolean confirm(String orderId);
+    void release(String orderId);
+    void onOrderStatusChanged(String orderId, OrderStatus status);
+    int releaseExpiredReservations();
+}
@@ -1,9 +1,11 @@
 package com.artwork.service;
 
 import com.artwork.dto.WishlistItemDto;
+import java.util.Collection;
 import java.util.List;
 
 public interface WishlistService {
     WishlistItemDto addToWishlist(WishlistItemDto wishlistItemDto, String token);
     List<WishlistItemDto> getWishlist(String token);
+    int mergeItems(Collection<String> artworkIds, String token);
 }
@@ -10,4 +10,7 @@ public interface AdminAnalyticsService {
     
     
     Map<String, Object> getSystemHealth();
+    
+    
+    Map<String, Object> getSecondLevelCacheStats();
 }
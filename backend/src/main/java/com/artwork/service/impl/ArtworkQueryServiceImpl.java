@@ -1,5 +1,6 @@
 package com.artwork.service.impl;
 
+import com.artwork.cache.CachedPage;
 import com.artwork.dto.ArtworkDto;
 import com.artwork.entity.Artwork;
 import com.artwork.exception.ResourceNotFoundException;
@@ -54,7 +55,7 @@ public class ArtworkQueryServiceImpl implements ArtworkQueryService {
             artworks = artworkRepository.findAll(pageable);
         }
         
-        return artworks.map(this::convertToDto);
+        return CachedPage.of(artworks.map(this::convertToDto));
     }
 
     @Override
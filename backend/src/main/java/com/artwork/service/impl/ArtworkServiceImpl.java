@@ -1,5 +1,6 @@
 package com.artwork.service.impl;
 
+import com.artwork.cache.CachedPage;
 import com.artwork.dto.ArtworkDto;
 import com.artwork.dto.ArtistDto;
 import com.artwork.entity.ApprovalStatus;
@@ -143,7 +144,7 @@ public class ArtworkServiceImpl implements ArtworkService {
         }
         
         log.info("Returning {} artworks", artworks.getContent().size());
-        return artworks.map(this::convertToDto);
+        return CachedPage.of(artworks.map(this::convertToDto));
     }
 
     @Override
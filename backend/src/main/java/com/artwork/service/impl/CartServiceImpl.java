@@ -3,69 +3,57 @@ package com.artwork.service.impl;
 import com.artwork.dto.CartItemDto;
 import com.artwork.entity.CartItem;
 import com.artwork.exception.ResourceNotFoundException;
+import com.artwork.repository.ArtworkRepository;
 import com.artwork.repository.CartItemRepository;
 import com.artwork.service.CartService;
-import com.artwork.security.JwtUtil;
+import com.artwork.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
     private final CartItemRepository cartItemRepository;
+    private final ArtworkRepository artworkRepository;
     private final ModelMapper modelMapper;
-    private final JwtUtil jwtUtil;
+    private final AuthContext authContext;
 
     @Override
+    @Transactional
     public CartItemDto addToCart(CartItemDto cartItemDto, String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
-        
-        
-        Optional<CartItem> existingItem = cartItemRepository.findAll().stream()
-                .filter(item -> item.getUserId().equals(userId) && item.getArtworkId().equals(cartItemDto.getArtworkId()))
-                .findFirst();
-        
-        if (existingItem.isPresent()) {
-            
-            CartItem item = existingItem.get();
-            item.setQuantity(item.getQuantity() + cartItemDto.getQuantity());
-            cartItemRepository.save(item);
-            return modelMapper.map(item, CartItemDto.class);
-        }
+        String userId = authContext.resolveUserId(token);
+        int quantity = cartItemDto.getQuantity() != null ? cartItemDto.getQuantity() : 1;
         
+        cartItemRepository.upsertQuantity(UUID.randomUUID().toString(), userId, cartItemDto.getArtworkId(), quantity);
         
-        CartItem cartItem = CartItem.builder()
-                .userId(userId)
-                .artworkId(cartItemDto.getArtworkId())
-                .quantity(cartItemDto.getQuantity())
-                .build();
-        cartItemRepository.save(cartItem);
-        return modelMapper.map(cartItem, CartItemDto.class);
+        CartItem item = cartItemRepository.findByUserIdAndArtworkIdWithArtwork(userId, cartItemDto.getArtworkId())
+                .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
+        return modelMapper.map(item, CartItemDto.class);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CartItemDto> getCart(String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
-        List<CartItem> items = cartItemRepository.findAll().stream()
-                .filter(item -> item.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        String userId = authContext.resolveUserId(token);
+        List<CartItem> items = cartItemRepository.findByUserIdWithArtwork(userId);
         return items.stream().map(item -> modelMapper.map(item, CartItemDto.class)).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getCartSummary(String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
-        List<CartItem> items = cartItemRepository.findAll().stream()
-                .filter(item -> item.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        String userId = authContext.resolveUserId(token);
+        List<CartItem> items = cartItemRepository.findByUserIdWithArtwork(userId);
         List<CartItemDto> itemDtos = items.stream().map(item -> modelMapper.map(item, CartItemDto.class)).collect(Collectors.toList());
         int totalItems = items.stream().mapToInt(CartItem::getQuantity).sum();
         double totalAmount = items.stream().mapToDouble(item -> item.getQuantity() * (item.getArtwork() != null ? item.getArtwork().getPrice() : 0)).sum();
@@ -77,8 +65,9 @@ public class CartServiceImpl implements CartService {
     }
     
     @Override
+    @Transactional
     public CartItemDto updateCartItemQuantity(String itemId, int quantity, String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
+        String userId = authContext.resolveUserId(token);
         
         CartItem cartItem = cartItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
@@ -100,7 +89,7 @@ public class CartServiceImpl implements CartService {
     
     @Override
     public void removeCartItem(String itemId, String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
+        String userId = authContext.resolveUserId(token);
         
         CartItem cartItem = cartItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
@@ -116,12 +105,28 @@ public class CartServiceImpl implements CartService {
     @Override
     @Transactional
     public void clearCart(String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
+        String userId = authContext.resolveUserId(token);
         
-        List<CartItem> userItems = cartItemRepository.findAll().stream()
-                .filter(item -> item.getUserId().equals(userId))
-                .collect(Collectors.toList());
-                
-        cartItemRepository.deleteAll(userItems);
+        cartItemRepository.deleteByUserId(userId);
+    }
+    
+    @Override
+    @Transactional
+    public int mergeItems(Map<String, Integer> quantities, String token) {
+        String userId = authContext.resolveUserId(token);
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        
+        // A guest cart can outlive its artworks; one deleted or sold item must not fail the whole merge.
+        Set<String> available = new HashSet<>(artworkRepository.findAvailableIds(quantities.keySet()));
+        int merged = 0;
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            if (available.contains(entry.getKey()) && entry.getValue() != null && entry.getValue() > 0) {
+                cartItemRepository.upsertQuantity(UUID.randomUUID().toString(), userId, entry.getKey(), entry.getValue());
+                merged++;
+            }
+        }
+        return merged;
     }
 }
@@ -0,0 +1,174 @@
+package com.artwork.service.impl;
+
+import com.artwork.entity.Order;
+import com.artwork.entity.OrderStatus;
+import com.artwork.exception.ArtworkUnavailableException;
+import com.artwork.repository.ArtworkRepository;
+import com.artwork.repository.OrderRepository;
+import com.artwork.service.InventoryReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+@Service
+@Slf4j
+public class InventoryReservationServiceImpl implements InventoryReservationService {
+
+    private static final String EXPIRED_HOLD_REASON = "Payment was not completed before the reservation expired";
+    private static final long MAX_SWEEP_BACKOFF_MINUTES = 60;
+
+    private final ArtworkRepository artworkRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate sweepTransaction;
+    private final long holdMinutes;
+    private final Set<String> timedPaymentMethods;
+    private final int sweepBatchSize;
+    private final Map<String, SweepFailure> sweepFailures = new ConcurrentHashMap<>();
+
+    public InventoryReservationServiceImpl(ArtworkRepository artworkRepository,
+                                           OrderRepository orderRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${inventory.reservation.hold-minutes:15}") long holdMinutes,
+                                           @Value("${inventory.reservation.timed-payment-methods:RAZORPAY}") Set<String> timedPaymentMethods,
+                                           @Value("${inventory.reservation.sweep-batch-size:100}") int sweepBatchSize) {
+        this.artworkRepository = artworkRepository;
+        this.orderRepository = orderRepository;
+        this.sweepTransaction = new TransactionTemplate(transactionManager);
+        this.holdMinutes = holdMinutes;
+        this.timedPaymentMethods = timedPaymentMethods;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(String orderId, Collection<String> artworkIds, String paymentMethod) {
+        LocalDateTime until = paymentMethod != null && timedPaymentMethods.contains(paymentMethod.toUpperCase())
+                ? LocalDateTime.now().plusMinutes(holdMinutes)
+                : null;
+
+        // A fixed order keeps two checkouts sharing several artworks from deadlocking on row updates.
+        for (String artworkId : new TreeSet<>(artworkIds)) {
+            if (artworkRepository.reserveIfAvailable(artworkId, orderId, until) == 0) {
+                log.info("Checkout for order {} lost the race for artwork {}", orderId, artworkId);
+                throw new ArtworkUnavailableException(artworkId);
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean confirm(String orderId) {
+        int confirmed = artworkRepository.confirmReservation(orderId);
+        // Read after the update, which waits out a sweep holding the same rows, so a cancellation it committed is seen.
+        OrderStatus status = orderRepository.findStatusById(orderId).orElse(null);
+        if (confirmed > 0 && status != OrderStatus.CANCELLED) {
+            return true;
+        }
+
+        if (confirmed > 0) {
+            release(orderId);
+        }
+        log.warn("Order {} no longer holds its artworks at confirmation (status {})", orderId, status);
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public void release(String orderId) {
+        int released = artworkRepository.releaseReservation(orderId);
+        if (released > 0) {
+            log.info("Released {} artwork reservations for order {}", released, orderId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void onOrderStatusChanged(String orderId, OrderStatus status) {
+        if (status == OrderStatus.CANCELLED) {
+            release(orderId);
+        } else if (status != OrderStatus.PENDING) {
+            confirm(orderId);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:60000}",
+               initialDelayString = "${inventory.reservation.sweep-interval-ms:60000}")
+    public int releaseExpiredReservations() {
+        int expired = 0;
+        String afterOrderId = "";
+        Set<String> stillFailing = new HashSet<>();
+        List<String> orderIds;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            orderIds = artworkRepository.findOrderIdsWithExpiredReservations(
+                    now, afterOrderId, PageRequest.of(0, sweepBatchSize));
+            for (String orderId : orderIds) {
+                afterOrderId = orderId;
+                SweepFailure failure = sweepFailures.get(orderId);
+                if (failure != null && failure.retryAt().isAfter(now)) {
+                    stillFailing.add(orderId);
+                    continue;
+                }
+                try {
+                    sweepTransaction.executeWithoutResult(status -> expireHold(orderId));
+                    sweepFailures.remove(orderId);
+                    expired++;
+                } catch (RuntimeException e) {
+                    recordSweepFailure(orderId, failure, now, e);
+                    stillFailing.add(orderId);
+                }
+            }
+        } while (orderIds.size() == sweepBatchSize);
+        // Orders that were released or confirmed elsewhere no longer show up in the pass.
+        sweepFailures.keySet().retainAll(stillFailing);
+
+        if (expired > 0) {
+            log.info("Expired artwork reservations for {} unpaid orders", expired);
+        }
+        return expired;
+    }
+
+    private void recordSweepFailure(String orderId, SweepFailure previous, LocalDateTime now, RuntimeException e) {
+        int attempts = previous != null ? previous.attempts() + 1 : 1;
+        long backoffMinutes = Math.min(1L << Math.min(attempts - 1, 6), MAX_SWEEP_BACKOFF_MINUTES);
+        sweepFailures.put(orderId, new SweepFailure(attempts, now.plusMinutes(backoffMinutes)));
+        log.error("Failed to expire reservation for order {} (attempt {}), retrying in {} min",
+                orderId, attempts, backoffMinutes, e);
+    }
+
+    private void expireHold(String orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderStatus status = orderRepository.findById(orderId).map(Order::getStatus).orElse(null);
+
+        if (status != null && status != OrderStatus.PENDING && status != OrderStatus.CANCELLED) {
+            artworkRepository.confirmReservation(orderId);
+            return;
+        }
+
+        // Races with confirm() on the artwork rows: whichever update runs first wins.
+        if (artworkRepository.releaseExpiredReservation(orderId, now) > 0 && status == OrderStatus.PENDING) {
+            orderRepository.cancelIfPending(orderId, EXPIRED_HOLD_REASON, now);
+        }
+    }
+
+
+    private record SweepFailure(int attempts, LocalDateTime retryAt) {}
+}
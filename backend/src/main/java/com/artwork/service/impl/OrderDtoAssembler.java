@@ -0,0 +1,144 @@
+package com.artwork.service.impl;
+
+import com.artwork.dto.ArtworkDto;
+import com.artwork.dto.OrderDto;
+import com.artwork.dto.OrderItemDto;
+import com.artwork.entity.Artwork;
+import com.artwork.entity.Order;
+import com.artwork.entity.OrderItem;
+import com.artwork.entity.UserSummary;
+import com.artwork.repository.ArtworkRepository;
+import com.artwork.repository.OrderItemRepository;
+import com.artwork.repository.UserSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+@Component
+@RequiredArgsConstructor
+public class OrderDtoAssembler {
+
+    private final OrderItemRepository orderItemRepository;
+    private final UserSummaryRepository userSummaryRepository;
+    private final ArtworkRepository artworkRepository;
+    private final ModelMapper modelMapper;
+
+
+    public OrderDto toDto(Order order) {
+        return toDtos(Collections.singletonList(order)).get(0);
+    }
+
+    public Page<OrderDto> toDtos(Page<Order> orders) {
+        return new PageImpl<>(toDtos(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+    }
+
+    public List<OrderDto> toDtos(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return assemble(orders, orderItemRepository.findByOrderIdIn(orderIds(orders)));
+    }
+
+    
+    public Page<OrderDto> toArtistDtos(Page<Order> orders, String artistId) {
+        return new PageImpl<>(toArtistDtos(orders.getContent(), artistId), orders.getPageable(), orders.getTotalElements());
+    }
+
+    public List<OrderDto> toArtistDtos(List<Order> orders, String artistId) {
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<OrderDto> dtos = assemble(orders, orderItemRepository.findByOrderIdInAndArtistId(orderIds(orders), artistId));
+        for (OrderDto dto : dtos) {
+            dto.setTotalAmount(dto.getItems().stream()
+                    .mapToDouble(item -> item.getPrice() * item.getQuantity())
+                    .sum());
+        }
+        return dtos;
+    }
+
+    private static Set<String> orderIds(List<Order> orders) {
+        return orders.stream().map(Order::getId).collect(Collectors.toSet());
+    }
+
+    private List<OrderDto> assemble(List<Order> orders, List<OrderItem> items) {
+        Set<String> customerIds = orders.stream().map(Order::getCustomerId).collect(Collectors.toSet());
+
+        Map<String, List<OrderItem>> itemsByOrder = items.stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+
+        Map<String, UserSummary> customers = userSummaryRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(UserSummary::getId, user -> user));
+
+        Set<String> artworkIds = itemsByOrder.values().stream()
+                .flatMap(List::stream)
+                .map(OrderItem::getArtworkId)
+                .collect(Collectors.toSet());
+        Map<String, ArtworkDto> artworks = new HashMap<>();
+        if (!artworkIds.isEmpty()) {
+            for (Artwork artwork : artworkRepository.findAllWithArtistByIdIn(artworkIds)) {
+                artworks.put(artwork.getId(), modelMapper.map(artwork, ArtworkDto.class));
+            }
+        }
+
+        List<OrderDto> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            dtos.add(assembleOrder(order,
+                    customers.get(order.getCustomerId()),
+                    itemsByOrder.getOrDefault(order.getId(), Collections.emptyList()),
+                    artworks));
+        }
+        return dtos;
+    }
+
+    private static OrderDto assembleOrder(Order order, UserSummary customer, List<OrderItem> items,
+                                          Map<String, ArtworkDto> artworks) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setId(order.getId());
+        orderDto.setCustomerId(order.getCustomerId());
+        orderDto.setTotalAmount(order.getTotalAmount());
+        orderDto.setStatus(order.getStatus().name());
+        orderDto.setShippingAddress(order.getShippingAddress());
+        orderDto.setPaymentMethod(order.getPaymentMethod());
+        orderDto.setCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt().toString() : null);
+        orderDto.setUpdatedAt(order.getUpdatedAt() != null ? order.getUpdatedAt().toString() : null);
+
+        if (customer != null) {
+            OrderDto.CustomerInfo customerInfo = new OrderDto.CustomerInfo();
+            customerInfo.setFirstName(customer.getFirstName());
+            customerInfo.setLastName(customer.getLastName());
+            customerInfo.setEmail(customer.getEmail());
+            orderDto.setCustomer(customerInfo);
+        }
+
+        List<OrderItemDto> itemDtos = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            OrderItemDto dto = new OrderItemDto();
+            dto.setId(item.getId());
+            dto.setArtworkId(item.getArtworkId());
+            dto.setPrice(item.getPrice());
+            dto.setQuantity(item.getQuantity());
+
+            ArtworkDto artwork = artworks.get(item.getArtworkId());
+            if (artwork != null) {
+                dto.setTitle(artwork.getTitle());
+                dto.setArtwork(artwork);
+            }
+            itemDtos.add(dto);
+        }
+        orderDto.setItems(itemDtos);
+
+        return orderDto;
+    }
+}
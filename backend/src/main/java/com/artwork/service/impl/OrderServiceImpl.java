@@ -1,9 +1,9 @@
 package com.artwork.service.impl;
 
 import com.artwork.dto.*;
+import com.artwork.dto.websocket.NotificationDto;
 import com.artwork.entity.Order;
 import com.artwork.entity.OrderItem;
-import com.artwork.entity.CartItem;
 import com.artwork.entity.Artwork;
 import com.artwork.repository.OrderRepository;
 import com.artwork.repository.OrderItemRepository;
@@ -11,11 +11,13 @@ import com.artwork.repository.CartItemRepository;
 import com.artwork.repository.ArtworkRepository;
 import com.artwork.repository.UserRepository;
 import com.artwork.entity.User;
-import com.artwork.util.JwtUtil;
+import com.artwork.exception.ResourceNotFoundException;
+import com.artwork.event.outbox.OutboxPublisher;
+import com.artwork.security.AuthContext;
+import com.artwork.service.InventoryReservationService;
 import com.artwork.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -33,8 +35,10 @@ public class OrderServiceImpl implements OrderService {
     private final CartItemRepository cartItemRepository;
     private final ArtworkRepository artworkRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
-    private final JwtUtil jwtUtil;
+    private final OrderDtoAssembler orderDtoAssembler;
+    private final AuthContext authContext;
+    private final InventoryReservationService inventoryReservationService;
+    private final OutboxPublisher outboxPublisher;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     
     @org.springframework.beans.factory.annotation.Value("${frontend.base-url}")
@@ -48,15 +52,35 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public OrderDto placeOrder(OrderRequestDto orderRequestDto, String token) {
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
+        List<OrderItemRequestDto> requestedItems = orderRequestDto.getItems();
+        
+        Set<String> artworkIds = requestedItems.stream()
+                .map(OrderItemRequestDto::getArtworkId)
+                .collect(Collectors.toSet());
+        Map<String, Artwork> artworks = artworkRepository.findAllById(artworkIds).stream()
+                .collect(Collectors.toMap(Artwork::getId, artwork -> artwork));
+        for (String artworkId : artworkIds) {
+            if (!artworks.containsKey(artworkId)) {
+                throw new ResourceNotFoundException("Artwork not found with id: " + artworkId);
+            }
+        }
+        
+        Set<String> userIds = new HashSet<>();
+        userIds.add(userId);
+        artworks.values().forEach(artwork -> userIds.add(artwork.getArtistId()));
+        Map<String, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        
         double totalAmount = 0;
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (OrderItemRequestDto itemDto : orderRequestDto.getItems()) {
-            Artwork artwork = artworkRepository.findById(itemDto.getArtworkId()).orElseThrow();
+        List<OrderItem> orderItems = new ArrayList<>(requestedItems.size());
+        for (OrderItemRequestDto itemDto : requestedItems) {
+            Artwork artwork = artworks.get(itemDto.getArtworkId());
             double price = artwork.getPrice();
             totalAmount += price * itemDto.getQuantity();
             OrderItem orderItem = OrderItem.builder()
                     .artworkId(itemDto.getArtworkId())
+                    .artistId(artwork.getArtistId())
                     .quantity(itemDto.getQuantity())
                     .price(price)
                     .build();
@@ -72,63 +96,63 @@ public class OrderServiceImpl implements OrderService {
                 .updatedAt(LocalDateTime.now())
                 .build();
         orderRepository.save(order);
-        for (OrderItem orderItem : orderItems) {
-            orderItem.setOrderId(order.getId());
-            orderItemRepository.save(orderItem);
-        }
+        inventoryReservationService.reserve(order.getId(), artworkIds, order.getPaymentMethod());
+        orderItems.forEach(orderItem -> orderItem.setOrderId(order.getId()));
+        orderItemRepository.saveAll(orderItems);
         
-        List<CartItem> cartItems = cartItemRepository.findAll().stream()
-                .filter(item -> item.getUserId().equals(userId))
-                .collect(Collectors.toList());
-        cartItemRepository.deleteAll(cartItems);
+        cartItemRepository.deleteByUserId(userId);
         
         
-        userRepository.findById(userId).ifPresent(user -> {
+        User customer = users.get(userId);
+        if (customer != null) {
             Map<String, Object> variables = new HashMap<>();
-            variables.put("name", user.getFirstName());
+            variables.put("name", customer.getFirstName());
             variables.put("orderId", order.getId());
             variables.put("amount", String.format("%.2f", order.getTotalAmount()));
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
-                user.getEmail(),
+                "order",
+                order.getId(),
+                customer.getEmail(),
                 "Order Confirmation - " + order.getId(),
                 "email/order-confirmation",
                 variables
             ));
-        });
+        }
         
         
-        notifyArtistsAboutOrder(order, orderItems);
+        notifyArtistsAboutOrder(order, orderItems, artworks, users);
         
         
-        notifyAdminAboutOrder(order, userId);
+        notifyAdminAboutOrder(order, orderItems, customer);
+        
+        String customerName = customer != null ? customer.getFirstName() + " " + customer.getLastName() : "Customer";
+        outboxPublisher.publish("order", order.getId(), OutboxPublisher.ADMIN_NOTIFICATION,
+                NotificationDto.newOrder(order.getId(), customerName, order.getTotalAmount()));
+        outboxPublisher.publish("order", order.getId(), OutboxPublisher.DASHBOARD_REFRESH, null);
 
-        return convertToDto(order);
+        return orderDtoAssembler.toDto(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderDto> getOrders(String token) {
-        String userId = jwtUtil.extractUserId(token);
-        List<Order> orders = orderRepository.findByCustomerId(userId);
-        return orders.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        String userId = authContext.resolveUserId(token);
+        return orderDtoAssembler.toDtos(orderRepository.findByCustomerId(userId));
     }
     
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getOrdersPaged(String token, Pageable pageable) {
-        String userId = jwtUtil.extractUserId(token);
-        Page<Order> orderPage = orderRepository.findByCustomerId(userId, pageable);
-        return orderPage.map(this::convertToDto);
+        String userId = authContext.resolveUserId(token);
+        return orderDtoAssembler.toDtos(orderRepository.findByCustomerId(userId, pageable));
     }
     
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrderById(String id, String token) {
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
         Order order = orderRepository.findById(id).orElseThrow(() -> 
             new RuntimeException("Order not found with id: " + id)
         );
@@ -139,135 +163,93 @@ public class OrderServiceImpl implements OrderService {
             throw new RuntimeException("You don't have permission to access this order");
         }
         
-        return convertToDto(order);
-    }
-    
-    private OrderDto convertToDto(Order order) {
-        OrderDto orderDto = new OrderDto();
-        orderDto.setId(order.getId());
-        orderDto.setCustomerId(order.getCustomerId());
-        orderDto.setTotalAmount(order.getTotalAmount());
-        orderDto.setStatus(order.getStatus().name());
-        orderDto.setShippingAddress(order.getShippingAddress());
-        orderDto.setPaymentMethod(order.getPaymentMethod());
-        orderDto.setCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt().toString() : null);
-        orderDto.setUpdatedAt(order.getUpdatedAt() != null ? order.getUpdatedAt().toString() : null);
-        
-        
-        userRepository.findById(order.getCustomerId()).ifPresent(user -> {
-            OrderDto.CustomerInfo customerInfo = new OrderDto.CustomerInfo();
-            customerInfo.setFirstName(user.getFirstName());
-            customerInfo.setLastName(user.getLastName());
-            customerInfo.setEmail(user.getEmail());
-            orderDto.setCustomer(customerInfo);
-        });
-        
-        
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-        List<OrderItemDto> itemDtos = orderItems.stream()
-                .map(this::convertItemToDto)
-                .collect(Collectors.toList());
-        orderDto.setItems(itemDtos);
-        
-        return orderDto;
-    }
-    
-    private OrderItemDto convertItemToDto(OrderItem item) {
-        OrderItemDto dto = new OrderItemDto();
-        dto.setId(item.getId());
-        dto.setArtworkId(item.getArtworkId());
-        dto.setPrice(item.getPrice());
-        dto.setQuantity(item.getQuantity());
-        
-        
-        artworkRepository.findById(item.getArtworkId()).ifPresent(artwork -> {
-            dto.setTitle(artwork.getTitle());
-            dto.setArtwork(modelMapper.map(artwork, ArtworkDto.class));
-        });
-        
-        return dto;
+        return orderDtoAssembler.toDto(order);
     }
     
-    private void notifyArtistsAboutOrder(Order order, List<OrderItem> orderItems) {
+    private void notifyArtistsAboutOrder(Order order, List<OrderItem> orderItems,
+                                         Map<String, Artwork> artworks, Map<String, User> users) {
         
         Map<String, List<OrderItem>> itemsByArtist = new HashMap<>();
         
         for (OrderItem item : orderItems) {
-            artworkRepository.findById(item.getArtworkId()).ifPresent(artwork -> {
-                String artistId = artwork.getArtistId();
-                itemsByArtist.computeIfAbsent(artistId, k -> new ArrayList<>()).add(item);
-            });
+            String artistId = artworks.get(item.getArtworkId()).getArtistId();
+            itemsByArtist.computeIfAbsent(artistId, k -> new ArrayList<>()).add(item);
         }
         
         
         itemsByArtist.forEach((artistId, items) -> {
-            userRepository.findById(artistId).ifPresent(artist -> {
-                double artistTotal = items.stream()
-                    .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                    .sum();
-                
-                
-                double artistEarnings = artistTotal * 0.85;
-                
-                List<Map<String, Object>> itemDetails = new ArrayList<>();
-                for (OrderItem item : items) {
-                    artworkRepository.findById(item.getArtworkId()).ifPresent(artwork -> {
-                        Map<String, Object> itemMap = new HashMap<>();
-                        itemMap.put("title", artwork.getTitle());
-                        itemMap.put("quantity", item.getQuantity());
-                        itemMap.put("price", String.format("%.2f", item.getPrice()));
-                        itemDetails.add(itemMap);
-                    });
-                }
-                
-                Map<String, Object> variables = new HashMap<>();
-                variables.put("artistName", artist.getFirstName());
-                variables.put("orderId", order.getId());
-                variables.put("orderDate", java.time.LocalDateTime.now().toLocalDate().toString());
-                variables.put("customerName", "Customer"); 
-                variables.put("items", itemDetails);
-                variables.put("artistEarnings", String.format("%.2f", artistEarnings));
-                variables.put("orderUrl", frontendBaseUrl + "/dashboard/artist/orders/" + order.getId());
-                
-                eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
-                    this,
-                    artist.getEmail(),
-                    "New Order Received - MakeMyCrafts",
-                    "email/artist-new-order",
-                    variables
-                ));
-                
-                log.info("Artist notification sent to {} for order {}", artist.getEmail(), order.getId());
-            });
-        });
-    }
-    
-    private void notifyAdminAboutOrder(Order order, String customerId) {
-        userRepository.findById(customerId).ifPresent(customer -> {
+            User artist = users.get(artistId);
+            if (artist == null) {
+                return;
+            }
+            double artistTotal = items.stream()
+                .mapToDouble(item -> item.getPrice() * item.getQuantity())
+                .sum();
+            
+            
+            double artistEarnings = artistTotal * 0.85;
+            
+            List<Map<String, Object>> itemDetails = new ArrayList<>();
+            for (OrderItem item : items) {
+                Map<String, Object> itemMap = new HashMap<>();
+                itemMap.put("title", artworks.get(item.getArtworkId()).getTitle());
+                itemMap.put("quantity", item.getQuantity());
+                itemMap.put("price", String.format("%.2f", item.getPrice()));
+                itemDetails.add(itemMap);
+            }
+            
             Map<String, Object> variables = new HashMap<>();
+            variables.put("artistName", artist.getFirstName());
             variables.put("orderId", order.getId());
-            variables.put("orderAmount", String.format("%.2f", order.getTotalAmount()));
-            variables.put("itemCount", orderItemRepository.findByOrderId(order.getId()).size());
-            variables.put("customerName", customer.getFirstName() + " " + customer.getLastName());
-            variables.put("customerEmail", customer.getEmail());
             variables.put("orderDate", java.time.LocalDateTime.now().toLocalDate().toString());
-            variables.put("paymentMethod", order.getPaymentMethod());
-            variables.put("isHighValue", order.getTotalAmount() >= HIGH_VALUE_THRESHOLD);
-            variables.put("orderUrl", frontendBaseUrl + "/dashboard/admin/orders/" + order.getId());
-            
-            String subject = order.getTotalAmount() >= HIGH_VALUE_THRESHOLD 
-                ? "🚨 High Value Order Alert - " + order.getId()
-                : "New Order Notification - " + order.getId();
+            variables.put("customerName", "Customer"); 
+            variables.put("items", itemDetails);
+            variables.put("artistEarnings", String.format("%.2f", artistEarnings));
+            variables.put("orderUrl", frontendBaseUrl + "/dashboard/artist/orders/" + order.getId());
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
-                adminEmail,
-                subject,
-                "email/admin-new-order",
+                "order",
+                order.getId(),
+                artist.getEmail(),
+                "New Order Received - MakeMyCrafts",
+                "email/artist-new-order",
                 variables
             ));
             
-            log.info("Admin notification sent for order {}", order.getId());
+            log.info("Artist notification sent to {} for order {}", artist.getEmail(), order.getId());
         });
     }
+    
+    private void notifyAdminAboutOrder(Order order, List<OrderItem> orderItems, User customer) {
+        if (customer == null) {
+            return;
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("orderId", order.getId());
+        variables.put("orderAmount", String.format("%.2f", order.getTotalAmount()));
+        variables.put("itemCount", orderItems.size());
+        variables.put("customerName", customer.getFirstName() + " " + customer.getLastName());
+        variables.put("customerEmail", customer.getEmail());
+        variables.put("orderDate", java.time.LocalDateTime.now().toLocalDate().toString());
+        variables.put("paymentMethod", order.getPaymentMethod());
+        variables.put("isHighValue", order.getTotalAmount() >= HIGH_VALUE_THRESHOLD);
+        variables.put("orderUrl", frontendBaseUrl + "/dashboard/admin/orders/" + order.getId());
+        
+        String subject = order.getTotalAmount() >= HIGH_VALUE_THRESHOLD 
+            ? "🚨 High Value Order Alert - " + order.getId()
+            : "New Order Notification - " + order.getId();
+        
+        eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
+            this,
+            "order",
+            order.getId(),
+            adminEmail,
+            subject,
+            "email/admin-new-order",
+            variables
+        ));
+        
+        log.info("Admin notification sent for order {}", order.getId());
+    }
 }
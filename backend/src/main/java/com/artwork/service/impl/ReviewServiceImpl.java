@@ -5,7 +5,7 @@ import com.artwork.dto.ReviewEligibilityDto;
 import com.artwork.dto.ArtworkRatingSummaryDto;
 import com.artwork.entity.*;
 import com.artwork.repository.*;
-import com.artwork.security.JwtUtil;
+import com.artwork.security.AuthContext;
 import com.artwork.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +31,7 @@ public class ReviewServiceImpl implements ReviewService {
     private final OrderItemRepository orderItemRepository;
     private final ArtworkRepository artworkRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final AuthContext authContext;
     
     @Value("${review.window.days:7}")
     private int reviewWindowDays;
@@ -288,7 +288,7 @@ public class ReviewServiceImpl implements ReviewService {
         if (token == null || token.isEmpty()) {
             throw new IllegalArgumentException("Authentication required");
         }
-        return jwtUtil.getClaims(token).getSubject();
+        return authContext.resolveUserId(token);
     }
     
     private String getFirstImage(Artwork artwork) {
@@ -11,7 +11,7 @@ import com.artwork.repository.SocialLinksRepository;
 import com.artwork.repository.UserRepository;
 import com.artwork.service.CloudStorageService;
 import com.artwork.service.UserService;
-import com.artwork.util.JwtUtil;
+import com.artwork.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,9 +33,9 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final SocialLinksRepository socialLinksRepository;
-    private final JwtUtil jwtUtil;
+    private final AuthContext authContext;
     private final CloudStorageService cloudStorageService;
-    private final org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder passwordEncoder;
+    private final com.artwork.security.PasswordHashingService passwordHashingService;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     
     @Value("${file.upload-dir:./uploads}")
@@ -51,7 +51,7 @@ public class UserServiceImpl implements UserService {
     @Cacheable(value = "users", key = "#token")
     public UserDto getUserProfile(String token) {
         log.debug("Fetching user profile from database");
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
@@ -61,7 +61,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @CacheEvict(value = "users", key = "#token")
     public UserDto updateUserProfile(UserUpdateRequest updateRequest, String token) {
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
@@ -108,7 +108,7 @@ public class UserServiceImpl implements UserService {
     @CacheEvict(value = "users", key = "#token")
     public String updateProfileImage(MultipartFile image, String token) {
         try {
-            String userId = jwtUtil.extractUserId(token);
+            String userId = authContext.resolveUserId(token);
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found"));
             
@@ -170,12 +170,12 @@ public class UserServiceImpl implements UserService {
         log.debug("Processing password update request");
         
         
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         
-        String encodedPassword = passwordEncoder.encode(newPassword);
+        String encodedPassword = passwordHashingService.encode(newPassword);
         user.setPassword(encodedPassword);
         user.setUpdatedAt(java.time.LocalDateTime.now());
         
@@ -196,6 +196,8 @@ public class UserServiceImpl implements UserService {
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
+                "user",
+                user.getId(),
                 user.getEmail(),
                 "Security Alert: Password Changed - MakeMyCrafts",
                 "email/password-changed",
@@ -211,7 +213,7 @@ public class UserServiceImpl implements UserService {
     
     @Override
     public boolean hasPassword(String token) {
-        String userId = jwtUtil.extractUserId(token);
+        String userId = authContext.resolveUserId(token);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
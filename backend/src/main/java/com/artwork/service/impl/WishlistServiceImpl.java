@@ -2,25 +2,32 @@ package com.artwork.service.impl;
 
 import com.artwork.dto.WishlistItemDto;
 import com.artwork.entity.WishlistItem;
+import com.artwork.repository.ArtworkRepository;
 import com.artwork.repository.WishlistItemRepository;
 import com.artwork.service.WishlistService;
-import com.artwork.security.JwtUtil;
+import com.artwork.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class WishlistServiceImpl implements WishlistService {
     private final WishlistItemRepository wishlistItemRepository;
+    private final ArtworkRepository artworkRepository;
     private final ModelMapper modelMapper;
-    private final JwtUtil jwtUtil;
+    private final AuthContext authContext;
 
     @Override
     public WishlistItemDto addToWishlist(WishlistItemDto wishlistItemDto, String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
+        String userId = authContext.resolveUserId(token);
         WishlistItem wishlistItem = WishlistItem.builder()
                 .userId(userId)
                 .artworkId(wishlistItemDto.getArtworkId())
@@ -31,10 +38,29 @@ public class WishlistServiceImpl implements WishlistService {
 
     @Override
     public List<WishlistItemDto> getWishlist(String token) {
-        String userId = jwtUtil.getClaims(token).getSubject();
+        String userId = authContext.resolveUserId(token);
         List<WishlistItem> items = wishlistItemRepository.findAll().stream()
                 .filter(item -> item.getUserId().equals(userId))
                 .collect(Collectors.toList());
         return items.stream().map(item -> modelMapper.map(item, WishlistItemDto.class)).collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional
+    public int mergeItems(Collection<String> artworkIds, String token) {
+        String userId = authContext.resolveUserId(token);
+        if (artworkIds.isEmpty()) {
+            return 0;
+        }
+        
+        // Artworks deleted since the guest saved them would fail the insert and with it the whole merge.
+        Set<String> existing = new HashSet<>(artworkRepository.findExistingIds(artworkIds));
+        int added = 0;
+        for (String artworkId : artworkIds) {
+            if (existing.contains(artworkId)) {
+                added += wishlistItemRepository.insertIfAbsent(UUID.randomUUID().toString(), userId, artworkId);
+            }
+        }
+        return added;
+    }
 }
@@ -4,10 +4,15 @@ import com.artwork.service.admin.AdminAnalyticsService;
 import com.artwork.service.admin.AdminArtworkService;
 import com.artwork.service.admin.AdminOrderService;
 import com.artwork.service.admin.AdminUserService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Service
@@ -17,6 +22,7 @@ public class AdminAnalyticsServiceImpl implements AdminAnalyticsService {
     private final AdminUserService adminUserService;
     private final AdminArtworkService adminArtworkService;
     private final AdminOrderService adminOrderService;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public Map<String, Object> getAnalytics() {
@@ -39,4 +45,33 @@ public class AdminAnalyticsServiceImpl implements AdminAnalyticsService {
         health.put("timestamp", System.currentTimeMillis());
         return health;
     }
+
+    @Override
+    public Map<String, Object> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        stats.put("hitCount", statistics.getSecondLevelCacheHitCount());
+        stats.put("missCount", statistics.getSecondLevelCacheMissCount());
+        stats.put("putCount", statistics.getSecondLevelCachePutCount());
+        stats.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        stats.put("queryCachePutCount", statistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            Map<String, Object> regionMap = new HashMap<>();
+            regionMap.put("hitCount", regionStats.getHitCount());
+            regionMap.put("missCount", regionStats.getMissCount());
+            regionMap.put("putCount", regionStats.getPutCount());
+            regionMap.put("elementCountInMemory", regionStats.getElementCountInMemory());
+            regions.put(region, regionMap);
+        }
+        stats.put("regions", regions);
+        return stats;
+    }
 }
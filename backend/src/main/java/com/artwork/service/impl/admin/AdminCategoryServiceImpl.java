@@ -1,5 +1,6 @@
 package com.artwork.service.impl.admin;
 
+import com.artwork.cache.CachedPage;
 import com.artwork.dto.AdminCategoryDto;
 import com.artwork.dto.CategoryCreateRequest;
 import com.artwork.dto.CategoryUpdateRequest;
@@ -110,7 +111,7 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
         Pageable pageable = PageRequest.of(page, limit, Sort.by("displayOrder").ascending());
         Page<Category> categories = categoryRepository.findAllByOrderByDisplayOrderAsc(pageable);
         
-        return categories.map(this::toAdminDtoWithArtworkCount);
+        return CachedPage.of(categories.map(this::toAdminDtoWithArtworkCount));
     }
     
     @Override
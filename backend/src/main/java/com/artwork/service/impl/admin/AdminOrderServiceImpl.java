@@ -5,10 +5,13 @@ import com.artwork.dto.OrderStatsDto;
 import com.artwork.entity.Order;
 import com.artwork.entity.OrderItem;
 import com.artwork.entity.OrderStatus;
+import com.artwork.event.outbox.OutboxPublisher;
 import com.artwork.exception.ResourceNotFoundException;
 import com.artwork.repository.OrderItemRepository;
 import com.artwork.repository.OrderRepository;
+import com.artwork.service.InventoryReservationService;
 import com.artwork.service.admin.AdminOrderService;
+import com.artwork.service.impl.OrderDtoAssembler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -32,6 +35,9 @@ public class AdminOrderServiceImpl implements AdminOrderService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final OrderDtoAssembler orderDtoAssembler;
+    private final OutboxPublisher outboxPublisher;
     private final ModelMapper modelMapper;
     private final com.artwork.repository.UserRepository userRepository;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
@@ -93,6 +99,10 @@ public class AdminOrderServiceImpl implements AdminOrderService {
             
             order.setUpdatedAt(LocalDateTime.now());
             orderRepository.save(order);
+            if (orderStatus != null) {
+                inventoryReservationService.onOrderStatusChanged(orderId, orderStatus);
+                outboxPublisher.publish("order", orderId, OutboxPublisher.DASHBOARD_REFRESH, null);
+            }
             
             if (sendNotification && orderStatus != null) {
                 sendOrderStatusNotification(order, orderStatus);
@@ -127,6 +137,7 @@ public class AdminOrderServiceImpl implements AdminOrderService {
         }
         
         orderRepository.save(order);
+        inventoryReservationService.release(orderId);
         
         if (sendNotification) {
             sendOrderCancellationNotification(order, reason);
@@ -199,10 +210,7 @@ public class AdminOrderServiceImpl implements AdminOrderService {
     @Override
     @Transactional(readOnly = true)
     public List<OrderDto> getOrdersByCustomer(String userId) {
-        List<Order> orders = orderRepository.findByCustomerId(userId);
-        return orders.stream()
-            .map(order -> modelMapper.map(order, OrderDto.class))
-            .collect(Collectors.toList());
+        return orderDtoAssembler.toDtos(orderRepository.findByCustomerId(userId));
     }
     
     @Override
@@ -387,6 +395,8 @@ public class AdminOrderServiceImpl implements AdminOrderService {
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
+                "order",
+                order.getId(),
                 user.getEmail(),
                 subject,
                 template,
@@ -409,6 +419,8 @@ public class AdminOrderServiceImpl implements AdminOrderService {
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
+                "order",
+                order.getId(),
                 user.getEmail(),
                 "Order Cancelled - Order #" + order.getId(),
                 "email/order-cancelled",
@@ -439,6 +451,8 @@ public class AdminOrderServiceImpl implements AdminOrderService {
         
         eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
             this,
+            "order",
+            order.getId(),
             user.getEmail(),
             "How was your order? - MakeMyCrafts",
             "email/review-request",
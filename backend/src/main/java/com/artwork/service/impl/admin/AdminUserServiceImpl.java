@@ -7,6 +7,7 @@ import com.artwork.entity.User;
 import com.artwork.entity.UserStatus;
 import com.artwork.exception.ResourceNotFoundException;
 import com.artwork.repository.UserRepository;
+import com.artwork.security.CustomUserDetailsService;
 import com.artwork.service.admin.AdminUserService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -27,6 +28,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public Page<UserDto> getUsers(int page, int limit, String role, String status) {
@@ -66,6 +68,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             UserStatus userStatus = UserStatus.valueOf(status.toUpperCase());
             user.setStatus(userStatus);
             userRepository.save(user);
+            userDetailsService.evictPrincipal(userId);
             return modelMapper.map(user, UserDto.class);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid user status: " + status);
@@ -80,6 +83,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             Role userRole = Role.valueOf(role.toUpperCase());
             user.setRole(userRole);
             userRepository.save(user);
+            userDetailsService.evictPrincipal(userId);
             return modelMapper.map(user, UserDto.class);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid user role: " + role);
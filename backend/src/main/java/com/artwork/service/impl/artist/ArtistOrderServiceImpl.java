@@ -1,22 +1,19 @@
 package com.artwork.service.impl.artist;
 
 import com.artwork.dto.OrderDto;
-import com.artwork.dto.OrderItemDto;
 import com.artwork.entity.Order;
-import com.artwork.entity.OrderItem;
 import com.artwork.entity.OrderStatus;
 import com.artwork.exception.ResourceNotFoundException;
 import com.artwork.repository.OrderRepository;
 import com.artwork.repository.OrderItemRepository;
-import com.artwork.repository.ArtworkRepository;
+import com.artwork.service.InventoryReservationService;
 import com.artwork.service.artist.ArtistOrderService;
-import com.artwork.util.JwtUtil;
+import com.artwork.service.impl.OrderDtoAssembler;
+import com.artwork.security.AuthContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -25,7 +22,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,9 +30,9 @@ public class ArtistOrderServiceImpl implements ArtistOrderService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final ArtworkRepository artworkRepository;
-    private final ModelMapper modelMapper;
-    private final JwtUtil jwtUtil;
+    private final OrderDtoAssembler orderDtoAssembler;
+    private final InventoryReservationService inventoryReservationService;
+    private final AuthContext authContext;
     private final com.artwork.repository.UserRepository userRepository;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
     
@@ -46,60 +42,44 @@ public class ArtistOrderServiceImpl implements ArtistOrderService {
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDto> getArtistOrders(String token, int page, int size, String status) {
-        String artistId = jwtUtil.extractUserId(token);
+        String artistId = authContext.resolveUserId(token);
         
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         
+        Page<Order> artistOrders = status == null || status.isEmpty()
+            ? orderRepository.findByArtistId(artistId, pageable)
+            : orderRepository.findByArtistIdAndStatus(artistId, OrderStatus.valueOf(status.toUpperCase()), pageable);
         
-        Page<Order> allOrders = orderRepository.findAll(pageable);
-        
-        
-        List<OrderDto> artistOrders = allOrders.getContent().stream()
-            .map(order -> filterOrderForArtist(order, artistId))
-            .filter(Objects::nonNull) 
-            .filter(order -> status == null || order.getStatus().equalsIgnoreCase(status))
-            .collect(Collectors.toList());
-        
-        return new PageImpl<>(artistOrders, pageable, artistOrders.size());
+        return orderDtoAssembler.toArtistDtos(artistOrders, artistId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrderById(String orderId, String token) {
-        String artistId = jwtUtil.extractUserId(token);
+        String artistId = authContext.resolveUserId(token);
         
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
-        OrderDto filteredOrder = filterOrderForArtist(order, artistId);
-        
-        if (filteredOrder == null) {
+        if (!orderItemRepository.existsByOrderIdAndArtistId(orderId, artistId)) {
             throw new ResourceNotFoundException("No items found in this order for artist: " + artistId);
         }
         
-        return filteredOrder;
+        return filterOrderForArtist(order, artistId);
     }
 
     @Override
     @Transactional
     public OrderDto updateOrderStatus(String orderId, String status, String trackingNumber, 
                                      String notes, String token) {
-        String artistId = jwtUtil.extractUserId(token);
+        String artistId = authContext.resolveUserId(token);
         
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
         
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
-        boolean hasArtistItems = orderItems.stream()
-            .anyMatch(item -> {
-                return artworkRepository.findById(item.getArtworkId())
-                    .map(artwork -> artwork.getArtistId().equals(artistId))
-                    .orElse(false);
-            });
-        
-        if (!hasArtistItems) {
+        if (!orderItemRepository.existsByOrderIdAndArtistId(orderId, artistId)) {
             throw new IllegalArgumentException("You don't have permission to update this order");
         }
         
@@ -123,6 +103,9 @@ public class ArtistOrderServiceImpl implements ArtistOrderService {
         
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
+        if (newStatus != null) {
+            inventoryReservationService.onOrderStatusChanged(orderId, newStatus);
+        }
         
         
         if (newStatus != null) {
@@ -135,91 +118,33 @@ public class ArtistOrderServiceImpl implements ArtistOrderService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getArtistOrderStats(String token) {
-        String artistId = jwtUtil.extractUserId(token);
-        
-        
-        List<Order> allOrders = orderRepository.findAll();
-        
-        
-        List<OrderDto> artistOrders = allOrders.stream()
-            .map(order -> filterOrderForArtist(order, artistId))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-        
-        
-        double totalSales = artistOrders.stream()
-            .mapToDouble(OrderDto::getTotalAmount)
-            .sum();
-        
-        long pendingCount = artistOrders.stream()
-            .filter(order -> "PENDING".equalsIgnoreCase(order.getStatus()))
-            .count();
+        String artistId = authContext.resolveUserId(token);
         
-        long confirmedCount = artistOrders.stream()
-            .filter(order -> "CONFIRMED".equalsIgnoreCase(order.getStatus()))
-            .count();
         
-        long shippedCount = artistOrders.stream()
-            .filter(order -> "SHIPPED".equalsIgnoreCase(order.getStatus()))
-            .count();
-        
-        long deliveredCount = artistOrders.stream()
-            .filter(order -> "DELIVERED".equalsIgnoreCase(order.getStatus()))
-            .count();
+        long totalOrders = 0;
+        double totalSales = 0;
+        Map<OrderStatus, Long> countsByStatus = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.getArtistOrderStatsByStatus(artistId)) {
+            long count = ((Number) row[1]).longValue();
+            countsByStatus.put((OrderStatus) row[0], count);
+            totalOrders += count;
+            totalSales += ((Number) row[2]).doubleValue();
+        }
         
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalOrders", artistOrders.size());
+        stats.put("totalOrders", totalOrders);
         stats.put("totalSales", totalSales);
-        stats.put("pendingOrders", pendingCount);
-        stats.put("confirmedOrders", confirmedCount);
-        stats.put("shippedOrders", shippedCount);
-        stats.put("deliveredOrders", deliveredCount);
+        stats.put("pendingOrders", countsByStatus.getOrDefault(OrderStatus.PENDING, 0L));
+        stats.put("confirmedOrders", countsByStatus.getOrDefault(OrderStatus.CONFIRMED, 0L));
+        stats.put("shippedOrders", countsByStatus.getOrDefault(OrderStatus.SHIPPED, 0L));
+        stats.put("deliveredOrders", countsByStatus.getOrDefault(OrderStatus.DELIVERED, 0L));
         
         return stats;
     }
 
     
     private OrderDto filterOrderForArtist(Order order, String artistId) {
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-        
-        
-        List<OrderItem> artistItems = orderItems.stream()
-            .filter(item -> {
-                return artworkRepository.findById(item.getArtworkId())
-                    .map(artwork -> artwork.getArtistId().equals(artistId))
-                    .orElse(false);
-            })
-            .collect(Collectors.toList());
-        
-        if (artistItems.isEmpty()) {
-            return null;
-        }
-        
-        
-        OrderDto orderDto = modelMapper.map(order, OrderDto.class);
-        
-        
-        List<OrderItemDto> itemDtos = artistItems.stream()
-            .map(item -> {
-                OrderItemDto dto = modelMapper.map(item, OrderItemDto.class);
-                
-                artworkRepository.findById(item.getArtworkId()).ifPresent(artwork -> {
-                    dto.setArtwork(modelMapper.map(artwork, com.artwork.dto.ArtworkDto.class));
-                    dto.setTitle(artwork.getTitle());
-                });
-                return dto;
-            })
-            .collect(Collectors.toList());
-        
-        orderDto.setItems(itemDtos);
-        
-        
-        double artistTotal = artistItems.stream()
-            .mapToDouble(item -> item.getPrice() * item.getQuantity())
-            .sum();
-        orderDto.setTotalAmount(artistTotal);
-        
-        return orderDto;
+        return orderDtoAssembler.toArtistDtos(Collections.singletonList(order), artistId).get(0);
     }
 
     
@@ -273,6 +198,8 @@ public class ArtistOrderServiceImpl implements ArtistOrderService {
             
             eventPublisher.publishEvent(new com.artwork.event.EmailEvent(
                 this,
+                "order",
+                order.getId(),
                 user.getEmail(),
                 subject,
                 template,
@@ -0,0 +1,102 @@
+package com.artwork.service.impl.guest;
+
+import com.artwork.dto.ArtworkDto;
+import com.artwork.entity.Artwork;
+import com.artwork.repository.ArtworkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GuestArtworkSummaryCache {
+
+    private static final String SUMMARY_PREFIX = "guest:artwork:";
+    private static final long SUMMARY_TTL_SECONDS = 5 * 60;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ArtworkRepository artworkRepository;
+    private final ObjectMapper objectMapper;
+
+
+    @Transactional(readOnly = true)
+    public Map<String, ArtworkDto> getSummaries(Collection<String> artworkIds) {
+        Map<String, ArtworkDto> summaries = new HashMap<>();
+        if (artworkIds.isEmpty()) {
+            return summaries;
+        }
+
+        List<String> ids = new ArrayList<>(artworkIds);
+        List<String> keys = ids.stream().map(id -> SUMMARY_PREFIX + id).toList();
+        List<String> cached = redisTemplate.opsForValue().multiGet(keys);
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String json = cached != null ? cached.get(i) : null;
+            ArtworkDto summary = json != null ? readSummary(json) : null;
+            if (summary != null) {
+                summaries.put(ids.get(i), summary);
+            } else {
+                missing.add(ids.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, String> toCache = new HashMap<>();
+            for (Artwork artwork : artworkRepository.findAllById(missing)) {
+                ArtworkDto summary = toSummary(artwork);
+                summaries.put(artwork.getId(), summary);
+                try {
+                    toCache.put(SUMMARY_PREFIX + artwork.getId(), objectMapper.writeValueAsString(summary));
+                } catch (JsonProcessingException e) {
+                    log.warn("Could not cache artwork summary {}: {}", artwork.getId(), e.getMessage());
+                }
+            }
+            cacheSummaries(toCache);
+        }
+
+        return summaries;
+    }
+
+    private void cacheSummaries(Map<String, String> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            entries.forEach((key, value) -> stringConnection.setEx(key, SUMMARY_TTL_SECONDS, value));
+            return null;
+        });
+    }
+
+    private ArtworkDto readSummary(String json) {
+        try {
+            return objectMapper.readValue(json, ArtworkDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static ArtworkDto toSummary(Artwork artwork) {
+        ArtworkDto artworkDto = new ArtworkDto();
+        artworkDto.setId(artwork.getId());
+        artworkDto.setTitle(artwork.getTitle());
+        artworkDto.setPrice(artwork.getPrice());
+        artworkDto.setImages(artwork.getImages() != null ? new ArrayList<>(artwork.getImages()) : null);
+        return artworkDto;
+    }
+}
@@ -4,23 +4,24 @@ import com.artwork.dto.ArtworkDto;
 import com.artwork.dto.CartItemDto;
 import com.artwork.dto.GuestCartResponseDto;
 import com.artwork.dto.GuestSessionDto;
-import com.artwork.entity.Artwork;
-import com.artwork.repository.ArtworkRepository;
 import com.artwork.service.GuestCartService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -28,13 +29,43 @@ import java.util.concurrent.TimeUnit;
 public class GuestCartServiceImpl implements GuestCartService {
 
     private final StringRedisTemplate redisTemplate;
-    private final ArtworkRepository artworkRepository;
-    private final ObjectMapper objectMapper;
+    private final GuestArtworkSummaryCache artworkSummaryCache;
 
     private static final String GUEST_CART_PREFIX = "guest:cart:";
     private static final long GUEST_CART_TTL_DAYS = 7;
     private static final long GUEST_CART_TTL_SECONDS = GUEST_CART_TTL_DAYS * 24 * 60 * 60;
 
+    private static final RedisScript<List> SET_QUANTITY_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then\n" +
+            "  redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])\n" +
+            "end\n" +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3])\n" +
+            "return redis.call('HGETALL', KEYS[1])",
+            List.class);
+
+    // Carts written before the hash layout were a JSON list under the same key.
+    private static final RedisScript<Long> CONVERT_LEGACY_CART = new DefaultRedisScript<>(
+            "if redis.call('TYPE', KEYS[1]).ok ~= 'string' then return 0 end\n" +
+            "local ok, items = pcall(cjson.decode, redis.call('GET', KEYS[1]))\n" +
+            "local ttl = redis.call('TTL', KEYS[1])\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "if ok and type(items) == 'table' then\n" +
+            "  for _, item in ipairs(items) do\n" +
+            "    if type(item.artworkId) == 'string' then\n" +
+            "      redis.call('HINCRBY', KEYS[1], item.artworkId, tonumber(item.quantity) or 1)\n" +
+            "    end\n" +
+            "  end\n" +
+            "  if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl) end\n" +
+            "end\n" +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<List> CLAIM_CART = new DefaultRedisScript<>(
+            "local items = redis.call('HGETALL', KEYS[1])\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "return items",
+            List.class);
+
     @Override
     public GuestSessionDto generateGuestSession() {
         String sessionId = UUID.randomUUID().toString();
@@ -47,51 +78,42 @@ public class GuestCartServiceImpl implements GuestCartService {
 
     @Override
     public GuestCartResponseDto addToCart(String sessionId, CartItemDto cartItemDto) {
-        List<CartItemDto> cartItems = getCartItemsInternal(sessionId);
-        
-        Optional<CartItemDto> existingItem = cartItems.stream()
-                .filter(item -> item.getArtworkId().equals(cartItemDto.getArtworkId()))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            existingItem.get().setQuantity(existingItem.get().getQuantity() + cartItemDto.getQuantity());
-        } else {
-            CartItemDto newItem = new CartItemDto();
-            newItem.setId(UUID.randomUUID().toString());
-            newItem.setArtworkId(cartItemDto.getArtworkId());
-            newItem.setQuantity(cartItemDto.getQuantity());
-            newItem.setCreatedAt(LocalDateTime.now().toString());
-            cartItems.add(newItem);
-        }
+        String key = GUEST_CART_PREFIX + sessionId;
+        int quantity = cartItemDto.getQuantity() != null ? cartItemDto.getQuantity() : 1;
+
+        List<Object> results = withLegacyConversion(key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.hIncrBy(key, cartItemDto.getArtworkId(), quantity);
+            stringConnection.expire(key, GUEST_CART_TTL_SECONDS);
+            stringConnection.hGetAll(key);
+            return null;
+        }));
 
-        saveCartItems(sessionId, cartItems);
-        return buildCartResponse(sessionId, cartItems);
+        return buildCartResponse(sessionId, toQuantities(results.get(2)));
     }
 
     @Override
     public GuestCartResponseDto getCart(String sessionId) {
-        List<CartItemDto> cartItems = getCartItemsInternal(sessionId);
-        return buildCartResponse(sessionId, cartItems);
+        return buildCartResponse(sessionId, readCart(sessionId));
     }
 
     @Override
     public GuestCartResponseDto updateQuantity(String sessionId, String itemId, int quantity) {
-        List<CartItemDto> cartItems = getCartItemsInternal(sessionId);
-        
-        cartItems.stream()
-                .filter(item -> item.getId().equals(itemId))
-                .findFirst()
-                .ifPresent(item -> item.setQuantity(quantity));
+        String key = GUEST_CART_PREFIX + sessionId;
+        if (quantity <= 0) {
+            removeItem(sessionId, itemId);
+            return buildCartResponse(sessionId, readCart(sessionId));
+        }
 
-        saveCartItems(sessionId, cartItems);
-        return buildCartResponse(sessionId, cartItems);
+        List<?> flat = withLegacyConversion(key, () -> redisTemplate.execute(SET_QUANTITY_IF_PRESENT,
+                Collections.singletonList(key), itemId, String.valueOf(quantity), String.valueOf(GUEST_CART_TTL_SECONDS)));
+        return buildCartResponse(sessionId, fromFlatList(flat));
     }
 
     @Override
     public void removeItem(String sessionId, String itemId) {
-        List<CartItemDto> cartItems = getCartItemsInternal(sessionId);
-        cartItems.removeIf(item -> item.getId().equals(itemId));
-        saveCartItems(sessionId, cartItems);
+        String key = GUEST_CART_PREFIX + sessionId;
+        withLegacyConversion(key, () -> redisTemplate.opsForHash().delete(key, itemId));
     }
 
     @Override
@@ -102,7 +124,30 @@ public class GuestCartServiceImpl implements GuestCartService {
 
     @Override
     public List<CartItemDto> getCartItems(String sessionId) {
-        return getCartItemsInternal(sessionId);
+        return toCartItems(readCart(sessionId));
+    }
+
+    @Override
+    public Map<String, Integer> claimCartItems(String sessionId) {
+        String key = GUEST_CART_PREFIX + sessionId;
+        redisTemplate.execute(CONVERT_LEGACY_CART, Collections.singletonList(key));
+        List<?> flat = redisTemplate.execute(CLAIM_CART, Collections.singletonList(key));
+        return fromFlatList(flat);
+    }
+
+    @Override
+    public void restoreCartItems(String sessionId, Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        String key = GUEST_CART_PREFIX + sessionId;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            quantities.forEach((artworkId, quantity) -> stringConnection.hIncrBy(key, artworkId, quantity));
+            stringConnection.expire(key, GUEST_CART_TTL_SECONDS);
+            return null;
+        });
+        log.warn("Restored {} guest cart items for session {} after failed merge", quantities.size(), sessionId);
     }
 
     @Override
@@ -116,48 +161,84 @@ public class GuestCartServiceImpl implements GuestCartService {
         clearCart(sessionId);
     }
 
-    private List<CartItemDto> getCartItemsInternal(String sessionId) {
+    private Map<String, Integer> readCart(String sessionId) {
         String key = GUEST_CART_PREFIX + sessionId;
-        String json = redisTemplate.opsForValue().get(key);
-        
-        if (json == null || json.isEmpty()) {
-            return new ArrayList<>();
-        }
+        List<Object> results = withLegacyConversion(key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.hGetAll(key);
+            stringConnection.expire(key, GUEST_CART_TTL_SECONDS);
+            return null;
+        }));
+        return toQuantities(results.get(0));
+    }
 
+    private <T> T withLegacyConversion(String key, Supplier<T> operation) {
         try {
-            return objectMapper.readValue(json, new TypeReference<List<CartItemDto>>() {});
-        } catch (JsonProcessingException e) {
-            log.error("Error parsing guest cart from Redis: {}", e.getMessage());
-            return new ArrayList<>();
+            return operation.get();
+        } catch (DataAccessException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause == null || !cause.contains("WRONGTYPE")) {
+                throw e;
+            }
+            log.info("Converting legacy guest cart {} to hash layout", key);
+            redisTemplate.execute(CONVERT_LEGACY_CART, Collections.singletonList(key));
+            return operation.get();
         }
     }
 
-    private void saveCartItems(String sessionId, List<CartItemDto> cartItems) {
-        String key = GUEST_CART_PREFIX + sessionId;
+    private static Map<String, Integer> toQuantities(Object hash) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        if (hash instanceof Map<?, ?> map) {
+            map.forEach((field, value) -> putQuantity(quantities, field, value));
+        }
+        return quantities;
+    }
+
+    private static Map<String, Integer> fromFlatList(List<?> flat) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        if (flat != null) {
+            for (int i = 0; i + 1 < flat.size(); i += 2) {
+                putQuantity(quantities, flat.get(i), flat.get(i + 1));
+            }
+        }
+        return quantities;
+    }
+
+    private static void putQuantity(Map<String, Integer> quantities, Object field, Object value) {
         try {
-            String json = objectMapper.writeValueAsString(cartItems);
-            redisTemplate.opsForValue().set(key, json, GUEST_CART_TTL_DAYS, TimeUnit.DAYS);
-        } catch (JsonProcessingException e) {
-            log.error("Error saving guest cart to Redis: {}", e.getMessage());
+            int quantity = Integer.parseInt(String.valueOf(value));
+            if (quantity > 0) {
+                quantities.put(String.valueOf(field), quantity);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed guest cart quantity for artwork {}", field);
         }
     }
 
-    private GuestCartResponseDto buildCartResponse(String sessionId, List<CartItemDto> cartItems) {
+    private static List<CartItemDto> toCartItems(Map<String, Integer> quantities) {
+        List<CartItemDto> cartItems = new ArrayList<>(quantities.size());
+        quantities.forEach((artworkId, quantity) -> {
+            CartItemDto item = new CartItemDto();
+            item.setId(artworkId);
+            item.setArtworkId(artworkId);
+            item.setQuantity(quantity);
+            cartItems.add(item);
+        });
+        return cartItems;
+    }
+
+    private GuestCartResponseDto buildCartResponse(String sessionId, Map<String, Integer> quantities) {
+        List<CartItemDto> cartItems = toCartItems(quantities);
+        Map<String, ArtworkDto> artworks = artworkSummaryCache.getSummaries(quantities.keySet());
+
         double totalAmount = 0;
         int totalItems = 0;
 
         for (CartItemDto item : cartItems) {
-            Optional<Artwork> artworkOpt = artworkRepository.findById(item.getArtworkId());
-            if (artworkOpt.isPresent()) {
-                Artwork artwork = artworkOpt.get();
-                ArtworkDto artworkDto = new ArtworkDto();
-                artworkDto.setId(artwork.getId());
-                artworkDto.setTitle(artwork.getTitle());
-                artworkDto.setPrice(artwork.getPrice());
-                artworkDto.setImages(artwork.getImages());
+            ArtworkDto artworkDto = artworks.get(item.getArtworkId());
+            if (artworkDto != null) {
                 item.setArtwork(artworkDto);
-                
-                totalAmount += artwork.getPrice() * item.getQuantity();
+                totalAmount += (artworkDto.getPrice() != null ? artworkDto.getPrice() : 0) * item.getQuantity();
                 totalItems += item.getQuantity();
             }
         }
@@ -4,23 +4,26 @@ import com.artwork.dto.ArtworkDto;
 import com.artwork.dto.GuestSessionDto;
 import com.artwork.dto.GuestWishlistResponseDto;
 import com.artwork.dto.WishlistItemDto;
-import com.artwork.entity.Artwork;
-import com.artwork.repository.ArtworkRepository;
 import com.artwork.service.GuestWishlistService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -28,13 +31,35 @@ import java.util.concurrent.TimeUnit;
 public class GuestWishlistServiceImpl implements GuestWishlistService {
 
     private final StringRedisTemplate redisTemplate;
-    private final ArtworkRepository artworkRepository;
-    private final ObjectMapper objectMapper;
+    private final GuestArtworkSummaryCache artworkSummaryCache;
 
     private static final String GUEST_WISHLIST_PREFIX = "guest:wishlist:";
     private static final long GUEST_WISHLIST_TTL_DAYS = 30;
     private static final long GUEST_WISHLIST_TTL_SECONDS = GUEST_WISHLIST_TTL_DAYS * 24 * 60 * 60;
 
+    // Wishlists written before the set layout were a JSON list under the same key.
+    private static final RedisScript<Long> CONVERT_LEGACY_WISHLIST = new DefaultRedisScript<>(
+            "if redis.call('TYPE', KEYS[1]).ok ~= 'string' then return 0 end\n" +
+            "local ok, items = pcall(cjson.decode, redis.call('GET', KEYS[1]))\n" +
+            "local ttl = redis.call('TTL', KEYS[1])\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "if ok and type(items) == 'table' then\n" +
+            "  for _, item in ipairs(items) do\n" +
+            "    if type(item.artworkId) == 'string' then\n" +
+            "      redis.call('SADD', KEYS[1], item.artworkId)\n" +
+            "    end\n" +
+            "  end\n" +
+            "  if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl) end\n" +
+            "end\n" +
+            "return 1",
+            Long.class);
+
+    private static final RedisScript<List> CLAIM_WISHLIST = new DefaultRedisScript<>(
+            "local items = redis.call('SMEMBERS', KEYS[1])\n" +
+            "redis.call('DEL', KEYS[1])\n" +
+            "return items",
+            List.class);
+
     @Override
     public GuestSessionDto generateGuestSession() {
         String sessionId = UUID.randomUUID().toString();
@@ -47,34 +72,28 @@ public class GuestWishlistServiceImpl implements GuestWishlistService {
 
     @Override
     public GuestWishlistResponseDto addToWishlist(String sessionId, WishlistItemDto wishlistItemDto) {
-        List<WishlistItemDto> wishlistItems = getWishlistItemsInternal(sessionId);
-        
-        boolean exists = wishlistItems.stream()
-                .anyMatch(item -> item.getArtworkId().equals(wishlistItemDto.getArtworkId()));
-
-        if (!exists) {
-            WishlistItemDto newItem = new WishlistItemDto();
-            newItem.setId(UUID.randomUUID().toString());
-            newItem.setArtworkId(wishlistItemDto.getArtworkId());
-            newItem.setCreatedAt(LocalDateTime.now().toString());
-            wishlistItems.add(newItem);
-            saveWishlistItems(sessionId, wishlistItems);
-        }
+        String key = GUEST_WISHLIST_PREFIX + sessionId;
 
-        return buildWishlistResponse(sessionId, wishlistItems);
+        List<Object> results = withLegacyConversion(key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.sAdd(key, wishlistItemDto.getArtworkId());
+            stringConnection.expire(key, GUEST_WISHLIST_TTL_SECONDS);
+            stringConnection.sMembers(key);
+            return null;
+        }));
+
+        return buildWishlistResponse(sessionId, toArtworkIds(results.get(2)));
     }
 
     @Override
     public GuestWishlistResponseDto getWishlist(String sessionId) {
-        List<WishlistItemDto> wishlistItems = getWishlistItemsInternal(sessionId);
-        return buildWishlistResponse(sessionId, wishlistItems);
+        return buildWishlistResponse(sessionId, readWishlist(sessionId));
     }
 
     @Override
     public void removeItem(String sessionId, String itemId) {
-        List<WishlistItemDto> wishlistItems = getWishlistItemsInternal(sessionId);
-        wishlistItems.removeIf(item -> item.getId().equals(itemId));
-        saveWishlistItems(sessionId, wishlistItems);
+        String key = GUEST_WISHLIST_PREFIX + sessionId;
+        withLegacyConversion(key, () -> redisTemplate.opsForSet().remove(key, itemId));
     }
 
     @Override
@@ -85,7 +104,30 @@ public class GuestWishlistServiceImpl implements GuestWishlistService {
 
     @Override
     public List<WishlistItemDto> getWishlistItems(String sessionId) {
-        return getWishlistItemsInternal(sessionId);
+        return toWishlistItems(readWishlist(sessionId));
+    }
+
+    @Override
+    public Set<String> claimWishlistItems(String sessionId) {
+        String key = GUEST_WISHLIST_PREFIX + sessionId;
+        redisTemplate.execute(CONVERT_LEGACY_WISHLIST, Collections.singletonList(key));
+        List<?> members = redisTemplate.execute(CLAIM_WISHLIST, Collections.singletonList(key));
+        return toArtworkIds(members);
+    }
+
+    @Override
+    public void restoreWishlistItems(String sessionId, Set<String> artworkIds) {
+        if (artworkIds.isEmpty()) {
+            return;
+        }
+        String key = GUEST_WISHLIST_PREFIX + sessionId;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.sAdd(key, artworkIds.toArray(new String[0]));
+            stringConnection.expire(key, GUEST_WISHLIST_TTL_SECONDS);
+            return null;
+        });
+        log.warn("Restored {} guest wishlist items for session {} after failed merge", artworkIds.size(), sessionId);
     }
 
     @Override
@@ -101,46 +143,61 @@ public class GuestWishlistServiceImpl implements GuestWishlistService {
 
     @Override
     public boolean isItemInWishlist(String sessionId, String artworkId) {
-        List<WishlistItemDto> items = getWishlistItemsInternal(sessionId);
-        return items.stream().anyMatch(item -> item.getArtworkId().equals(artworkId));
+        String key = GUEST_WISHLIST_PREFIX + sessionId;
+        return Boolean.TRUE.equals(withLegacyConversion(key, () -> redisTemplate.opsForSet().isMember(key, artworkId)));
     }
 
-    private List<WishlistItemDto> getWishlistItemsInternal(String sessionId) {
+    private Set<String> readWishlist(String sessionId) {
         String key = GUEST_WISHLIST_PREFIX + sessionId;
-        String json = redisTemplate.opsForValue().get(key);
-        
-        if (json == null || json.isEmpty()) {
-            return new ArrayList<>();
-        }
+        List<Object> results = withLegacyConversion(key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.sMembers(key);
+            stringConnection.expire(key, GUEST_WISHLIST_TTL_SECONDS);
+            return null;
+        }));
+        return toArtworkIds(results.get(0));
+    }
 
+    private <T> T withLegacyConversion(String key, Supplier<T> operation) {
         try {
-            return objectMapper.readValue(json, new TypeReference<List<WishlistItemDto>>() {});
-        } catch (JsonProcessingException e) {
-            log.error("Error parsing guest wishlist from Redis: {}", e.getMessage());
-            return new ArrayList<>();
+            return operation.get();
+        } catch (DataAccessException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause == null || !cause.contains("WRONGTYPE")) {
+                throw e;
+            }
+            log.info("Converting legacy guest wishlist {} to set layout", key);
+            redisTemplate.execute(CONVERT_LEGACY_WISHLIST, Collections.singletonList(key));
+            return operation.get();
         }
     }
 
-    private void saveWishlistItems(String sessionId, List<WishlistItemDto> wishlistItems) {
-        String key = GUEST_WISHLIST_PREFIX + sessionId;
-        try {
-            String json = objectMapper.writeValueAsString(wishlistItems);
-            redisTemplate.opsForValue().set(key, json, GUEST_WISHLIST_TTL_DAYS, TimeUnit.DAYS);
-        } catch (JsonProcessingException e) {
-            log.error("Error saving guest wishlist to Redis: {}", e.getMessage());
+    private static Set<String> toArtworkIds(Object members) {
+        Set<String> artworkIds = new LinkedHashSet<>();
+        if (members instanceof Collection<?> collection) {
+            collection.forEach(member -> artworkIds.add(String.valueOf(member)));
+        }
+        return artworkIds;
+    }
+
+    private static List<WishlistItemDto> toWishlistItems(Set<String> artworkIds) {
+        List<WishlistItemDto> wishlistItems = new ArrayList<>(artworkIds.size());
+        for (String artworkId : artworkIds) {
+            WishlistItemDto item = new WishlistItemDto();
+            item.setId(artworkId);
+            item.setArtworkId(artworkId);
+            wishlistItems.add(item);
         }
+        return wishlistItems;
     }
 
-    private GuestWishlistResponseDto buildWishlistResponse(String sessionId, List<WishlistItemDto> wishlistItems) {
+    private GuestWishlistResponseDto buildWishlistResponse(String sessionId, Set<String> artworkIds) {
+        List<WishlistItemDto> wishlistItems = toWishlistItems(artworkIds);
+        Map<String, ArtworkDto> artworks = artworkSummaryCache.getSummaries(artworkIds);
+
         for (WishlistItemDto item : wishlistItems) {
-            Optional<Artwork> artworkOpt = artworkRepository.findById(item.getArtworkId());
-            if (artworkOpt.isPresent()) {
-                Artwork artwork = artworkOpt.get();
-                ArtworkDto artworkDto = new ArtworkDto();
-                artworkDto.setId(artwork.getId());
-                artworkDto.setTitle(artwork.getTitle());
-                artworkDto.setPrice(artwork.getPrice());
-                artworkDto.setImages(artwork.getImages());
+            ArtworkDto artworkDto = artworks.get(item.getArtworkId());
+            if (artworkDto != null) {
                 item.setArtwork(artworkDto);
             }
         }
@@ -0,0 +1,43 @@
+package com.artwork.service.payment;
+
+import com.artwork.entity.payment.LedgerAccountType;
+import com.artwork.entity.payment.LedgerPeriodClose;
+import com.artwork.entity.payment.Payment;
+import com.artwork.entity.payment.PaymentSplit;
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.Refund;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+
+public interface LedgerService {
+    
+    
+    void postPaymentCaptured(Payment payment);
+    
+    
+    void postSplitSettled(PaymentSplit split);
+    
+    
+    void postRefund(Refund refund);
+    
+    
+    void postPayoutCompleted(Payout payout);
+    
+    
+    void postPayoutReversed(Payout payout);
+    
+    
+    BigDecimal getAccountBalance(LedgerAccountType accountType, String accountId);
+    
+    
+    void snapshotBalances();
+    
+    
+    List<LedgerPeriodClose> closePeriod(YearMonth period);
+    
+    
+    List<LedgerPeriodClose> getPeriodTotals(YearMonth period);
+}
@@ -3,6 +3,7 @@ package com.artwork.service.payment;
 import com.artwork.entity.payment.SellerBankAccount;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 
 public interface RazorpayXPayoutService {
@@ -14,6 +15,8 @@ public interface RazorpayXPayoutService {
     String createFundAccount(String contactId, SellerBankAccount bankAccount);
     
     
+    // A failed result is a definitive rejection. Timeouts and transport errors are thrown instead, because
+    // the payout may still have been created.
     PayoutResult initiatePayout(String fundAccountId, BigDecimal amount, String currency, 
                                 String referenceId, String narration);
     
@@ -21,6 +24,10 @@ public interface RazorpayXPayoutService {
     PayoutResult getPayoutStatus(String payoutId);
     
     
+    // Empty means the gateway has no payout for this reference; throws when that cannot be determined.
+    Optional<PayoutResult> findPayoutByReference(String referenceId);
+    
+    
     record PayoutResult(
         boolean success,
         String payoutId,
@@ -0,0 +1,29 @@
+package com.artwork.service.payment;
+
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.PayoutStatus;
+import com.artwork.entity.payment.SellerBalance;
+
+import java.math.BigDecimal;
+
+
+public interface SellerBalanceService {
+    
+    
+    SellerBalance getBalance(String sellerId);
+    
+    
+    void reserveForPayout(String sellerId, BigDecimal amount);
+    
+    
+    void onPayoutStatusChanged(Payout payout, PayoutStatus previousStatus);
+    
+    
+    int settleReleasableSplits();
+    
+    
+    SellerBalance reconcileSeller(String sellerId);
+    
+    
+    void reconcileAll();
+}
@@ -0,0 +1,37 @@
+package com.artwork.service.payment;
+
+import com.artwork.entity.payment.SettlementMismatch;
+import com.artwork.entity.payment.SettlementMismatchType;
+import com.artwork.entity.payment.SettlementReconciliation;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+
+public interface SettlementReconciliationService {
+
+
+    SettlementReconciliation submit(String sourceName, Path reportFile, boolean deleteWhenDone,
+                                    LocalDateTime periodStart, LocalDateTime periodEnd);
+
+
+    SettlementReconciliation importFile(String fileName, LocalDateTime periodStart, LocalDateTime periodEnd);
+
+
+    SettlementReconciliation getReconciliation(Long reconciliationId);
+
+
+    List<SettlementReconciliation> getRecentReconciliations(int page, int size);
+
+
+    Map<SettlementMismatchType, Long> getMismatchCounts(Long reconciliationId);
+
+
+    List<SettlementMismatch> getMismatches(Long reconciliationId, SettlementMismatchType type, int page, int size);
+
+
+    void exportMismatches(Long reconciliationId, Writer writer);
+}
@@ -0,0 +1,347 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.LedgerAccountSnapshot;
+import com.artwork.entity.payment.LedgerAccountType;
+import com.artwork.entity.payment.LedgerPeriodClose;
+import com.artwork.entity.payment.LedgerTransactionType;
+import com.artwork.entity.payment.Payment;
+import com.artwork.entity.payment.PaymentSplit;
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.Refund;
+import com.artwork.repository.payment.LedgerAccountSnapshotRepository;
+import com.artwork.repository.payment.LedgerEntryRepository;
+import com.artwork.repository.payment.LedgerPeriodCloseRepository;
+import com.artwork.service.payment.LedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerServiceImpl implements LedgerService {
+    
+    private static final String PLATFORM = "platform";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long SNAPSHOT_LOCK_KEY = 0x4c454447L;
+    
+    // A transaction posted twice (webhook and client verification racing) hits the unique
+    // (transaction_id, account_type, account_id) index and is skipped line by line. All lines go in one
+    // statement so the update count says exactly how many were new.
+    private static final String INSERT_ENTRY_SQL =
+        "INSERT INTO ledger_entries (id, transaction_id, transaction_type, account_type, account_id, " +
+        "debit_amount, credit_amount, balance, currency, description, created_at) VALUES ";
+    private static final String INSERT_ENTRY_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ENTRY_CONFLICT = " ON CONFLICT (transaction_id, account_type, account_id) DO NOTHING";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerAccountSnapshotRepository snapshotRepository;
+    private final LedgerPeriodCloseRepository periodCloseRepository;
+    
+    @Value("${ledger.snapshot.lag-minutes:10}")
+    private long snapshotLagMinutes;
+    
+    @Override
+    @Transactional
+    public void postPaymentCaptured(Payment payment) {
+        Journal journal = new Journal("capture:" + payment.getId(), LedgerTransactionType.PAYMENT_CAPTURE,
+            payment.getCurrency(), "Payment captured for order " + payment.getOrderId());
+        journal.debit(LedgerAccountType.GATEWAY_CLEARING, PLATFORM, payment.getAmount());
+        journal.credit(LedgerAccountType.ORDER_CLEARING, PLATFORM, payment.getAmount());
+        post(journal);
+    }
+    
+    @Override
+    @Transactional
+    public void postSplitSettled(PaymentSplit split) {
+        BigDecimal net = split.getNetSellerAmount();
+        BigDecimal commission = split.getPlatformCommission();
+        BigDecimal taxes = split.getGrossAmount().subtract(net).subtract(commission);
+        
+        Journal journal = new Journal("split:" + split.getId(), LedgerTransactionType.SPLIT_SETTLEMENT,
+            "INR", "Split settled for payment " + split.getPaymentId());
+        journal.debit(LedgerAccountType.ORDER_CLEARING, PLATFORM, split.getGrossAmount());
+        journal.credit(LedgerAccountType.SELLER_PAYABLE, split.getSellerId(), net);
+        journal.credit(LedgerAccountType.PLATFORM_COMMISSION, PLATFORM, commission);
+        journal.credit(LedgerAccountType.TAX_PAYABLE, PLATFORM, taxes);
+        post(journal);
+    }
+    
+    @Override
+    @Transactional
+    public void postRefund(Refund refund) {
+        Journal journal = new Journal("refund:" + refund.getId(), LedgerTransactionType.REFUND,
+            refund.getCurrency(), "Refund for payment " + refund.getPaymentId());
+        journal.debit(LedgerAccountType.REFUNDS, PLATFORM, refund.getRefundAmount());
+        journal.credit(LedgerAccountType.GATEWAY_CLEARING, PLATFORM, refund.getRefundAmount());
+        post(journal);
+    }
+    
+    @Override
+    @Transactional
+    public void postPayoutCompleted(Payout payout) {
+        // A payout can complete again after a reversal; each completion is keyed on the reversals before it,
+        // so a replayed webhook maps to the same id while a genuine re-completion gets a new one.
+        int cycle = countPosted("payout-reversal:" + payout.getId());
+        Journal journal = new Journal(cycleId("payout:" + payout.getId(), cycle), LedgerTransactionType.PAYOUT,
+            payout.getCurrency(), "Payout to seller " + payout.getSellerId());
+        journal.debit(LedgerAccountType.SELLER_PAYABLE, payout.getSellerId(), payout.getAmount());
+        journal.credit(LedgerAccountType.GATEWAY_CLEARING, PLATFORM, payout.getAmount());
+        if (!post(journal)) {
+            log.warn("Payout {} completion {} was already in the ledger; not posting it again", payout.getId(), cycle);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void postPayoutReversed(Payout payout) {
+        int completions = countPosted("payout:" + payout.getId());
+        if (completions == 0) {
+            log.warn("Reversing payout {} with no completion in the ledger", payout.getId());
+        }
+        int cycle = Math.max(0, completions - 1);
+        Journal journal = new Journal(cycleId("payout-reversal:" + payout.getId(), cycle),
+            LedgerTransactionType.PAYOUT_REVERSAL,
+            payout.getCurrency(), "Payout reversed for seller " + payout.getSellerId());
+        journal.debit(LedgerAccountType.GATEWAY_CLEARING, PLATFORM, payout.getAmount());
+        journal.credit(LedgerAccountType.SELLER_PAYABLE, payout.getSellerId(), payout.getAmount());
+        if (!post(journal)) {
+            log.warn("Payout {} reversal {} was already in the ledger; not posting it again", payout.getId(), cycle);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getAccountBalance(LedgerAccountType accountType, String accountId) {
+        String id = accountId != null ? accountId : PLATFORM;
+        LedgerAccountSnapshot snapshot = snapshotRepository.findById(snapshotId(accountType.name(), id)).orElse(null);
+        BigDecimal base = snapshot != null ? snapshot.getBalance() : BigDecimal.ZERO;
+        LocalDateTime asOf = snapshot != null ? snapshot.getAsOf() : EPOCH;
+        return base.add(ledgerEntryRepository.getMovementSince(accountType.name(), id, asOf));
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${ledger.snapshot.interval-ms:300000}")
+    @Transactional
+    public void snapshotBalances() {
+        // Only one node may roll snapshots forward; others skip this round.
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SNAPSHOT_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        
+        // Entries newer than the lag may still belong to uncommitted transactions, so they stay in the tail.
+        LocalDateTime after = snapshotRepository.findLatestAsOf().orElse(EPOCH);
+        LocalDateTime upTo = LocalDateTime.now().minusMinutes(snapshotLagMinutes);
+        if (!upTo.isAfter(after)) {
+            return;
+        }
+        
+        List<Object[]> movements = ledgerEntryRepository.getMovementsByAccount(after, upTo);
+        if (movements.isEmpty()) {
+            return;
+        }
+        
+        List<String> ids = movements.stream()
+            .map(row -> snapshotId((String) row[0], (String) row[1]))
+            .collect(Collectors.toList());
+        Map<String, LedgerAccountSnapshot> snapshots = snapshotRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(LedgerAccountSnapshot::getId, Function.identity()));
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : movements) {
+            String accountType = (String) row[0];
+            String accountId = (String) row[1];
+            LedgerAccountSnapshot snapshot = snapshots.computeIfAbsent(snapshotId(accountType, accountId), id ->
+                LedgerAccountSnapshot.builder().id(id).accountType(accountType).accountId(accountId).build());
+            snapshot.setBalance(snapshot.getBalance().add((BigDecimal) row[2]));
+            snapshot.setEntryCount(snapshot.getEntryCount() + ((Number) row[3]).longValue());
+            snapshot.setAsOf(upTo);
+            snapshot.setUpdatedAt(now);
+        }
+        snapshotRepository.saveAll(snapshots.values());
+        log.info("Rolled {} ledger account snapshots forward to {}", snapshots.size(), upTo);
+    }
+    
+    @Scheduled(cron = "${ledger.period-close.cron:0 0 4 1 * *}")
+    @Transactional
+    public void closePreviousPeriod() {
+        closePeriod(YearMonth.now().minusMonths(1));
+    }
+    
+    @Override
+    @Transactional
+    public List<LedgerPeriodClose> closePeriod(YearMonth period) {
+        periodCloseRepository.deleteByPeriod(period.toString());
+        List<LedgerPeriodClose> totals = computePeriodTotals(period, LocalDateTime.now());
+        
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (LedgerPeriodClose total : totals) {
+            debits = debits.add(total.getDebitTotal());
+            credits = credits.add(total.getCreditTotal());
+        }
+        if (debits.compareTo(credits) != 0) {
+            log.error("Ledger period {} does not balance: debits {} vs credits {}", period, debits, credits);
+        }
+        
+        List<LedgerPeriodClose> saved = periodCloseRepository.saveAll(totals);
+        log.info("Closed ledger period {} with {} account totals (debits {}, credits {})",
+            period, saved.size(), debits, credits);
+        return saved;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<LedgerPeriodClose> getPeriodTotals(YearMonth period) {
+        List<LedgerPeriodClose> closed = periodCloseRepository.findByPeriodOrderByAccountTypeAscAccountIdAsc(period.toString());
+        return !closed.isEmpty() ? closed : computePeriodTotals(period, null);
+    }
+    
+    private List<LedgerPeriodClose> computePeriodTotals(YearMonth period, LocalDateTime closedAt) {
+        LocalDateTime start = period.atDay(1).atStartOfDay();
+        LocalDateTime end = period.plusMonths(1).atDay(1).atStartOfDay();
+        
+        List<LedgerPeriodClose> totals = new ArrayList<>();
+        for (Object[] row : ledgerEntryRepository.getTotalsByAccountInPeriod(start, end)) {
+            totals.add(LedgerPeriodClose.builder()
+                .period(period.toString())
+                .accountType((String) row[0])
+                .accountId((String) row[1])
+                .debitTotal((BigDecimal) row[2])
+                .creditTotal((BigDecimal) row[3])
+                .entryCount(((Number) row[4]).longValue())
+                .closedAt(closedAt)
+                .build());
+        }
+        return totals;
+    }
+    
+    /**
+     * @return false if the transaction was already in the ledger
+     */
+    private boolean post(Journal journal) {
+        journal.verifyBalanced();
+        if (journal.lines.isEmpty()) {
+            return true;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(journal.lines.size() * 11);
+        for (Line line : journal.lines) {
+            args.add(UUID.randomUUID().toString());
+            args.add(journal.transactionId);
+            args.add(journal.type.name());
+            args.add(line.accountType.name());
+            args.add(line.accountId);
+            args.add(line.debit);
+            args.add(line.credit);
+            args.add(line.credit.subtract(line.debit));
+            args.add(journal.currency);
+            args.add(journal.description);
+            args.add(createdAt);
+        }
+        String sql = INSERT_ENTRY_SQL + String.join(", ", Collections.nCopies(journal.lines.size(), INSERT_ENTRY_VALUES))
+            + INSERT_ENTRY_CONFLICT;
+        int inserted = jdbcTemplate.update(sql, args.toArray());
+        if (inserted == journal.lines.size()) {
+            return true;
+        }
+        if (inserted == 0) {
+            log.info("Ledger transaction {} already posted, skipping", journal.transactionId);
+            return false;
+        }
+        throw new IllegalStateException("Ledger transaction " + journal.transactionId + " collided with "
+            + (journal.lines.size() - inserted) + " of its " + journal.lines.size() + " lines already posted");
+    }
+    
+    private int countPosted(String baseId) {
+        int count = 0;
+        while (ledgerEntryRepository.existsByTransactionId(cycleId(baseId, count))) {
+            count++;
+        }
+        return count;
+    }
+    
+    // The first cycle keeps the bare id so entries posted before cycles were tracked still line up.
+    private static String cycleId(String baseId, int cycle) {
+        return cycle == 0 ? baseId : baseId + ":" + cycle;
+    }
+    
+    private static String snapshotId(String accountType, String accountId) {
+        return accountType + ":" + accountId;
+    }
+    
+    private record Line(LedgerAccountType accountType, String accountId, BigDecimal debit, BigDecimal credit) {}
+    
+    private static final class Journal {
+        
+        private final String transactionId;
+        private final LedgerTransactionType type;
+        private final String currency;
+        private final String description;
+        private final Map<String, Line> linesByAccount = new HashMap<>();
+        private final List<Line> lines = new ArrayList<>();
+        
+        Journal(String transactionId, LedgerTransactionType type, String currency, String description) {
+            this.transactionId = transactionId;
+            this.type = type;
+            this.currency = Objects.requireNonNullElse(currency, "INR");
+            this.description = description;
+        }
+        
+        void debit(LedgerAccountType accountType, String accountId, BigDecimal amount) {
+            add(accountType, accountId, amount, BigDecimal.ZERO);
+        }
+        
+        void credit(LedgerAccountType accountType, String accountId, BigDecimal amount) {
+            add(accountType, accountId, BigDecimal.ZERO, amount);
+        }
+        
+        private void add(LedgerAccountType accountType, String accountId, BigDecimal debit, BigDecimal credit) {
+            if (debit.signum() == 0 && credit.signum() == 0) {
+                return;
+            }
+            if (debit.signum() < 0 || credit.signum() < 0) {
+                BigDecimal flipped = credit.negate();
+                credit = debit.negate();
+                debit = flipped;
+            }
+            String key = snapshotId(accountType.name(), accountId);
+            if (linesByAccount.containsKey(key)) {
+                throw new IllegalStateException("Journal " + transactionId + " touches " + key + " twice");
+            }
+            Line line = new Line(accountType, accountId, debit, credit);
+            linesByAccount.put(key, line);
+            lines.add(line);
+        }
+        
+        void verifyBalanced() {
+            BigDecimal debits = lines.stream().map(Line::debit).reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal credits = lines.stream().map(Line::credit).reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (debits.compareTo(credits) != 0) {
+                throw new IllegalStateException("Unbalanced journal " + transactionId + ": debits " + debits
+                    + " vs credits " + credits);
+            }
+        }
+    }
+}
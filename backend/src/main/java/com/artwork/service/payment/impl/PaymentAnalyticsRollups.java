@@ -0,0 +1,171 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.PaymentAnalyticsRollup;
+import com.artwork.repository.payment.PaymentAnalyticsRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+
+/**
+ * Hourly and daily payment, refund and commission totals. Hours touched since the last refresh are
+ * recomputed from the source tables, so state changes late in a payment's life are picked up too.
+ */
+@Component
+@Slf4j
+public class PaymentAnalyticsRollups {
+    
+    private static final long REFRESH_LOCK_KEY = 0x50415952L;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private static final String[] DIRTY_HOUR_SQL = {
+        "SELECT DISTINCT date_trunc('hour', created_at) FROM payments WHERE updated_at > ?",
+        "SELECT DISTINCT date_trunc('hour', created_at) FROM refunds WHERE updated_at > ?",
+        "SELECT DISTINCT date_trunc('hour', created_at) FROM payment_splits WHERE updated_at > ?"
+    };
+    
+    private static final String DELETE_BUCKETS_SQL =
+        "DELETE FROM payment_analytics_rollups WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+    
+    private static final String INSERT_PAYMENT_HOUR_SQL =
+        "INSERT INTO payment_analytics_rollups (granularity, bucket_start, metric, status, method, txn_count, amount, refreshed_at) " +
+        "SELECT 'HOUR', ?, 'PAYMENT', payment_status, COALESCE(payment_method, ''), COUNT(*), COALESCE(SUM(amount), 0), ? " +
+        "FROM payments WHERE created_at >= ? AND created_at < ? GROUP BY payment_status, COALESCE(payment_method, '')";
+    
+    private static final String INSERT_REFUND_HOUR_SQL =
+        "INSERT INTO payment_analytics_rollups (granularity, bucket_start, metric, status, method, txn_count, amount, refreshed_at) " +
+        "SELECT 'HOUR', ?, 'REFUND', status, '', COUNT(*), COALESCE(SUM(refund_amount), 0), ? " +
+        "FROM refunds WHERE created_at >= ? AND created_at < ? GROUP BY status";
+    
+    private static final String INSERT_COMMISSION_HOUR_SQL =
+        "INSERT INTO payment_analytics_rollups (granularity, bucket_start, metric, status, method, txn_count, amount, refreshed_at) " +
+        "SELECT 'HOUR', ?, 'COMMISSION', split_status, '', COUNT(*), COALESCE(SUM(platform_commission), 0), ? " +
+        "FROM payment_splits WHERE created_at >= ? AND created_at < ? GROUP BY split_status";
+    
+    private static final String INSERT_DAY_SQL =
+        "INSERT INTO payment_analytics_rollups (granularity, bucket_start, metric, status, method, txn_count, amount, refreshed_at) " +
+        "SELECT 'DAY', ?, metric, status, method, SUM(txn_count), SUM(amount), ? FROM payment_analytics_rollups " +
+        "WHERE granularity = 'HOUR' AND bucket_start >= ? AND bucket_start < ? GROUP BY metric, status, method";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PaymentAnalyticsRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long lagMinutes;
+    
+    private volatile LocalDateTime refreshedUpTo;
+    
+    public PaymentAnalyticsRollups(JdbcTemplate jdbcTemplate,
+                                   PaymentAnalyticsRollupRepository rollupRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${analytics.rollup.lag-minutes:5}") long lagMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lagMinutes = lagMinutes;
+    }
+    
+    
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:300000}")
+    public void refresh() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Only one node refreshes at a time; the others skip this round.
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, REFRESH_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+            
+            LocalDateTime runStartedAt = LocalDateTime.now();
+            // Rows updated shortly before the last run may have committed after it, so the window overlaps by the lag.
+            LocalDateTime since = refreshedUpTo != null
+                ? refreshedUpTo
+                : rollupRepository.findLastRefreshedAt().map(last -> last.minusMinutes(lagMinutes)).orElse(EPOCH);
+            
+            SortedSet<LocalDateTime> dirtyHours = new TreeSet<>();
+            for (String sql : DIRTY_HOUR_SQL) {
+                dirtyHours.addAll(jdbcTemplate.queryForList(sql, LocalDateTime.class, Timestamp.valueOf(since)));
+            }
+            
+            Timestamp now = Timestamp.valueOf(runStartedAt);
+            SortedSet<LocalDate> dirtyDays = new TreeSet<>();
+            for (LocalDateTime hour : dirtyHours) {
+                Timestamp from = Timestamp.valueOf(hour);
+                Timestamp to = Timestamp.valueOf(hour.plusHours(1));
+                jdbcTemplate.update(DELETE_BUCKETS_SQL, PaymentAnalyticsRollup.HOUR, from, to);
+                jdbcTemplate.update(INSERT_PAYMENT_HOUR_SQL, from, now, from, to);
+                jdbcTemplate.update(INSERT_REFUND_HOUR_SQL, from, now, from, to);
+                jdbcTemplate.update(INSERT_COMMISSION_HOUR_SQL, from, now, from, to);
+                dirtyDays.add(hour.toLocalDate());
+            }
+            for (LocalDate day : dirtyDays) {
+                Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+                Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+                jdbcTemplate.update(DELETE_BUCKETS_SQL, PaymentAnalyticsRollup.DAY, from, to);
+                jdbcTemplate.update(INSERT_DAY_SQL, from, now, from, to);
+            }
+            
+            refreshedUpTo = runStartedAt.minusMinutes(lagMinutes);
+            if (!dirtyHours.isEmpty()) {
+                log.info("Refreshed payment analytics for {} hours across {} days", dirtyHours.size(), dirtyDays.size());
+            }
+        });
+    }
+    
+    /**
+     * Sums buckets covering [start, end), widened to whole hours: whole days come from daily buckets
+     * and the partial days at either edge from hourly ones.
+     */
+    public Map<String, Map<String, Totals>> totals(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime hourStart = start.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime hourEnd = end.truncatedTo(ChronoUnit.HOURS);
+        if (hourEnd.isBefore(end)) {
+            hourEnd = hourEnd.plusHours(1);
+        }
+        LocalDateTime dayStart = hourStart.truncatedTo(ChronoUnit.DAYS);
+        if (dayStart.isBefore(hourStart)) {
+            dayStart = dayStart.plusDays(1);
+        }
+        LocalDateTime dayEnd = hourEnd.truncatedTo(ChronoUnit.DAYS);
+        
+        List<Object[]> rows = new ArrayList<>();
+        if (dayStart.isBefore(dayEnd)) {
+            rows.addAll(rollupRepository.sumByMetricAndStatus(PaymentAnalyticsRollup.HOUR, hourStart, dayStart));
+            rows.addAll(rollupRepository.sumByMetricAndStatus(PaymentAnalyticsRollup.DAY, dayStart, dayEnd));
+            rows.addAll(rollupRepository.sumByMetricAndStatus(PaymentAnalyticsRollup.HOUR, dayEnd, hourEnd));
+        } else {
+            rows.addAll(rollupRepository.sumByMetricAndStatus(PaymentAnalyticsRollup.HOUR, hourStart, hourEnd));
+        }
+        
+        Map<String, Map<String, Totals>> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            Totals add = new Totals(((Number) row[2]).longValue(), (BigDecimal) row[3]);
+            totals.computeIfAbsent((String) row[0], metric -> new HashMap<>())
+                .merge((String) row[1], add, Totals::plus);
+        }
+        return totals;
+    }
+    
+    public record Totals(long count, BigDecimal amount) {
+        
+        public static final Totals ZERO = new Totals(0, BigDecimal.ZERO);
+        
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, amount.add(other.amount));
+        }
+    }
+}
@@ -4,9 +4,10 @@ import com.artwork.dto.payment.*;
 import com.artwork.entity.payment.*;
 import com.artwork.entity.payment.SellerLinkedAccount;
 import com.artwork.repository.payment.PaymentRepository;
-import com.artwork.repository.payment.PaymentSplitRepository;
 import com.artwork.repository.payment.RefundRepository;
 import com.artwork.repository.payment.SellerLinkedAccountRepository;
+import com.artwork.service.InventoryReservationService;
+import com.artwork.service.payment.LedgerService;
 import com.artwork.service.payment.PaymentGateway;
 import com.artwork.service.payment.PaymentService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +17,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -26,15 +30,19 @@ import java.util.Optional;
 public class PaymentServiceImpl implements PaymentService {
     
     private final PaymentRepository paymentRepository;
-    private final PaymentSplitRepository paymentSplitRepository;
     private final RefundRepository refundRepository;
     private final SellerLinkedAccountRepository linkedAccountRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final LedgerService ledgerService;
+    private final PaymentAnalyticsRollups analyticsRollups;
     
     @Qualifier("razorpay")
     private final PaymentGateway paymentGateway;
     
     
     private static final BigDecimal PLATFORM_COMMISSION_RATE = new BigDecimal("0.05");
+    static final String HOLD_LOST_REASON =
+        "Captured after the order's artwork reservation expired and the order was cancelled";
     
     @Override
     @Transactional
@@ -142,9 +150,7 @@ public class PaymentServiceImpl implements PaymentService {
         }
         
         
-        Optional<Payment> paymentOpt = paymentRepository.findAll().stream()
-            .filter(p -> p.getGatewayOrderId().equals(request.getGatewayOrderId()))
-            .findFirst();
+        Optional<Payment> paymentOpt = paymentRepository.findByGatewayOrderId(request.getGatewayOrderId());
         
         if (paymentOpt.isEmpty()) {
             log.error("Payment not found for gateway order: {}", request.getGatewayOrderId());
@@ -157,11 +163,33 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment payment = paymentOpt.orElseThrow(() -> 
             new IllegalStateException("Payment should exist but could not be retrieved"));
+        PaymentStatus previousStatus = payment.getPaymentStatus();
+        boolean held = previousStatus == PaymentStatus.CAPTURED
+            || previousStatus != PaymentStatus.REFUND_REQUIRED && inventoryReservationService.confirm(payment.getOrderId());
         payment.setGatewayPaymentId(request.getGatewayPaymentId());
-        payment.setPaymentStatus(PaymentStatus.CAPTURED);
         payment.setCompletedAt(LocalDateTime.now());
         
+        if (!held) {
+            payment.setPaymentStatus(PaymentStatus.REFUND_REQUIRED);
+            payment.setFailureReason(HOLD_LOST_REASON);
+            paymentRepository.save(payment);
+            log.error("Payment {} captured for order {} after its reservation was released; refund required",
+                payment.getId(), payment.getOrderId());
+            
+            return PaymentVerificationResponse.builder()
+                .verified(false)
+                .paymentId(payment.getId())
+                .orderId(payment.getOrderId())
+                .status(PaymentStatus.REFUND_REQUIRED.name())
+                .message("Order expired before payment completed; the payment will be refunded")
+                .build();
+        }
+        
+        payment.setPaymentStatus(PaymentStatus.CAPTURED);
         paymentRepository.save(payment);
+        if (previousStatus != PaymentStatus.CAPTURED) {
+            ledgerService.postPaymentCaptured(payment);
+        }
         
         log.info("Payment verified and captured: {}", payment.getId());
         
@@ -196,7 +224,8 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = paymentRepository.findById(paymentId)
             .orElseThrow(() -> new RuntimeException("Payment not found: " + paymentId));
         
-        if (payment.getPaymentStatus() != PaymentStatus.CAPTURED) {
+        PaymentStatus previousStatus = payment.getPaymentStatus();
+        if (previousStatus != PaymentStatus.CAPTURED && previousStatus != PaymentStatus.REFUND_REQUIRED) {
             throw new RuntimeException("Cannot refund payment with status: " + payment.getPaymentStatus());
         }
         
@@ -228,6 +257,11 @@ public class PaymentServiceImpl implements PaymentService {
             .build();
         
         refund = refundRepository.save(refund);
+        if (previousStatus == PaymentStatus.REFUND_REQUIRED) {
+            // The capture was held back from the ledger while the payment waited for review.
+            ledgerService.postPaymentCaptured(payment);
+        }
+        ledgerService.postRefund(refund);
         
         
         if (isPartial) {
@@ -244,24 +278,36 @@ public class PaymentServiceImpl implements PaymentService {
     
     @Override
     public PaymentAnalyticsResponse getPaymentAnalytics(LocalDateTime startDate, LocalDateTime endDate) {
-        
-        long totalTransactions = paymentRepository.count();
-        long successfulTransactions = paymentRepository.countByPaymentStatus(PaymentStatus.CAPTURED);
-        long failedTransactions = paymentRepository.countByPaymentStatus(PaymentStatus.FAILED);
-        long pendingTransactions = paymentRepository.countByPaymentStatus(PaymentStatus.PENDING);
-        
-        BigDecimal totalRevenue = paymentRepository.getTotalRevenueInPeriod(startDate, endDate)
-            .orElse(BigDecimal.ZERO);
-        
-        BigDecimal totalCommission = paymentSplitRepository.getTotalCommissionInPeriod(startDate, endDate)
-            .orElse(BigDecimal.ZERO);
+        Map<String, Map<String, PaymentAnalyticsRollups.Totals>> totals = analyticsRollups.totals(startDate, endDate);
+        Map<String, PaymentAnalyticsRollups.Totals> payments =
+            totals.getOrDefault(PaymentAnalyticsRollup.PAYMENT, Collections.emptyMap());
+        Map<String, PaymentAnalyticsRollups.Totals> refunds =
+            totals.getOrDefault(PaymentAnalyticsRollup.REFUND, Collections.emptyMap());
+        Map<String, PaymentAnalyticsRollups.Totals> commissions =
+            totals.getOrDefault(PaymentAnalyticsRollup.COMMISSION, Collections.emptyMap());
+        
+        long totalTransactions = payments.values().stream().mapToLong(PaymentAnalyticsRollups.Totals::count).sum();
+        PaymentAnalyticsRollups.Totals captured =
+            payments.getOrDefault(PaymentStatus.CAPTURED.name(), PaymentAnalyticsRollups.Totals.ZERO);
+        long successfulTransactions = captured.count();
+        long failedTransactions =
+            payments.getOrDefault(PaymentStatus.FAILED.name(), PaymentAnalyticsRollups.Totals.ZERO).count();
+        long pendingTransactions =
+            payments.getOrDefault(PaymentStatus.PENDING.name(), PaymentAnalyticsRollups.Totals.ZERO).count();
+        
+        BigDecimal totalRevenue = captured.amount();
+        
+        BigDecimal totalCommission = commissions.values().stream()
+            .map(PaymentAnalyticsRollups.Totals::amount)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         BigDecimal averageTransactionValue = successfulTransactions > 0 
-            ? totalRevenue.divide(BigDecimal.valueOf(successfulTransactions), 2, BigDecimal.ROUND_HALF_UP)
+            ? totalRevenue.divide(BigDecimal.valueOf(successfulTransactions), 2, RoundingMode.HALF_UP)
             : BigDecimal.ZERO;
         
         
-        long refundCount = refundRepository.countByStatus(RefundStatus.COMPLETED);
+        PaymentAnalyticsRollups.Totals completedRefunds =
+            refunds.getOrDefault(RefundStatus.COMPLETED.name(), PaymentAnalyticsRollups.Totals.ZERO);
         
         return PaymentAnalyticsResponse.builder()
             .totalRevenue(totalRevenue)
@@ -271,7 +317,8 @@ public class PaymentServiceImpl implements PaymentService {
             .failedTransactions(failedTransactions)
             .pendingTransactions(pendingTransactions)
             .averageTransactionValue(averageTransactionValue)
-            .refundCount(refundCount)
+            .refundedAmount(completedRefunds.amount())
+            .refundCount(completedRefunds.count())
             .build();
     }
     
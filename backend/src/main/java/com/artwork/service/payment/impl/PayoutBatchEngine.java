@@ -0,0 +1,307 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.PayoutStatus;
+import com.artwork.entity.payment.SellerBankAccount;
+import com.artwork.entity.payment.SellerLinkedAccount;
+import com.artwork.repository.payment.PayoutRepository;
+import com.artwork.repository.payment.SellerBankAccountRepository;
+import com.artwork.repository.payment.SellerLinkedAccountRepository;
+import com.artwork.service.payment.RazorpayXPayoutService;
+import com.artwork.service.payment.SellerBalanceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+
+/**
+ * Claims due payouts in chunks and initiates them on a bounded pool.
+ * Gateway calls run outside any transaction; each payout's outcome is written in its own short one.
+ */
+@Component
+@Slf4j
+public class PayoutBatchEngine {
+
+    private static final Set<String> FAILED_GATEWAY_STATUSES = Set.of("failed", "rejected", "reversed", "cancelled");
+
+    private final PayoutRepository payoutRepository;
+    private final SellerBankAccountRepository bankAccountRepository;
+    private final SellerLinkedAccountRepository linkedAccountRepository;
+    private final RazorpayXPayoutService razorpayXPayoutService;
+    private final SellerBalanceService sellerBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService payoutExecutor;
+
+    private final int chunkSize;
+    private final long stuckAfterMinutes;
+    private final long resolveAfterMinutes;
+
+    private final Timer runTimer;
+    private final Timer payoutTimer;
+    private final Counter initiatedCounter;
+    private final Counter failedCounter;
+    private final Counter unknownCounter;
+
+    public PayoutBatchEngine(PayoutRepository payoutRepository,
+                             SellerBankAccountRepository bankAccountRepository,
+                             SellerLinkedAccountRepository linkedAccountRepository,
+                             RazorpayXPayoutService razorpayXPayoutService,
+                             SellerBalanceService sellerBalanceService,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${payout.batch.chunk-size:50}") int chunkSize,
+                             @Value("${payout.batch.threads:8}") int threads,
+                             @Value("${payout.batch.stuck-after-minutes:60}") long stuckAfterMinutes,
+                             @Value("${payout.batch.resolve-after-minutes:5}") long resolveAfterMinutes) {
+        this.payoutRepository = payoutRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.linkedAccountRepository = linkedAccountRepository;
+        this.razorpayXPayoutService = razorpayXPayoutService;
+        this.sellerBalanceService = sellerBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.stuckAfterMinutes = stuckAfterMinutes;
+        this.resolveAfterMinutes = resolveAfterMinutes;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.payoutExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "payout-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.runTimer = Timer.builder("payout.batch.run").register(meterRegistry);
+        this.payoutTimer = Timer.builder("payout.batch.payout")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.initiatedCounter = Counter.builder("payout.batch.initiated").register(meterRegistry);
+        this.failedCounter = Counter.builder("payout.batch.failed").register(meterRegistry);
+        this.unknownCounter = Counter.builder("payout.batch.unknown_outcome").register(meterRegistry);
+    }
+
+
+    public void run() {
+        Timer.Sample sample = Timer.start();
+        int claimedTotal = 0;
+        int initiatedTotal = 0;
+        int chunks = 0;
+
+        List<Payout> chunk;
+        do {
+            chunk = claimChunk();
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunks++;
+            claimedTotal += chunk.size();
+            initiatedTotal += process(chunk);
+            log.info("Payout run progress: chunk {} done, {} claimed, {} initiated so far",
+                    chunks, claimedTotal, initiatedTotal);
+        } while (chunk.size() == chunkSize);
+
+        long nanos = sample.stop(runTimer);
+        log.info("Payout run finished: {} payouts in {} chunks, {} initiated, {} failed, took {} ms",
+                claimedTotal, chunks, initiatedTotal, claimedTotal - initiatedTotal, nanos / 1_000_000);
+
+        long stuck = payoutRepository.countStuckInProcessing(LocalDateTime.now().minusMinutes(stuckAfterMinutes));
+        if (stuck > 0) {
+            log.warn("{} payouts are PROCESSING without a gateway payout id; check RazorpayX before retrying them", stuck);
+        }
+    }
+
+    /**
+     * Looks up payouts whose initiation outcome was unknown by their reference id. Found payouts get their
+     * gateway id (or fail if RazorpayX rejected them); payouts RazorpayX has no record of are failed once
+     * they are old enough that a delayed creation is no longer plausible.
+     */
+    @Scheduled(fixedDelayString = "${payout.batch.resolve-interval-ms:300000}")
+    public void resolveUnknownOutcomes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payout> unresolved = payoutRepository.findUnresolvedInProcessing(
+                now.minusMinutes(resolveAfterMinutes), PageRequest.of(0, chunkSize));
+
+        for (Payout payout : unresolved) {
+            Optional<RazorpayXPayoutService.PayoutResult> found;
+            try {
+                found = razorpayXPayoutService.findPayoutByReference(payout.getId());
+            } catch (Exception e) {
+                log.warn("Could not look up payout {} by reference: {}", payout.getId(), e.getMessage());
+                continue;
+            }
+
+            if (found.isPresent() && found.get().payoutId() != null) {
+                RazorpayXPayoutService.PayoutResult result = found.get();
+                if (FAILED_GATEWAY_STATUSES.contains(result.status())) {
+                    markFailed(payout, result.errorMessage() != null ? result.errorMessage() : "Payout " + result.status());
+                } else {
+                    transactionTemplate.executeWithoutResult(status ->
+                            payoutRepository.markInitiated(payout.getId(), result.payoutId(), LocalDateTime.now()));
+                    log.info("Resolved payout {} to RazorpayX payout {}", payout.getId(), result.payoutId());
+                }
+            } else if (payout.getUpdatedAt().isBefore(now.minusMinutes(stuckAfterMinutes))) {
+                markFailed(payout, "Payout not found at RazorpayX after unknown initiation outcome");
+                log.warn("Failed payout {}: RazorpayX has no payout for its reference", payout.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        payoutExecutor.shutdown();
+    }
+
+    // Claimed payouts leave PENDING in the same transaction, so concurrent runs never pick them up twice.
+    private List<Payout> claimChunk() {
+        List<Payout> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Payout> payouts = payoutRepository.lockDueForProcessing(now, chunkSize);
+            if (!payouts.isEmpty()) {
+                payoutRepository.markProcessing(payouts.stream().map(Payout::getId).collect(Collectors.toList()), now);
+            }
+            return payouts;
+        });
+        return claimed != null ? claimed : Collections.emptyList();
+    }
+
+    private int process(List<Payout> chunk) {
+        // A seller's payouts share a contact and fund account, so they run in order on one worker.
+        Map<String, List<Payout>> bySeller = new LinkedHashMap<>();
+        for (Payout payout : chunk) {
+            bySeller.computeIfAbsent(payout.getSellerId(), key -> new ArrayList<>()).add(payout);
+        }
+
+        List<Future<Integer>> results = new ArrayList<>(bySeller.size());
+        for (List<Payout> payouts : bySeller.values()) {
+            results.add(payoutExecutor.submit(() -> processSeller(payouts)));
+        }
+
+        int initiated = 0;
+        for (Future<Integer> result : results) {
+            try {
+                initiated += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Payout worker task failed", e.getCause());
+            }
+        }
+        return initiated;
+    }
+
+    private int processSeller(List<Payout> payouts) {
+        int initiated = 0;
+        for (Payout payout : payouts) {
+            Timer.Sample sample = Timer.start();
+            if (processPayout(payout)) {
+                initiated++;
+            }
+            sample.stop(payoutTimer);
+        }
+        return initiated;
+    }
+
+    private boolean processPayout(Payout payout) {
+        log.info("Processing payout: {} for seller: {}", payout.getId(), payout.getSellerId());
+
+        String fundAccountId;
+        try {
+            fundAccountId = resolveFundAccount(payout);
+        } catch (Exception e) {
+            log.error("Error preparing payout: {}", payout.getId(), e);
+            markFailed(payout, e.getMessage());
+            return false;
+        }
+
+        RazorpayXPayoutService.PayoutResult result;
+        try {
+            result = razorpayXPayoutService.initiatePayout(
+                fundAccountId,
+                payout.getAmount(),
+                payout.getCurrency(),
+                payout.getId(),
+                "MakeMyCrafts seller payout"
+            );
+        } catch (Exception e) {
+            // RazorpayX may have created the payout; it stays PROCESSING until resolveUnknownOutcomes or a webhook settles it.
+            unknownCounter.increment();
+            log.warn("Payout {} initiation outcome unknown, leaving it PROCESSING: {}", payout.getId(), e.getMessage());
+            return false;
+        }
+
+        if (result.success()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    payoutRepository.markInitiated(payout.getId(), result.payoutId(), LocalDateTime.now()));
+            initiatedCounter.increment();
+            log.info("Payout initiated successfully: {} -> {}", payout.getId(), result.payoutId());
+            return true;
+        }
+        markFailed(payout, result.errorMessage());
+        log.error("Payout initiation failed: {} - {}", payout.getId(), result.errorMessage());
+        return false;
+    }
+
+    private String resolveFundAccount(Payout payout) {
+        SellerLinkedAccount linkedAccount = linkedAccountRepository
+            .findBySellerId(payout.getSellerId())
+            .orElseThrow(() -> new RuntimeException("No linked account found for seller: " + payout.getSellerId()));
+
+        String fundAccountId = linkedAccount.getRazorpayFundAccountId();
+        if (fundAccountId != null && !fundAccountId.isEmpty()) {
+            return fundAccountId;
+        }
+
+        SellerBankAccount bankAccount = bankAccountRepository
+            .findById(payout.getBankAccountId())
+            .orElseThrow(() -> new RuntimeException("Bank account not found: " + payout.getBankAccountId()));
+
+        String contactId = linkedAccount.getRazorpayContactId();
+        if (contactId == null || contactId.isEmpty()) {
+            contactId = razorpayXPayoutService.createContact(
+                payout.getSellerId(),
+                bankAccount.getAccountHolderName(),
+                linkedAccount.getEmail(),
+                linkedAccount.getPhone()
+            );
+            linkedAccount.setRazorpayContactId(contactId);
+        }
+
+        fundAccountId = razorpayXPayoutService.createFundAccount(contactId, bankAccount);
+        linkedAccount.setRazorpayFundAccountId(fundAccountId);
+        linkedAccountRepository.save(linkedAccount);
+        return fundAccountId;
+    }
+
+    private void markFailed(Payout payout, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (payoutRepository.markFailed(payout.getId(), reason, LocalDateTime.now()) > 0) {
+                payout.setStatus(PayoutStatus.FAILED);
+                sellerBalanceService.onPayoutStatusChanged(payout, PayoutStatus.PROCESSING);
+            }
+        });
+        failedCounter.increment();
+    }
+}
@@ -5,7 +5,7 @@ import com.artwork.dto.payment.SellerEarningsResponse;
 import com.artwork.entity.payment.*;
 import com.artwork.repository.payment.*;
 import com.artwork.service.payment.PayoutService;
-import com.artwork.service.payment.RazorpayXPayoutService;
+import com.artwork.service.payment.SellerBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,28 +27,18 @@ import java.util.stream.Collectors;
 public class PayoutServiceImpl implements PayoutService {
     
     private final PayoutRepository payoutRepository;
-    private final PaymentSplitRepository paymentSplitRepository;
     private final SellerKycRepository sellerKycRepository;
     private final SellerBankAccountRepository bankAccountRepository;
-    private final SellerLinkedAccountRepository linkedAccountRepository;
-    private final RazorpayXPayoutService razorpayXPayoutService;
+    private final PayoutBatchEngine payoutBatchEngine;
+    private final SellerBalanceService sellerBalanceService;
+    private final PaymentSplitRepository paymentSplitRepository;
     
     @Value("${payment.payout.minimum:500}")
     private BigDecimal minimumPayoutAmount;
     
     @Override
     public BigDecimal getPendingPayoutBalance(String sellerId) {
-        
-        List<PaymentSplit> settledSplits = paymentSplitRepository.findBySellerIdAndSplitStatus(
-            sellerId, 
-            SplitStatus.SETTLED, 
-            PageRequest.of(0, Integer.MAX_VALUE)
-        ).getContent();
-        
-        
-        return settledSplits.stream()
-            .map(PaymentSplit::getNetSellerAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return sellerBalanceService.getBalance(sellerId).getAvailableAmount();
     }
     
     @Override
@@ -91,10 +81,7 @@ public class PayoutServiceImpl implements PayoutService {
         }
         
         
-        BigDecimal availableBalance = getPendingPayoutBalance(sellerId);
-        if (amount.compareTo(availableBalance) > 0) {
-            throw new RuntimeException("Insufficient balance. Available: ₹" + availableBalance);
-        }
+        sellerBalanceService.reserveForPayout(sellerId, amount);
         
         
         Payout payout = Payout.builder()
@@ -114,25 +101,10 @@ public class PayoutServiceImpl implements PayoutService {
     }
     
     @Override
-    @Scheduled(cron = "0 0 2 * * *") 
-    @Transactional
+    @Scheduled(cron = "${payout.batch.cron:0 0 2 * * *}")
     public void processPendingPayouts() {
         log.info("Processing pending payouts...");
-        
-        List<Payout> pendingPayouts = payoutRepository.findPayoutsDueForProcessing(LocalDateTime.now());
-        
-        for (Payout payout : pendingPayouts) {
-            try {
-                processPayout(payout);
-            } catch (Exception e) {
-                log.error("Failed to process payout: {}", payout.getId(), e);
-                payout.setStatus(PayoutStatus.FAILED);
-                payout.setFailureReason(e.getMessage());
-                payoutRepository.save(payout);
-            }
-        }
-        
-        log.info("Processed {} payouts", pendingPayouts.size());
+        payoutBatchEngine.run();
     }
     
     @Override
@@ -144,101 +116,20 @@ public class PayoutServiceImpl implements PayoutService {
     
     @Override
     public SellerEarningsResponse getSellerEarnings(String sellerId) {
-        BigDecimal totalEarnings = paymentSplitRepository.getTotalEarningsForSeller(sellerId)
-            .orElse(BigDecimal.ZERO);
-        
-        BigDecimal totalPaidOut = payoutRepository.getTotalPayoutsForSeller(sellerId)
-            .orElse(BigDecimal.ZERO);
-        
-        BigDecimal pendingSettlement = getPendingPayoutBalance(sellerId);
-        
-        
-        BigDecimal availableForPayout = pendingSettlement;
-        
-        
-        long completedOrders = paymentSplitRepository.findBySellerId(sellerId).size();
+        SellerBalance balance = sellerBalanceService.getBalance(sellerId);
         
         return SellerEarningsResponse.builder()
             .sellerId(sellerId)
-            .totalEarnings(totalEarnings)
-            .pendingSettlement(pendingSettlement)
-            .availableForPayout(availableForPayout)
-            .totalPaidOut(totalPaidOut)
-            .totalCommissionPaid(BigDecimal.ZERO) 
-            .totalTdsDeducted(BigDecimal.ZERO) 
-            .completedOrders(completedOrders)
+            .totalEarnings(balance.getTotalEarnings())
+            .pendingSettlement(paymentSplitRepository.getPendingEarningsForSeller(sellerId).orElse(BigDecimal.ZERO))
+            .availableForPayout(balance.getAvailableAmount())
+            .totalPaidOut(balance.getPaidOutAmount())
+            .totalCommissionPaid(balance.getCommissionAmount())
+            .totalTdsDeducted(balance.getTdsAmount())
+            .completedOrders(balance.getSettledSplits())
             .build();
     }
     
-    private void processPayout(Payout payout) {
-        log.info("Processing payout: {} for seller: {}", payout.getId(), payout.getSellerId());
-        
-        try {
-            
-            SellerLinkedAccount linkedAccount = linkedAccountRepository
-                .findBySellerId(payout.getSellerId())
-                .orElse(null);
-            
-            if (linkedAccount == null) {
-                throw new RuntimeException("No linked account found for seller: " + payout.getSellerId());
-            }
-            
-            
-            String fundAccountId = linkedAccount.getRazorpayFundAccountId();
-            
-            if (fundAccountId == null || fundAccountId.isEmpty()) {
-                
-                SellerBankAccount bankAccount = bankAccountRepository
-                    .findById(payout.getBankAccountId())
-                    .orElseThrow(() -> new RuntimeException("Bank account not found: " + payout.getBankAccountId()));
-                
-                
-                String contactId = linkedAccount.getRazorpayContactId();
-                if (contactId == null || contactId.isEmpty()) {
-                    contactId = razorpayXPayoutService.createContact(
-                        payout.getSellerId(),
-                        bankAccount.getAccountHolderName(),
-                        linkedAccount.getEmail(),
-                        linkedAccount.getPhone()
-                    );
-                    linkedAccount.setRazorpayContactId(contactId);
-                }
-                
-                
-                fundAccountId = razorpayXPayoutService.createFundAccount(contactId, bankAccount);
-                linkedAccount.setRazorpayFundAccountId(fundAccountId);
-                linkedAccountRepository.save(linkedAccount);
-            }
-            
-            
-            RazorpayXPayoutService.PayoutResult result = razorpayXPayoutService.initiatePayout(
-                fundAccountId,
-                payout.getAmount(),
-                payout.getCurrency(),
-                payout.getId(),
-                "MakeMyCrafts seller payout"
-            );
-            
-            if (result.success()) {
-                payout.setStatus(PayoutStatus.PROCESSING);
-                payout.setGatewayPayoutId(result.payoutId());
-                log.info("Payout initiated successfully: {} -> {}", payout.getId(), result.payoutId());
-            } else {
-                payout.setStatus(PayoutStatus.FAILED);
-                payout.setFailureReason(result.errorMessage());
-                log.error("Payout initiation failed: {} - {}", payout.getId(), result.errorMessage());
-            }
-            
-        } catch (Exception e) {
-            log.error("Error processing payout: {}", payout.getId(), e);
-            payout.setStatus(PayoutStatus.FAILED);
-            payout.setFailureReason(e.getMessage());
-        }
-        
-        payout.setProcessedAt(LocalDateTime.now());
-        payoutRepository.save(payout);
-    }
-    
     private PayoutResponse mapToResponse(Payout payout) {
         return PayoutResponse.builder()
             .id(payout.getId())
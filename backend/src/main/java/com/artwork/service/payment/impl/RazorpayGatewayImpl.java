@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Mac;
@@ -23,6 +24,7 @@ import java.util.Formatter;
 
 
 @Component("razorpay")
+@Profile("!gateway-sim")
 @RequiredArgsConstructor
 @Slf4j
 public class RazorpayGatewayImpl implements PaymentGateway {
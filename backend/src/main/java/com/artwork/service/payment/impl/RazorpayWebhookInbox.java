@@ -0,0 +1,122 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.WebhookEvent;
+import com.artwork.event.queue.OrderedClaimDispatcher;
+import com.artwork.repository.payment.WebhookEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+
+@Component
+@Slf4j
+public class RazorpayWebhookInbox {
+
+    public static final OrderedClaimDispatcher.QueueTable TABLE = new OrderedClaimDispatcher.QueueTable(
+            "webhook_events", List.of("entity_key"), "PROCESSING", "PROCESSED", "processed_at");
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final RazorpayWebhookProcessor webhookProcessor;
+    private final OrderedClaimDispatcher<WebhookEvent> dispatcher;
+    private final int retentionDays;
+
+    private final Counter receivedCounter;
+    private final Counter duplicateCounter;
+
+    public RazorpayWebhookInbox(WebhookEventRepository webhookEventRepository,
+                                RazorpayWebhookProcessor webhookProcessor,
+                                NamedParameterJdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${webhook.inbox.batch-size:100}") int batchSize,
+                                @Value("${webhook.inbox.per-entity-limit:10}") int perEntityLimit,
+                                @Value("${webhook.inbox.threads:4}") int threads,
+                                @Value("${webhook.inbox.max-attempts:8}") int maxAttempts,
+                                @Value("${webhook.inbox.base-backoff-ms:2000}") long baseBackoffMs,
+                                @Value("${webhook.inbox.max-backoff-ms:1800000}") long maxBackoffMs,
+                                @Value("${webhook.inbox.claim-timeout-ms:300000}") long claimTimeoutMs,
+                                @Value("${webhook.inbox.retention-days:30}") int retentionDays) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.webhookProcessor = webhookProcessor;
+        this.retentionDays = retentionDays;
+        // The state change and the PROCESSED mark commit together, so a crash never applies an event twice.
+        this.dispatcher = new OrderedClaimDispatcher<>("webhook", TABLE,
+                new OrderedClaimDispatcher.Settings(batchSize, perEntityLimit, threads, maxAttempts,
+                        baseBackoffMs, maxBackoffMs, claimTimeoutMs, retentionDays),
+                webhookEventRepository::findAllById, this::apply, true,
+                jdbcTemplate, transactionManager, meterRegistry);
+
+        this.receivedCounter = Counter.builder("webhook.events.received").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("webhook.events.duplicate").register(meterRegistry);
+    }
+
+
+    /**
+     * Stores a verified webhook for asynchronous processing.
+     *
+     * @return false if an event with the same id was already received
+     */
+    public boolean receive(String eventId, String payload) {
+        JSONObject event = new JSONObject(payload);
+        String eventType = event.optString("event", "unknown");
+        String entityKey = RazorpayWebhookProcessor.entityKey(eventType, event.optJSONObject("payload"));
+
+        try {
+            webhookEventRepository.save(WebhookEvent.builder()
+                    .eventId(eventId)
+                    .eventType(eventType)
+                    .entityKey(entityKey != null ? entityKey : "event:" + eventId)
+                    .payload(payload)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            duplicateCounter.increment();
+            log.info("Ignoring duplicate webhook delivery {} ({})", eventId, eventType);
+            return false;
+        }
+        receivedCounter.increment();
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.interval-ms:500}")
+    public void processPending() {
+        dispatcher.drain();
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.reclaim-interval-ms:60000}")
+    public void reclaimStaleClaims() {
+        int reclaimed = dispatcher.reclaimStaleClaims();
+        if (reclaimed > 0) {
+            log.warn("Returned {} webhook events from an abandoned worker claim to the inbox", reclaimed);
+        }
+    }
+
+    @Scheduled(cron = "${webhook.inbox.cleanup-cron:0 45 3 * * *}")
+    public void purgeProcessed() {
+        int deleted = dispatcher.purgeDone();
+        log.info("Purged {} processed webhook events older than {} days", deleted, retentionDays);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    private void apply(WebhookEvent event) {
+        JSONObject payloadData = new JSONObject(event.getPayload()).optJSONObject("payload");
+        if (payloadData == null) {
+            log.warn("No payload data in webhook {}", event.getEventId());
+        } else {
+            webhookProcessor.apply(event.getEventType(), payloadData);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.PaymentStatus;
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.PayoutStatus;
+import com.artwork.repository.payment.PaymentRepository;
+import com.artwork.repository.payment.PayoutRepository;
+import com.artwork.service.InventoryReservationService;
+import com.artwork.service.payment.LedgerService;
+import com.artwork.service.payment.SellerBalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RazorpayWebhookProcessor {
+
+    private final PaymentRepository paymentRepository;
+    private final PayoutRepository payoutRepository;
+    private final InventoryReservationService inventoryReservationService;
+    private final SellerBalanceService sellerBalanceService;
+    private final LedgerService ledgerService;
+
+
+    public void apply(String eventType, JSONObject payloadData) {
+        switch (eventType) {
+            case "payment.captured" -> handlePaymentCaptured(payloadData);
+            case "payment.failed" -> handlePaymentFailed(payloadData);
+            case "transfer.processed" -> handleTransferProcessed(payloadData);
+            case "payout.processed" -> handlePayoutProcessed(payloadData);
+            case "payout.failed" -> handlePayoutFailed(payloadData);
+            case "payout.reversed" -> handlePayoutReversed(payloadData);
+            default -> log.info("Unhandled webhook event type: {}", eventType);
+        }
+    }
+
+
+    public static String entityKey(String eventType, JSONObject payloadData) {
+        if (payloadData == null) {
+            return null;
+        }
+        if (eventType.startsWith("payment.")) {
+            JSONObject payment = entity(payloadData, "payment");
+            String orderId = payment != null ? payment.optString("order_id") : "";
+            return !orderId.isEmpty() ? "payment:" + orderId : null;
+        }
+        if (eventType.startsWith("payout.")) {
+            JSONObject payout = entity(payloadData, "payout");
+            String payoutId = payout != null ? payout.optString("id") : "";
+            return !payoutId.isEmpty() ? "payout:" + payoutId : null;
+        }
+        if (eventType.startsWith("transfer.")) {
+            JSONObject transfer = entity(payloadData, "transfer");
+            String transferId = transfer != null ? transfer.optString("id") : "";
+            return !transferId.isEmpty() ? "transfer:" + transferId : null;
+        }
+        return null;
+    }
+
+    // Razorpay nests each entity as payload.<name>.entity; older payloads carried it flat.
+    private static JSONObject entity(JSONObject payloadData, String name) {
+        JSONObject wrapper = payloadData.optJSONObject(name);
+        if (wrapper == null) {
+            wrapper = payloadData.optJSONObject("entity");
+        }
+        if (wrapper != null && wrapper.optJSONObject("entity") != null) {
+            return wrapper.optJSONObject("entity");
+        }
+        return wrapper;
+    }
+    
+    private void handlePaymentCaptured(JSONObject payloadData) {
+        JSONObject payment = entity(payloadData, "payment");
+        
+        if (payment == null) {
+            log.warn("No payment entity in payload");
+            return;
+        }
+        
+        String razorpayPaymentId = payment.optString("id");
+        String razorpayOrderId = payment.optString("order_id");
+        String method = payment.optString("method");
+        
+        log.info("Payment captured: paymentId={}, orderId={}, method={}", 
+            razorpayPaymentId, razorpayOrderId, method);
+        
+        
+        paymentRepository.findByGatewayOrderId(razorpayOrderId)
+            .ifPresent(p -> {
+                PaymentStatus previousStatus = p.getPaymentStatus();
+                if (previousStatus == PaymentStatus.REFUND_REQUIRED) {
+                    log.info("Payment {} already awaiting refund", p.getId());
+                    return;
+                }
+                boolean held = previousStatus == PaymentStatus.CAPTURED
+                    || inventoryReservationService.confirm(p.getOrderId());
+                p.setGatewayPaymentId(razorpayPaymentId);
+                p.setPaymentMethod(method.toUpperCase());
+                p.setCompletedAt(LocalDateTime.now());
+                if (!held) {
+                    p.setPaymentStatus(PaymentStatus.REFUND_REQUIRED);
+                    p.setFailureReason(PaymentServiceImpl.HOLD_LOST_REASON);
+                    paymentRepository.save(p);
+                    log.error("Payment {} captured for order {} after its reservation was released; refund required",
+                        p.getId(), p.getOrderId());
+                    return;
+                }
+                p.setPaymentStatus(PaymentStatus.CAPTURED);
+                paymentRepository.save(p);
+                if (previousStatus != PaymentStatus.CAPTURED) {
+                    ledgerService.postPaymentCaptured(p);
+                }
+                log.info("Payment record updated: {}", p.getId());
+            });
+    }
+    
+    private void handlePaymentFailed(JSONObject payloadData) {
+        JSONObject payment = entity(payloadData, "payment");
+        
+        if (payment == null) {
+            log.warn("No payment entity in payload");
+            return;
+        }
+        
+        String razorpayPaymentId = payment.optString("id");
+        String razorpayOrderId = payment.optString("order_id");
+        String errorDescription = payment.optString("error_description", "Payment failed");
+        
+        log.info("Payment failed: paymentId={}, orderId={}, reason={}", 
+            razorpayPaymentId, razorpayOrderId, errorDescription);
+        
+        paymentRepository.findByGatewayOrderId(razorpayOrderId)
+            .ifPresent(p -> {
+                if (p.getPaymentStatus() == PaymentStatus.CAPTURED || p.getPaymentStatus() == PaymentStatus.REFUND_REQUIRED) {
+                    log.info("Ignoring failure for already captured payment: {}", p.getId());
+                    return;
+                }
+                p.setGatewayPaymentId(razorpayPaymentId);
+                p.setPaymentStatus(PaymentStatus.FAILED);
+                p.setFailureReason(errorDescription);
+                paymentRepository.save(p);
+                log.info("Payment record marked as failed: {}", p.getId());
+            });
+    }
+    
+    private void handleTransferProcessed(JSONObject payloadData) {
+        JSONObject transfer = entity(payloadData, "transfer");
+        
+        if (transfer == null) {
+            log.warn("No transfer entity in payload");
+            return;
+        }
+        
+        String transferId = transfer.optString("id");
+        String sourcePaymentId = transfer.optString("source");
+        String recipientAccountId = transfer.optString("recipient");
+        int amountPaise = transfer.optInt("amount");
+        
+        log.info("Transfer processed: transferId={}, source={}, recipient={}, amount={}", 
+            transferId, sourcePaymentId, recipientAccountId, amountPaise / 100.0);
+    }
+    
+    private void handlePayoutProcessed(JSONObject payloadData) {
+        JSONObject payout = entity(payloadData, "payout");
+        
+        if (payout == null) {
+            log.warn("No payout entity in payload");
+            return;
+        }
+        
+        String razorpayPayoutId = payout.optString("id");
+        String referenceId = payout.optString("reference_id");
+        String utr = payout.optString("utr");
+        
+        log.info("Payout processed: payoutId={}, referenceId={}, utr={}", 
+            razorpayPayoutId, referenceId, utr);
+        
+        
+        findPayout(referenceId, razorpayPayoutId)
+            .ifPresent(p -> {
+                PayoutStatus previousStatus = p.getStatus();
+                p.setStatus(PayoutStatus.COMPLETED);
+                p.setGatewayPayoutId(razorpayPayoutId);
+                p.setProcessedAt(LocalDateTime.now());
+                payoutRepository.save(p);
+                sellerBalanceService.onPayoutStatusChanged(p, previousStatus);
+                log.info("Payout record marked as completed: {}", p.getId());
+            });
+    }
+    
+    private void handlePayoutFailed(JSONObject payloadData) {
+        JSONObject payout = entity(payloadData, "payout");
+        
+        if (payout == null) {
+            log.warn("No payout entity in payload");
+            return;
+        }
+        
+        String razorpayPayoutId = payout.optString("id");
+        String referenceId = payout.optString("reference_id");
+        String failureReason = payout.optString("failure_reason", "Payout failed");
+        
+        log.info("Payout failed: payoutId={}, referenceId={}, reason={}", 
+            razorpayPayoutId, referenceId, failureReason);
+        
+        findPayout(referenceId, razorpayPayoutId)
+            .ifPresent(p -> {
+                PayoutStatus previousStatus = p.getStatus();
+                p.setStatus(PayoutStatus.FAILED);
+                p.setGatewayPayoutId(razorpayPayoutId);
+                p.setFailureReason(failureReason);
+                p.setProcessedAt(LocalDateTime.now());
+                payoutRepository.save(p);
+                sellerBalanceService.onPayoutStatusChanged(p, previousStatus);
+                log.info("Payout record marked as failed: {}", p.getId());
+            });
+    }
+    
+    private void handlePayoutReversed(JSONObject payloadData) {
+        JSONObject payout = entity(payloadData, "payout");
+        
+        if (payout == null) {
+            log.warn("No payout entity in payload");
+            return;
+        }
+        
+        String razorpayPayoutId = payout.optString("id");
+        String referenceId = payout.optString("reference_id");
+        
+        log.info("Payout reversed: payoutId={}, referenceId={}", razorpayPayoutId, referenceId);
+        
+        findPayout(referenceId, razorpayPayoutId)
+            .ifPresent(p -> {
+                PayoutStatus previousStatus = p.getStatus();
+                p.setStatus(PayoutStatus.FAILED);
+                p.setFailureReason("Payout was reversed by bank");
+                p.setProcessedAt(LocalDateTime.now());
+                payoutRepository.save(p);
+                sellerBalanceService.onPayoutStatusChanged(p, previousStatus);
+                log.info("Payout record marked as reversed: {}", p.getId());
+            });
+    }
+    
+    
+    private Optional<Payout> findPayout(String referenceId, String razorpayPayoutId) {
+        if (referenceId != null && !referenceId.isEmpty()) {
+            Optional<Payout> payout = payoutRepository.findById(referenceId);
+            if (payout.isPresent()) {
+                return payout;
+            }
+        }
+        if (razorpayPayoutId != null && !razorpayPayoutId.isEmpty()) {
+            return payoutRepository.findByGatewayPayoutId(razorpayPayoutId);
+        }
+        return Optional.empty();
+    }
+}
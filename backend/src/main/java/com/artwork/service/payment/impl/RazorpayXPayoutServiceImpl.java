@@ -6,20 +6,51 @@ import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Credentials;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 
 @Service
+@Profile("!gateway-sim")
 @RequiredArgsConstructor
 @Slf4j
 public class RazorpayXPayoutServiceImpl implements RazorpayXPayoutService {
     
+    private static final Set<String> FAILED_STATUSES = Set.of("failed", "rejected", "reversed", "cancelled");
+    
     private final RazorpayClient razorpayClient;
     
+    // The Java SDK has no payouts resource, so RazorpayX reads go straight to the REST API with the same keys.
+    private final OkHttpClient httpClient = new OkHttpClient.Builder()
+        .connectTimeout(10, TimeUnit.SECONDS)
+        .readTimeout(30, TimeUnit.SECONDS)
+        .build();
+    
+    @Value("${razorpay.key.id}")
+    private String razorpayKeyId;
+    
+    @Value("${razorpay.key.secret}")
+    private String razorpayKeySecret;
+    
+    @Value("${razorpay.x.base-url:https://api.razorpay.com}")
+    private String razorpayXBaseUrl;
+    
     @Value("${razorpay.x.enabled:false}")
     private boolean razorpayXEnabled;
     
@@ -154,7 +185,8 @@ public class RazorpayXPayoutServiceImpl implements RazorpayXPayoutService {
                 null
             );
             
-        } catch (Exception e) {
+        } catch (JSONException e) {
+            // The request could not be built, so nothing reached RazorpayX.
             log.error("Failed to initiate Razorpay X payout for reference: {}", referenceId, e);
             return new PayoutResult(
                 false,
@@ -204,4 +236,55 @@ public class RazorpayXPayoutServiceImpl implements RazorpayXPayoutService {
             );
         }
     }
+    
+    @Override
+    public Optional<PayoutResult> findPayoutByReference(String referenceId) {
+        if (!razorpayXEnabled) {
+            return Optional.empty();
+        }
+        if (razorpayXAccountNumber == null || razorpayXAccountNumber.isEmpty()) {
+            throw new IllegalStateException("Razorpay X account number not configured");
+        }
+        
+        HttpUrl url = HttpUrl.get(razorpayXBaseUrl).newBuilder()
+            .addPathSegments("v1/payouts")
+            .addQueryParameter("account_number", razorpayXAccountNumber)
+            .addQueryParameter("reference_id", referenceId)
+            .build();
+        Request request = new Request.Builder()
+            .url(url)
+            .header("Authorization", Credentials.basic(razorpayKeyId, razorpayKeySecret))
+            .get()
+            .build();
+        
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            String content = body != null ? body.string() : "";
+            if (!response.isSuccessful()) {
+                throw new IllegalStateException("RazorpayX payout lookup returned " + response.code() + ": " + content);
+            }
+            
+            // Newest first; a reference is only reused when an earlier attempt failed, so the latest one decides.
+            JSONArray items = new JSONObject(content).optJSONArray("items");
+            if (items == null || items.length() == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(toPayoutResult(items.getJSONObject(0)));
+        } catch (IOException | JSONException e) {
+            throw new IllegalStateException("RazorpayX payout lookup failed for " + referenceId + ": " + e.getMessage(), e);
+        }
+    }
+    
+    static PayoutResult toPayoutResult(JSONObject payout) {
+        String status = payout.optString("status", "unknown");
+        String error = null;
+        if (FAILED_STATUSES.contains(status)) {
+            JSONObject details = payout.optJSONObject("status_details");
+            error = details != null && !details.optString("description").isEmpty()
+                ? details.optString("description")
+                : payout.optString("failure_reason", "Payout " + status);
+        }
+        String utr = payout.optString("utr");
+        return new PayoutResult(error == null, payout.optString("id"), status, utr.isEmpty() ? null : utr, error);
+    }
 }
@@ -0,0 +1,250 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.PaymentSplit;
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.PayoutStatus;
+import com.artwork.entity.payment.SellerBalance;
+import com.artwork.entity.payment.SplitStatus;
+import com.artwork.repository.payment.PaymentSplitRepository;
+import com.artwork.repository.payment.PayoutRepository;
+import com.artwork.repository.payment.SellerBalanceRepository;
+import com.artwork.service.payment.LedgerService;
+import com.artwork.service.payment.SellerBalanceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+
+@Service
+@Slf4j
+public class SellerBalanceServiceImpl implements SellerBalanceService {
+    
+    private final SellerBalanceRepository sellerBalanceRepository;
+    private final PaymentSplitRepository paymentSplitRepository;
+    private final PayoutRepository payoutRepository;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter driftCounter;
+    private final Counter overdrawnCounter;
+    
+    public SellerBalanceServiceImpl(SellerBalanceRepository sellerBalanceRepository,
+                                    PaymentSplitRepository paymentSplitRepository,
+                                    PayoutRepository payoutRepository,
+                                    LedgerService ledgerService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.sellerBalanceRepository = sellerBalanceRepository;
+        this.paymentSplitRepository = paymentSplitRepository;
+        this.payoutRepository = payoutRepository;
+        this.ledgerService = ledgerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.driftCounter = Counter.builder("seller.balance.reconcile.drift").register(meterRegistry);
+        this.overdrawnCounter = Counter.builder("seller.balance.payout.overdrawn").register(meterRegistry);
+    }
+    
+    @Override
+    public SellerBalance getBalance(String sellerId) {
+        return sellerBalanceRepository.findById(sellerId)
+            .orElseGet(() -> transactionTemplate.execute(status -> reconcileSeller(sellerId)));
+    }
+    
+    @Override
+    @Transactional
+    public void reserveForPayout(String sellerId, BigDecimal amount) {
+        ensureBalance(sellerId);
+        if (sellerBalanceRepository.reserveForPayout(sellerId, amount, LocalDateTime.now()) == 0) {
+            BigDecimal available = sellerBalanceRepository.findById(sellerId)
+                .map(SellerBalance::getAvailableAmount)
+                .orElse(BigDecimal.ZERO);
+            throw new RuntimeException("Insufficient balance. Available: ₹" + available);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void onPayoutStatusChanged(Payout payout, PayoutStatus previousStatus) {
+        if (payout.getStatus() == previousStatus) {
+            return;
+        }
+        
+        boolean wasReserved = previousStatus == PayoutStatus.PENDING || previousStatus == PayoutStatus.PROCESSING;
+        if (payout.getStatus() == PayoutStatus.COMPLETED) {
+            ledgerService.postPayoutCompleted(payout);
+        } else if (previousStatus == PayoutStatus.COMPLETED) {
+            ledgerService.postPayoutReversed(payout);
+        }
+        
+        if (!ensureBalance(payout.getSellerId())) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        switch (payout.getStatus()) {
+            case COMPLETED -> {
+                if (wasReserved) {
+                    sellerBalanceRepository.completePayout(payout.getSellerId(), payout.getAmount(), now);
+                } else if (previousStatus == PayoutStatus.FAILED || previousStatus == PayoutStatus.CANCELLED) {
+                    completeReleasedPayout(payout, previousStatus, now);
+                }
+            }
+            case FAILED, CANCELLED -> {
+                if (wasReserved) {
+                    sellerBalanceRepository.releasePayout(payout.getSellerId(), payout.getAmount(), now);
+                } else if (previousStatus == PayoutStatus.COMPLETED) {
+                    sellerBalanceRepository.reversePayout(payout.getSellerId(), payout.getAmount(), now);
+                }
+            }
+            default -> { }
+        }
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${seller.balance.settle-interval-ms:300000}")
+    public int settleReleasableSplits() {
+        List<PaymentSplit> releasable = paymentSplitRepository.findReleasableSplits(LocalDateTime.now());
+        int settled = 0;
+        
+        for (PaymentSplit split : releasable) {
+            // The split status change and the balance move commit together.
+            Boolean applied = transactionTemplate.execute(status -> {
+                ensureBalance(split.getSellerId());
+                LocalDateTime now = LocalDateTime.now();
+                if (paymentSplitRepository.markSettled(split.getId(), now) == 0) {
+                    return false;
+                }
+                sellerBalanceRepository.settleSplit(
+                    split.getSellerId(),
+                    split.getNetSellerAmount(),
+                    split.getPlatformCommission(),
+                    Objects.requireNonNullElse(split.getTdsDeducted(), BigDecimal.ZERO),
+                    now
+                );
+                ledgerService.postSplitSettled(split);
+                return true;
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                settled++;
+            }
+        }
+        
+        if (settled > 0) {
+            log.info("Settled {} payment splits into seller balances", settled);
+        }
+        return settled;
+    }
+    
+    @Override
+    @Transactional
+    public SellerBalance reconcileSeller(String sellerId) {
+        LocalDateTime now = LocalDateTime.now();
+        sellerBalanceRepository.insertIfAbsent(sellerId, now);
+        
+        // Holding the row lock keeps concurrent balance updates out until the recomputed totals are written.
+        SellerBalance balance = sellerBalanceRepository.lockBySellerId(sellerId)
+            .orElseThrow(() -> new IllegalStateException("Seller balance missing after insert: " + sellerId));
+        
+        BigDecimal settledNet = BigDecimal.ZERO;
+        BigDecimal commission = BigDecimal.ZERO;
+        BigDecimal tds = BigDecimal.ZERO;
+        long settledSplits = 0;
+        for (Object[] row : paymentSplitRepository.getSellerTotalsByStatus(sellerId)) {
+            SplitStatus splitStatus = (SplitStatus) row[0];
+            if (splitStatus == SplitStatus.SETTLED) {
+                settledNet = (BigDecimal) row[1];
+                commission = (BigDecimal) row[2];
+                tds = (BigDecimal) row[3];
+                settledSplits = ((Number) row[4]).longValue();
+            }
+        }
+        
+        BigDecimal reserved = BigDecimal.ZERO;
+        BigDecimal paidOut = BigDecimal.ZERO;
+        for (Object[] row : payoutRepository.getSellerTotalsByStatus(sellerId)) {
+            PayoutStatus payoutStatus = (PayoutStatus) row[0];
+            BigDecimal amount = (BigDecimal) row[1];
+            if (payoutStatus == PayoutStatus.PENDING || payoutStatus == PayoutStatus.PROCESSING) {
+                reserved = reserved.add(amount);
+            } else if (payoutStatus == PayoutStatus.COMPLETED) {
+                paidOut = paidOut.add(amount);
+            }
+        }
+        BigDecimal available = settledNet.subtract(reserved).subtract(paidOut);
+        
+        if (balance.getReconciledAt() != null
+                && (available.compareTo(balance.getAvailableAmount()) != 0
+                    || reserved.compareTo(balance.getReservedAmount()) != 0
+                    || paidOut.compareTo(balance.getPaidOutAmount()) != 0)) {
+            driftCounter.increment();
+            log.warn("Seller balance drift for {}: available {} -> {}, reserved {} -> {}, paid out {} -> {}",
+                sellerId, balance.getAvailableAmount(), available,
+                balance.getReservedAmount(), reserved, balance.getPaidOutAmount(), paidOut);
+        }
+        
+        balance.setAvailableAmount(available);
+        balance.setReservedAmount(reserved);
+        balance.setPaidOutAmount(paidOut);
+        balance.setTotalEarnings(settledNet);
+        balance.setCommissionAmount(commission);
+        balance.setTdsAmount(tds);
+        balance.setSettledSplits(settledSplits);
+        balance.setReconciledAt(now);
+        balance.setUpdatedAt(now);
+        return sellerBalanceRepository.save(balance);
+    }
+    
+    @Override
+    @Scheduled(cron = "${seller.balance.reconcile-cron:0 30 1 * * *}")
+    public void reconcileAll() {
+        Set<String> sellerIds = new TreeSet<>(paymentSplitRepository.findDistinctSellerIds());
+        sellerIds.addAll(sellerBalanceRepository.findAllSellerIds());
+        
+        int failed = 0;
+        for (String sellerId : sellerIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> reconcileSeller(sellerId));
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Could not reconcile balance for seller {}", sellerId, e);
+            }
+        }
+        log.info("Reconciled {} seller balances ({} failed)", sellerIds.size() - failed, failed);
+    }
+    
+    // The failure already returned the amount to available, so a late success has to take it back out.
+    private void completeReleasedPayout(Payout payout, PayoutStatus previousStatus, LocalDateTime now) {
+        String sellerId = payout.getSellerId();
+        if (sellerBalanceRepository.completeReleasedPayout(sellerId, payout.getAmount(), now) > 0) {
+            log.warn("Payout {} completed after being {}; moved {} from available to paid out for seller {}",
+                payout.getId(), previousStatus, payout.getAmount(), sellerId);
+            return;
+        }
+        // The seller has already been paid the released amount again; record the debt so no further payout
+        // can be reserved until earnings cover it.
+        sellerBalanceRepository.forceCompleteReleasedPayout(sellerId, payout.getAmount(), now);
+        overdrawnCounter.increment();
+        log.error("Payout {} completed after being {} but seller {} no longer has {} available; balance is now overdrawn",
+            payout.getId(), previousStatus, sellerId, payout.getAmount());
+    }
+    
+    // First use of a seller's balance builds it from their splits and payouts, which already include the
+    // change being recorded; returns false in that case so the caller does not apply it twice.
+    private boolean ensureBalance(String sellerId) {
+        if (sellerBalanceRepository.existsById(sellerId)) {
+            return true;
+        }
+        reconcileSeller(sellerId);
+        return false;
+    }
+}
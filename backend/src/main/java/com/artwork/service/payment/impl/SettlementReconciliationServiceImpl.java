@@ -0,0 +1,661 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.SettlementMismatch;
+import com.artwork.entity.payment.SettlementMismatchType;
+import com.artwork.entity.payment.SettlementReconciliation;
+import com.artwork.entity.payment.SettlementReconciliationStatus;
+import com.artwork.exception.ResourceNotFoundException;
+import com.artwork.repository.payment.SettlementMismatchRepository;
+import com.artwork.repository.payment.SettlementReconciliationRepository;
+import com.artwork.service.payment.SettlementReconciliationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Reconciles gateway settlement reports against payments, refunds and payouts.
+ * The report is read line by line into hash partitions keyed on the gateway id; each full partition
+ * is matched as one chunk on a bounded pool, so memory stays at partitions x chunk size whatever the file size.
+ * Seen ids go to settlement_report_entries rather than a heap set, for duplicate and missing-in-report checks.
+ */
+@Service
+@Slf4j
+public class SettlementReconciliationServiceImpl implements SettlementReconciliationService {
+
+    private static final Set<String> SETTLED_PAYMENT = Set.of("CAPTURED", "REFUNDED", "PARTIALLY_REFUNDED");
+    private static final Set<String> SETTLED_REFUND = Set.of("COMPLETED", "PROCESSING");
+
+    // Reported status (blank means the row is simply present in a settlement) -> internal statuses that agree with it.
+    private static final Map<String, Map<String, Set<String>>> EXPECTED_STATUSES = Map.of(
+        "payment", Map.of(
+            "", SETTLED_PAYMENT,
+            "settled", SETTLED_PAYMENT,
+            "captured", SETTLED_PAYMENT,
+            "refunded", Set.of("REFUNDED", "PARTIALLY_REFUNDED"),
+            "failed", Set.of("FAILED")),
+        "refund", Map.of(
+            "", SETTLED_REFUND,
+            "settled", SETTLED_REFUND,
+            "processed", SETTLED_REFUND,
+            "failed", Set.of("FAILED")),
+        "payout", Map.of(
+            "", Set.of("COMPLETED"),
+            "settled", Set.of("COMPLETED"),
+            "processed", Set.of("COMPLETED"),
+            "processing", Set.of("PROCESSING"),
+            "queued", Set.of("PROCESSING"),
+            "failed", Set.of("FAILED"),
+            "reversed", Set.of("FAILED")));
+
+    private static final Map<String, String> LOOKUP_SQL = Map.of(
+        "payment", "SELECT id, gateway_payment_id AS gateway_id, amount, payment_status AS status " +
+                   "FROM payments WHERE gateway_payment_id = ANY(?)",
+        "refund", "SELECT id, gateway_refund_id AS gateway_id, refund_amount AS amount, status " +
+                  "FROM refunds WHERE gateway_refund_id = ANY(?)",
+        "payout", "SELECT id, gateway_payout_id AS gateway_id, amount, status " +
+                  "FROM payouts WHERE gateway_payout_id = ANY(?)");
+
+    private static final Map<String, String> MISSING_IN_REPORT_SQL = Map.of(
+        "payment", missingInReportSql("payment", "payments", "gateway_payment_id", "amount", "payment_status", SETTLED_PAYMENT),
+        "refund", missingInReportSql("refund", "refunds", "gateway_refund_id", "refund_amount", "status", SETTLED_REFUND),
+        "payout", missingInReportSql("payout", "payouts", "gateway_payout_id", "amount", "status", Set.of("COMPLETED")));
+
+    private static final String RECORD_ENTRIES_SQL =
+        "INSERT INTO settlement_report_entries (reconciliation_id, entity_type, gateway_id) " +
+        "SELECT ?, ?, UNNEST(?) ON CONFLICT DO NOTHING RETURNING gateway_id";
+
+    private static final String INSERT_MISMATCH_SQL =
+        "INSERT INTO settlement_mismatches (reconciliation_id, mismatch_type, entity_type, gateway_id, internal_id, " +
+        "reported_amount, internal_amount, reported_status, internal_status, line_number, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ORPHANED_RUN_ERROR =
+        "Interrupted: the instance running this reconciliation stopped; submit the report again";
+
+    private static final String EXPORT_SQL =
+        "SELECT mismatch_type, entity_type, gateway_id, internal_id, reported_amount, internal_amount, " +
+        "reported_status, internal_status, line_number FROM settlement_mismatches " +
+        "WHERE reconciliation_id = ? ORDER BY id";
+
+    private final SettlementReconciliationRepository reconciliationRepository;
+    private final SettlementMismatchRepository mismatchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService coordinator;
+    private final ExecutorService chunkExecutor;
+
+    private final int chunkSize;
+    private final int partitions;
+    private final int maxChunksInFlight;
+    private final String importDir;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Duration staleAfter;
+
+    private final Timer runTimer;
+    private final Timer chunkTimer;
+    private final Counter rowsCounter;
+    private final Counter mismatchCounter;
+
+    public SettlementReconciliationServiceImpl(SettlementReconciliationRepository reconciliationRepository,
+                                               SettlementMismatchRepository mismatchRepository,
+                                               JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${settlement.recon.chunk-size:2000}") int chunkSize,
+                                               @Value("${settlement.recon.partitions:16}") int partitions,
+                                               @Value("${settlement.recon.threads:4}") int threads,
+                                               @Value("${settlement.recon.import-dir:}") String importDir,
+                                               @Value("${settlement.recon.stale-after-ms:300000}") long staleAfterMs) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.mismatchRepository = mismatchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.partitions = partitions;
+        this.maxChunksInFlight = threads * 2;
+        this.importDir = importDir;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "settlement-recon");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.chunkExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "settlement-recon-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.runTimer = Timer.builder("settlement.recon.run").register(meterRegistry);
+        this.chunkTimer = Timer.builder("settlement.recon.chunk")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rowsCounter = Counter.builder("settlement.recon.rows").register(meterRegistry);
+        this.mismatchCounter = Counter.builder("settlement.recon.mismatches").register(meterRegistry);
+    }
+
+
+    @Override
+    public SettlementReconciliation submit(String sourceName, Path reportFile, boolean deleteWhenDone,
+                                           LocalDateTime periodStart, LocalDateTime periodEnd) {
+        if ((periodStart == null) != (periodEnd == null)) {
+            throw new IllegalArgumentException("Both period start and end are required to check for records missing from the report");
+        }
+        if (periodStart != null && !periodStart.isBefore(periodEnd)) {
+            throw new IllegalArgumentException("Period start must be before period end");
+        }
+
+        SettlementReconciliation reconciliation = reconciliationRepository.save(SettlementReconciliation.builder()
+                .sourceName(sourceName)
+                .periodStart(periodStart)
+                .periodEnd(periodEnd)
+                .ownerId(instanceId)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+        log.info("Settlement reconciliation {} queued for {}", reconciliation.getId(), sourceName);
+
+        coordinator.execute(() -> run(reconciliation.getId(), reportFile, deleteWhenDone));
+        return reconciliation;
+    }
+
+    @Override
+    public SettlementReconciliation importFile(String fileName, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        if (importDir == null || importDir.isBlank()) {
+            throw new IllegalStateException("settlement.recon.import-dir is not configured");
+        }
+        Path dir = Path.of(importDir).toAbsolutePath().normalize();
+        Path file = dir.resolve(fileName).normalize();
+        if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Settlement report not found in import directory: " + fileName);
+        }
+        return submit(file.getFileName().toString(), file, false, periodStart, periodEnd);
+    }
+
+    @Override
+    public SettlementReconciliation getReconciliation(Long reconciliationId) {
+        return reconciliationRepository.findById(reconciliationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Settlement reconciliation not found: " + reconciliationId));
+    }
+
+    @Override
+    public List<SettlementReconciliation> getRecentReconciliations(int page, int size) {
+        return reconciliationRepository.findAllByOrderByIdDesc(PageRequest.of(page, size));
+    }
+
+    @Override
+    public Map<SettlementMismatchType, Long> getMismatchCounts(Long reconciliationId) {
+        Map<SettlementMismatchType, Long> counts = new EnumMap<>(SettlementMismatchType.class);
+        for (Object[] row : mismatchRepository.countByType(reconciliationId)) {
+            counts.put((SettlementMismatchType) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public List<SettlementMismatch> getMismatches(Long reconciliationId, SettlementMismatchType type, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return type == null
+                ? mismatchRepository.findByReconciliationIdOrderById(reconciliationId, pageable)
+                : mismatchRepository.findByReconciliationIdAndMismatchTypeOrderById(reconciliationId, type, pageable);
+    }
+
+    // The transaction lets the driver honour the fetch size, so the export is streamed rather than loaded.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMismatches(Long reconciliationId, Writer writer) {
+        try {
+            writer.write("mismatch_type,entity_type,gateway_id,internal_id,reported_amount,internal_amount," +
+                         "reported_status,internal_status,line_number\n");
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL);
+                statement.setFetchSize(1000);
+                statement.setLong(1, reconciliationId);
+                return statement;
+            }, (ResultSet rs) -> {
+                try {
+                    for (int column = 1; column <= 9; column++) {
+                        if (column > 1) {
+                            writer.write(',');
+                        }
+                        writer.write(csvField(rs.getString(column)));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Runs only live on the coordinator of the instance that queued them. Each instance keeps its own runs'
+    // heartbeat fresh; one whose heartbeat has gone stale belongs to a process that is gone.
+    @Scheduled(fixedDelayString = "${settlement.recon.heartbeat-interval-ms:30000}",
+               initialDelayString = "${settlement.recon.heartbeat-interval-ms:30000}")
+    @Transactional
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        reconciliationRepository.heartbeat(instanceId, now);
+
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        for (Long reconciliationId : reconciliationRepository.findStaleIds(staleBefore)) {
+            if (reconciliationRepository.failIfStale(reconciliationId, staleBefore, ORPHANED_RUN_ERROR, now) > 0) {
+                jdbcTemplate.update("DELETE FROM settlement_report_entries WHERE reconciliation_id = ?", reconciliationId);
+                log.warn("Settlement reconciliation {} stopped sending heartbeats and was marked failed", reconciliationId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        chunkExecutor.shutdown();
+    }
+
+    private void run(Long reconciliationId, Path reportFile, boolean deleteWhenDone) {
+        SettlementReconciliation reconciliation = getReconciliation(reconciliationId);
+        Integer started = transactionTemplate.execute(status ->
+                reconciliationRepository.markRunning(reconciliationId, instanceId, LocalDateTime.now()));
+        if (started == null || started == 0) {
+            log.warn("Settlement reconciliation {} is no longer queued on this instance, skipping", reconciliationId);
+            if (deleteWhenDone) {
+                deleteReport(reportFile);
+            }
+            return;
+        }
+
+        RunState state = new RunState(reconciliationId);
+        SettlementReconciliationStatus outcome = SettlementReconciliationStatus.FAILED;
+        String error = null;
+        Timer.Sample sample = Timer.start();
+        try {
+            stream(reportFile, state);
+            if (reconciliation.getPeriodStart() != null) {
+                for (String sql : MISSING_IN_REPORT_SQL.values()) {
+                    state.mismatches.addAndGet(jdbcTemplate.update(sql, reconciliationId,
+                            Timestamp.valueOf(LocalDateTime.now()),
+                            Timestamp.valueOf(reconciliation.getPeriodStart()),
+                            Timestamp.valueOf(reconciliation.getPeriodEnd()),
+                            reconciliationId));
+                }
+            }
+            outcome = SettlementReconciliationStatus.COMPLETED;
+        } catch (Exception e) {
+            log.error("Settlement reconciliation {} failed", reconciliationId, e);
+            error = e.getMessage() != null && e.getMessage().length() > 1000
+                    ? e.getMessage().substring(0, 1000) : e.getMessage();
+        } finally {
+            if (deleteWhenDone) {
+                deleteReport(reportFile);
+            }
+
+            SettlementReconciliationStatus finalStatus = outcome;
+            String finalError = error;
+            Boolean finished = transactionTemplate.execute(status -> {
+                if (reconciliationRepository.finish(reconciliationId, instanceId, finalStatus, finalError,
+                        state.rowsRead.get(), state.matched.get(), state.skipped.get(),
+                        state.malformed.get(), state.mismatches.get(), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                jdbcTemplate.update("DELETE FROM settlement_report_entries WHERE reconciliation_id = ?", reconciliationId);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(finished)) {
+                log.warn("Settlement reconciliation {} was failed as stale while running; its result is discarded",
+                        reconciliationId);
+            }
+
+            long nanos = sample.stop(runTimer);
+            log.info("Settlement reconciliation {} {}: {} rows, {} matched, {} mismatches, {} skipped, {} malformed, took {} ms",
+                    reconciliationId, outcome, state.rowsRead.get(), state.matched.get(),
+                    state.mismatches.get(), state.skipped.get(), state.malformed.get(), nanos / 1_000_000);
+        }
+    }
+
+    private void deleteReport(Path reportFile) {
+        try {
+            Files.deleteIfExists(reportFile);
+        } catch (IOException e) {
+            log.warn("Could not delete settlement report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    private void stream(Path reportFile, RunState state) throws IOException {
+        Semaphore inFlight = new Semaphore(maxChunksInFlight);
+        try (BufferedReader reader = Files.newBufferedReader(reportFile, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("Settlement report is empty");
+            }
+            Map<String, Integer> columns = columns(headerLine);
+
+            List<List<ReportRow>> buffers = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                buffers.add(new ArrayList<>(chunkSize));
+            }
+
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null && state.failure.get() == null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                state.rowsRead.incrementAndGet();
+                rowsCounter.increment();
+
+                ReportRow row = parseRow(line, lineNumber, columns);
+                if (row == null) {
+                    state.malformed.incrementAndGet();
+                    continue;
+                }
+                if (!LOOKUP_SQL.containsKey(row.entityType())) {
+                    state.skipped.incrementAndGet();
+                    continue;
+                }
+
+                int partition = Math.floorMod(row.gatewayId().hashCode(), partitions);
+                List<ReportRow> buffer = buffers.get(partition);
+                buffer.add(row);
+                if (buffer.size() >= chunkSize) {
+                    dispatch(buffer, state, inFlight);
+                    buffers.set(partition, new ArrayList<>(chunkSize));
+                }
+            }
+
+            for (List<ReportRow> buffer : buffers) {
+                if (!buffer.isEmpty() && state.failure.get() == null) {
+                    dispatch(buffer, state, inFlight);
+                }
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(maxChunksInFlight);
+        }
+
+        if (state.failure.get() != null) {
+            throw new IllegalStateException("Settlement chunk failed: " + state.failure.get().getMessage(), state.failure.get());
+        }
+    }
+
+    // Blocks the reader once maxChunksInFlight chunks are queued, which is what bounds memory.
+    private void dispatch(List<ReportRow> chunk, RunState state, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            chunkExecutor.execute(() -> {
+                try {
+                    chunkTimer.record(() -> matchChunk(chunk, state));
+                } catch (RuntimeException e) {
+                    state.failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void matchChunk(List<ReportRow> chunk, RunState state) {
+        Map<String, List<ReportRow>> byType = new HashMap<>();
+        for (ReportRow row : chunk) {
+            byType.computeIfAbsent(row.entityType(), type -> new ArrayList<>()).add(row);
+        }
+
+        List<SettlementMismatch> mismatches = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        byType.forEach((entityType, rows) -> {
+            Set<String> gatewayIds = new HashSet<>();
+            rows.forEach(row -> gatewayIds.add(row.gatewayId()));
+
+            Set<String> firstSeen = recordEntries(state.reconciliationId, entityType, gatewayIds);
+            Map<String, InternalRecord> internal = lookup(entityType, gatewayIds);
+
+            for (ReportRow row : rows) {
+                InternalRecord record = internal.get(row.gatewayId());
+                if (!firstSeen.remove(row.gatewayId())) {
+                    mismatches.add(mismatch(state, SettlementMismatchType.DUPLICATE_IN_REPORT, row, record, now));
+                    continue;
+                }
+                if (record == null) {
+                    mismatches.add(mismatch(state, SettlementMismatchType.MISSING_INTERNAL, row, null, now));
+                    continue;
+                }
+
+                boolean matched = true;
+                if (record.amount() == null || row.amount().compareTo(record.amount()) != 0) {
+                    mismatches.add(mismatch(state, SettlementMismatchType.AMOUNT_MISMATCH, row, record, now));
+                    matched = false;
+                }
+                Set<String> expected = EXPECTED_STATUSES.get(entityType).get(row.status());
+                if (expected == null || !expected.contains(record.status())) {
+                    mismatches.add(mismatch(state, SettlementMismatchType.STATUS_MISMATCH, row, record, now));
+                    matched = false;
+                }
+                if (matched) {
+                    state.matched.incrementAndGet();
+                }
+            }
+        });
+
+        if (!mismatches.isEmpty()) {
+            insertMismatches(mismatches);
+            state.mismatches.addAndGet(mismatches.size());
+            mismatchCounter.increment(mismatches.size());
+        }
+    }
+
+    // Returns the ids this chunk saw first; anything else was already recorded by an earlier chunk.
+    private Set<String> recordEntries(Long reconciliationId, String entityType, Set<String> gatewayIds) {
+        Set<String> inserted = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_ENTRIES_SQL);
+            statement.setLong(1, reconciliationId);
+            statement.setString(2, entityType);
+            statement.setArray(3, connection.createArrayOf("varchar", gatewayIds.toArray()));
+            return statement;
+        }, (ResultSet rs) -> {
+            inserted.add(rs.getString(1));
+        });
+        return inserted;
+    }
+
+    private Map<String, InternalRecord> lookup(String entityType, Set<String> gatewayIds) {
+        Map<String, InternalRecord> records = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOOKUP_SQL.get(entityType));
+            statement.setArray(1, connection.createArrayOf("varchar", gatewayIds.toArray()));
+            return statement;
+        }, (ResultSet rs) -> {
+            records.putIfAbsent(rs.getString("gateway_id"),
+                    new InternalRecord(rs.getString("id"), rs.getBigDecimal("amount"), rs.getString("status")));
+        });
+        return records;
+    }
+
+    private void insertMismatches(List<SettlementMismatch> mismatches) {
+        List<Object[]> rows = new ArrayList<>(mismatches.size());
+        for (SettlementMismatch m : mismatches) {
+            rows.add(new Object[]{
+                    m.getReconciliationId(), m.getMismatchType().name(), m.getEntityType(), m.getGatewayId(),
+                    m.getInternalId(), m.getReportedAmount(), m.getInternalAmount(), m.getReportedStatus(),
+                    m.getInternalStatus(), m.getLineNumber(), Timestamp.valueOf(m.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_MISMATCH_SQL, rows, new int[]{
+                Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC,
+                Types.NUMERIC, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP
+        });
+    }
+
+    private static SettlementMismatch mismatch(RunState state, SettlementMismatchType type, ReportRow row,
+                                               InternalRecord record, LocalDateTime now) {
+        return SettlementMismatch.builder()
+                .reconciliationId(state.reconciliationId)
+                .mismatchType(type)
+                .entityType(row.entityType())
+                .gatewayId(row.gatewayId())
+                .internalId(record != null ? record.id() : null)
+                .reportedAmount(row.amount())
+                .internalAmount(record != null ? record.amount() : null)
+                .reportedStatus(row.status().isEmpty() ? null : row.status())
+                .internalStatus(record != null ? record.status() : null)
+                .lineNumber(row.lineNumber())
+                .createdAt(now)
+                .build();
+    }
+
+    private static Map<String, Integer> columns(String headerLine) {
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        List<String> names = splitCsv(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.putIfAbsent(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("entity_id", "type", "amount")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Settlement report is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static ReportRow parseRow(String line, long lineNumber, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        String gatewayId = field(fields, columns.get("entity_id"));
+        String type = field(fields, columns.get("type")).toLowerCase(Locale.ROOT);
+        String amount = field(fields, columns.get("amount")).replace(",", "");
+        String status = field(fields, columns.get("status")).toLowerCase(Locale.ROOT);
+        if (gatewayId.isEmpty() || gatewayId.length() > 100 || type.isEmpty() || amount.isEmpty()) {
+            return null;
+        }
+        try {
+            return new ReportRow(lineNumber, type, gatewayId, new BigDecimal(amount).abs(), status);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String field(List<String> fields, Integer index) {
+        return index != null && index < fields.size() ? fields.get(index) : "";
+    }
+
+    // RFC 4180 fields on a single line; quoted fields spanning lines are reported as malformed.
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String missingInReportSql(String entityType, String table, String gatewayColumn,
+                                             String amountColumn, String statusColumn, Set<String> statuses) {
+        String statusList = String.join(", ", statuses.stream().sorted().map(s -> "'" + s + "'").toList());
+        return "INSERT INTO settlement_mismatches (reconciliation_id, mismatch_type, entity_type, gateway_id, " +
+               "internal_id, internal_amount, internal_status, created_at) " +
+               "SELECT ?, 'MISSING_IN_REPORT', '" + entityType + "', t." + gatewayColumn + ", t.id, t." + amountColumn +
+               ", t." + statusColumn + ", ? FROM " + table + " t " +
+               "WHERE t.created_at >= ? AND t.created_at < ? AND t." + gatewayColumn + " IS NOT NULL " +
+               "AND t." + statusColumn + " IN (" + statusList + ") " +
+               "AND NOT EXISTS (SELECT 1 FROM settlement_report_entries e WHERE e.reconciliation_id = ? " +
+               "AND e.entity_type = '" + entityType + "' AND e.gateway_id = t." + gatewayColumn + ")";
+    }
+
+
+    private record ReportRow(long lineNumber, String entityType, String gatewayId, BigDecimal amount, String status) {}
+
+    private record InternalRecord(String id, BigDecimal amount, String status) {}
+
+    private static class RunState {
+        private final Long reconciliationId;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong malformed = new AtomicLong();
+        private final AtomicLong mismatches = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private RunState(Long reconciliationId) {
+            this.reconciliationId = reconciliationId;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.artwork.service.payment.simulator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+
+/**
+ * Latency and failure injection shared by the simulated gateway services.
+ * Latency is log-normal, fitted so the configured median and p99 hold.
+ */
+@Component
+@Profile("gateway-sim")
+@Slf4j
+public class SimulatedGatewayConditions {
+
+    private static final String ID_ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final double Z_99 = 2.326;
+
+    private final MeterRegistry meterRegistry;
+    private final double mu;
+    private final double sigma;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final long timeoutMs;
+
+    public SimulatedGatewayConditions(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.simulator.latency.median-ms:120}") long medianMs,
+            @Value("${gateway.simulator.latency.p99-ms:900}") long p99Ms,
+            @Value("${gateway.simulator.error-rate:0.02}") double errorRate,
+            @Value("${gateway.simulator.timeout-rate:0.005}") double timeoutRate,
+            @Value("${gateway.simulator.timeout-ms:10000}") long timeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.mu = Math.log(Math.max(1, medianMs));
+        this.sigma = p99Ms > medianMs ? Math.log((double) p99Ms / Math.max(1, medianMs)) / Z_99 : 0;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.timeoutMs = timeoutMs;
+        log.warn("Razorpay gateway simulator active: median={}ms p99={}ms errorRate={} timeoutRate={}",
+            medianMs, p99Ms, errorRate, timeoutRate);
+    }
+
+
+    public <T> T call(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < timeoutRate) {
+                outcome = "timeout";
+                sleep(timeoutMs);
+                throw new SimulatedGatewayException("Simulated gateway timeout after " + timeoutMs + "ms", true);
+            }
+            sleep(Math.round(Math.exp(mu + sigma * random.nextGaussian())));
+            if (random.nextDouble() < errorRate) {
+                outcome = "error";
+                throw new SimulatedGatewayException("Simulated gateway error (502 Bad Gateway)", false);
+            }
+            return action.get();
+        } finally {
+            sample.stop(meterRegistry.timer("gateway.simulator.calls", "operation", operation, "outcome", outcome));
+        }
+    }
+
+    public static String randomId(String prefix) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder id = new StringBuilder(prefix).append('_');
+        for (int i = 0; i < 14; i++) {
+            id.append(ID_ALPHABET.charAt(random.nextInt(ID_ALPHABET.length())));
+        }
+        return id.toString();
+    }
+
+    public static String hmacHex(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimulatedGatewayException("Interrupted during simulated gateway call", true);
+        }
+    }
+}
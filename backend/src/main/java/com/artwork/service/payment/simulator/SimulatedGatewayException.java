@@ -0,0 +1,15 @@
+package com.artwork.service.payment.simulator;
+
+import lombok.Getter;
+
+
+@Getter
+public class SimulatedGatewayException extends RuntimeException {
+
+    private final boolean timeout;
+
+    public SimulatedGatewayException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+}
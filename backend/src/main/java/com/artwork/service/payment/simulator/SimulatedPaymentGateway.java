@@ -0,0 +1,204 @@
+package com.artwork.service.payment.simulator;
+
+import com.artwork.service.payment.PaymentGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * In-process stand-in for Razorpay checkout, capture and refunds.
+ * Orders, payments and refunds are kept in bounded in-memory maps; signatures use the configured key secret.
+ */
+@Component("razorpay")
+@Profile("gateway-sim")
+@Slf4j
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final SimulatedGatewayConditions conditions;
+    private final SimulatedWebhookEmitter webhookEmitter;
+    private final String keySecret;
+    private final Map<String, SimulatedOrder> orders;
+    private final Map<String, SimulatedPayment> payments;
+    private final Map<String, RefundStatusResponse> refunds;
+
+    public SimulatedPaymentGateway(
+            SimulatedGatewayConditions conditions,
+            SimulatedWebhookEmitter webhookEmitter,
+            @Value("${razorpay.key.secret}") String keySecret,
+            @Value("${gateway.simulator.max-entries:100000}") int maxEntries) {
+        this.conditions = conditions;
+        this.webhookEmitter = webhookEmitter;
+        this.keySecret = keySecret;
+        this.orders = boundedMap(maxEntries);
+        this.payments = boundedMap(maxEntries);
+        this.refunds = boundedMap(maxEntries);
+    }
+
+
+    @Override
+    public String getGatewayName() {
+        return "RAZORPAY";
+    }
+
+    @Override
+    public PaymentOrderResponse createOrder(String orderId, BigDecimal amount, String currency) {
+        try {
+            String gatewayOrderId = conditions.call("create_order", () -> {
+                String id = SimulatedGatewayConditions.randomId("order");
+                orders.put(id, new SimulatedOrder(orderId, amount, currency));
+                return id;
+            });
+            log.info("Simulated Razorpay order created: {} for order: {}", gatewayOrderId, orderId);
+            return new PaymentOrderResponse(true, gatewayOrderId, null);
+        } catch (SimulatedGatewayException e) {
+            log.error("Simulated order creation failed for order {}: {}", orderId, e.getMessage());
+            return new PaymentOrderResponse(false, null, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean verifyPayment(String gatewayOrderId, String gatewayPaymentId, String gatewaySignature) {
+        if (gatewaySignature == null) {
+            return false;
+        }
+        String expected = SimulatedGatewayConditions.hmacHex(gatewayOrderId + "|" + gatewayPaymentId, keySecret);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII),
+            gatewaySignature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public PaymentCaptureResponse capturePayment(String gatewayPaymentId, BigDecimal amount) {
+        try {
+            return conditions.call("capture_payment", () -> {
+                SimulatedPayment payment = payments.get(gatewayPaymentId);
+                if (payment == null) {
+                    return new PaymentCaptureResponse(false, null, "The id provided does not exist");
+                }
+                if (!payment.succeeded()) {
+                    return new PaymentCaptureResponse(false, "failed", "Payment has failed and cannot be captured");
+                }
+                return new PaymentCaptureResponse(true, "captured", null);
+            });
+        } catch (SimulatedGatewayException e) {
+            return new PaymentCaptureResponse(false, null, e.getMessage());
+        }
+    }
+
+    @Override
+    public RefundResponse initiateRefund(String gatewayPaymentId, BigDecimal amount, String reason) {
+        try {
+            return conditions.call("create_refund", () -> {
+                if (!payments.containsKey(gatewayPaymentId)) {
+                    return new RefundResponse(false, null, null, "The id provided does not exist");
+                }
+                String refundId = SimulatedGatewayConditions.randomId("rfnd");
+                refunds.put(refundId, new RefundStatusResponse("processed", refundId, amount));
+                return new RefundResponse(true, refundId, "processed", null);
+            });
+        } catch (SimulatedGatewayException e) {
+            return new RefundResponse(false, null, "failed", e.getMessage());
+        }
+    }
+
+    @Override
+    public RefundStatusResponse getRefundStatus(String gatewayRefundId) {
+        try {
+            return conditions.call("fetch_refund", () -> refunds.getOrDefault(gatewayRefundId,
+                new RefundStatusResponse("unknown", gatewayRefundId, BigDecimal.ZERO)));
+        } catch (SimulatedGatewayException e) {
+            return new RefundStatusResponse("unknown", gatewayRefundId, BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Plays the customer's side of checkout: records the payment, returns what the checkout widget would hand
+     * back to the frontend, and sends the matching payment.captured or payment.failed webhook.
+     * Goes through the same latency and failure injection as the server-side calls.
+     */
+    public CheckoutResult pay(String gatewayOrderId, String method, boolean succeed) {
+        SimulatedOrder order = orders.get(gatewayOrderId);
+        if (order == null) {
+            throw new IllegalArgumentException("Unknown simulated order: " + gatewayOrderId);
+        }
+
+        return conditions.call("pay", () -> {
+            String paymentId = SimulatedGatewayConditions.randomId("pay");
+            payments.put(paymentId, new SimulatedPayment(paymentId, order.amount(), succeed));
+
+            JSONObject payment = new JSONObject();
+            payment.put("id", paymentId);
+            payment.put("entity", "payment");
+            payment.put("amount", order.amount().multiply(new BigDecimal("100")).longValue());
+            payment.put("currency", order.currency());
+            payment.put("status", succeed ? "captured" : "failed");
+            payment.put("order_id", gatewayOrderId);
+            payment.put("method", method);
+            payment.put("captured", succeed);
+            payment.put("created_at", Instant.now().getEpochSecond());
+            if (!succeed) {
+                payment.put("error_code", "BAD_REQUEST_ERROR");
+                payment.put("error_description", "Payment declined by the simulated issuer");
+            }
+            webhookEmitter.emit(succeed ? "payment.captured" : "payment.failed", "payment", payment);
+
+            String signature = SimulatedGatewayConditions.hmacHex(gatewayOrderId + "|" + paymentId, keySecret);
+            return new CheckoutResult(gatewayOrderId, paymentId, signature, succeed ? "captured" : "failed");
+        });
+    }
+
+    /**
+     * Writes captured payments and refunds as settlement report rows (entity_id,type,amount,status).
+     */
+    public void writeSettlementRows(Writer writer) throws IOException {
+        List<SimulatedPayment> settledPayments;
+        synchronized (payments) {
+            settledPayments = payments.values().stream().filter(SimulatedPayment::succeeded).toList();
+        }
+        for (SimulatedPayment payment : settledPayments) {
+            writer.write(payment.paymentId() + ",payment," + payment.amount().toPlainString() + ",settled\n");
+        }
+
+        List<RefundStatusResponse> settledRefunds;
+        synchronized (refunds) {
+            settledRefunds = List.copyOf(refunds.values());
+        }
+        for (RefundStatusResponse refund : settledRefunds) {
+            writer.write(refund.gatewayRefundId() + ",refund," + refund.amount().toPlainString() + ",processed\n");
+        }
+    }
+
+    private static <V> Map<String, V> boundedMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+
+    public record CheckoutResult(
+        String razorpayOrderId,
+        String razorpayPaymentId,
+        String razorpaySignature,
+        String status
+    ) {}
+
+    private record SimulatedOrder(String receipt, BigDecimal amount, String currency) {}
+
+    private record SimulatedPayment(String paymentId, BigDecimal amount, boolean succeeded) {}
+}
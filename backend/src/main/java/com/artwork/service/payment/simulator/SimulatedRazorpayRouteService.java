@@ -0,0 +1,84 @@
+package com.artwork.service.payment.simulator;
+
+import com.artwork.entity.payment.LinkedAccountStatus;
+import com.artwork.entity.payment.SellerKyc;
+import com.artwork.entity.payment.SellerLinkedAccount;
+import com.artwork.repository.UserRepository;
+import com.artwork.repository.payment.SellerLinkedAccountRepository;
+import com.artwork.service.payment.RazorpayRouteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+
+@Service
+@Profile("gateway-sim")
+@RequiredArgsConstructor
+@Slf4j
+public class SimulatedRazorpayRouteService implements RazorpayRouteService {
+
+    private final SimulatedGatewayConditions conditions;
+    private final SellerLinkedAccountRepository linkedAccountRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public SellerLinkedAccount createLinkedAccount(SellerKyc kyc) {
+        if (linkedAccountRepository.existsBySellerId(kyc.getUserId())) {
+            return linkedAccountRepository.findBySellerId(kyc.getUserId()).orElse(null);
+        }
+
+        var user = userRepository.findById(kyc.getUserId())
+            .orElseThrow(() -> new RuntimeException("User not found: " + kyc.getUserId()));
+
+        SellerLinkedAccount.SellerLinkedAccountBuilder account = SellerLinkedAccount.builder()
+            .sellerId(kyc.getUserId())
+            .email(user.getEmail())
+            .businessName(kyc.getBusinessName());
+
+        try {
+            String accountId = conditions.call("create_account", () -> SimulatedGatewayConditions.randomId("acc"));
+            account.razorpayAccountId(accountId)
+                .accountStatus(LinkedAccountStatus.ACTIVE)
+                .activatedAt(LocalDateTime.now());
+        } catch (SimulatedGatewayException e) {
+            log.error("Simulated linked account creation failed for {}: {}", kyc.getUserId(), e.getMessage());
+            account.razorpayAccountId("FAILED_" + System.currentTimeMillis())
+                .accountStatus(LinkedAccountStatus.FAILED)
+                .errorMessage(e.getMessage());
+        }
+
+        return linkedAccountRepository.save(account.build());
+    }
+
+    @Override
+    public SellerLinkedAccount getLinkedAccount(String sellerId) {
+        return linkedAccountRepository.findBySellerId(sellerId).orElse(null);
+    }
+
+    @Override
+    @Transactional
+    public SellerLinkedAccount refreshAccountStatus(String accountId) {
+        SellerLinkedAccount account = linkedAccountRepository.findByRazorpayAccountId(accountId)
+            .orElseThrow(() -> new RuntimeException("Linked account not found: " + accountId));
+        conditions.call("fetch_account", () -> account);
+        return account;
+    }
+
+    @Override
+    @Transactional
+    public SellerLinkedAccount suspendAccount(String sellerId, String reason) {
+        SellerLinkedAccount account = linkedAccountRepository.findBySellerId(sellerId)
+            .orElseThrow(() -> new RuntimeException("Linked account not found for seller: " + sellerId));
+
+        account.setAccountStatus(LinkedAccountStatus.SUSPENDED);
+        account.setSuspendedAt(LocalDateTime.now());
+        account.setErrorMessage("Suspended: " + reason);
+
+        return linkedAccountRepository.save(account);
+    }
+}
@@ -0,0 +1,134 @@
+package com.artwork.service.payment.simulator;
+
+import com.artwork.entity.payment.SellerBankAccount;
+import com.artwork.service.payment.RazorpayXPayoutService;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * In-process stand-in for Razorpay X payouts. Payouts come back as processing and settle through
+ * a payout.processed or payout.failed webhook. A timed-out initiation still creates the payout,
+ * so the caller sees the same ambiguous outcome a real network timeout would leave.
+ */
+@Service
+@Profile("gateway-sim")
+@Slf4j
+public class SimulatedRazorpayXPayoutService implements RazorpayXPayoutService {
+
+    private final SimulatedGatewayConditions conditions;
+    private final SimulatedWebhookEmitter webhookEmitter;
+    private final double payoutFailureRate;
+    private final Map<String, SimulatedPayout> payouts = new ConcurrentHashMap<>();
+    private final Map<String, String> payoutIdsByReference = new ConcurrentHashMap<>();
+
+    public SimulatedRazorpayXPayoutService(
+            SimulatedGatewayConditions conditions,
+            SimulatedWebhookEmitter webhookEmitter,
+            @Value("${gateway.simulator.payout-failure-rate:0.03}") double payoutFailureRate) {
+        this.conditions = conditions;
+        this.webhookEmitter = webhookEmitter;
+        this.payoutFailureRate = payoutFailureRate;
+    }
+
+
+    @Override
+    public String createContact(String sellerId, String name, String email, String phone) {
+        return conditions.call("create_contact", () -> SimulatedGatewayConditions.randomId("cont"));
+    }
+
+    @Override
+    public String createFundAccount(String contactId, SellerBankAccount bankAccount) {
+        return conditions.call("create_fund_account", () -> SimulatedGatewayConditions.randomId("fa"));
+    }
+
+    @Override
+    public PayoutResult initiatePayout(String fundAccountId, BigDecimal amount, String currency,
+                                       String referenceId, String narration) {
+        String payoutId = SimulatedGatewayConditions.randomId("pout");
+        try {
+            conditions.call("create_payout", () -> null);
+        } catch (SimulatedGatewayException e) {
+            if (e.isTimeout()) {
+                settle(payoutId, fundAccountId, amount, currency, referenceId);
+                throw e;
+            }
+            log.error("Simulated payout initiation failed for reference {}: {}", referenceId, e.getMessage());
+            return new PayoutResult(false, null, "failed", null, e.getMessage());
+        }
+
+        settle(payoutId, fundAccountId, amount, currency, referenceId);
+        return new PayoutResult(true, payoutId, "processing", null, null);
+    }
+
+    @Override
+    public PayoutResult getPayoutStatus(String payoutId) {
+        try {
+            return conditions.call("fetch_payout", () -> {
+                SimulatedPayout payout = payouts.get(payoutId);
+                return payout != null ? payout.result()
+                    : new PayoutResult(false, payoutId, "unknown", null, "The id provided does not exist");
+            });
+        } catch (SimulatedGatewayException e) {
+            return new PayoutResult(false, payoutId, "unknown", null, e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<PayoutResult> findPayoutByReference(String referenceId) {
+        return conditions.call("fetch_payout_by_reference", () -> Optional.ofNullable(payoutIdsByReference.get(referenceId))
+            .map(payouts::get)
+            .map(SimulatedPayout::result));
+    }
+
+    private void settle(String payoutId, String fundAccountId, BigDecimal amount, String currency, String referenceId) {
+        boolean failed = ThreadLocalRandom.current().nextDouble() < payoutFailureRate;
+        String utr = failed ? null : "SIMN" + Math.abs(ThreadLocalRandom.current().nextLong() % 1_000_000_000_000L);
+
+        JSONObject payout = new JSONObject();
+        payout.put("id", payoutId);
+        payout.put("entity", "payout");
+        payout.put("fund_account_id", fundAccountId);
+        payout.put("amount", amount.multiply(new BigDecimal("100")).longValue());
+        payout.put("currency", currency);
+        payout.put("status", failed ? "failed" : "processed");
+        payout.put("mode", "NEFT");
+        payout.put("reference_id", referenceId);
+        payout.put("created_at", Instant.now().getEpochSecond());
+        if (failed) {
+            payout.put("failure_reason", "Beneficiary bank rejected the transfer (simulated)");
+        } else {
+            payout.put("utr", utr);
+        }
+
+        payouts.put(payoutId, new SimulatedPayout(amount, new PayoutResult(!failed, payoutId,
+            failed ? "failed" : "processed", utr, failed ? "Beneficiary bank rejected the transfer (simulated)" : null)));
+        payoutIdsByReference.put(referenceId, payoutId);
+        webhookEmitter.emit(failed ? "payout.failed" : "payout.processed", "payout", payout);
+    }
+
+    /**
+     * Writes settled payouts as settlement report rows (entity_id,type,amount,status).
+     */
+    public void writeSettlementRows(Writer writer) throws IOException {
+        for (SimulatedPayout payout : payouts.values()) {
+            writer.write(payout.result().payoutId() + ",payout," + payout.amount().toPlainString() + ","
+                + payout.result().status() + "\n");
+        }
+    }
+
+
+    private record SimulatedPayout(BigDecimal amount, PayoutResult result) {}
+}
@@ -0,0 +1,124 @@
+package com.artwork.service.payment.simulator;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Delivers Razorpay-shaped, signed webhook events to the application's own webhook endpoint.
+ * Deliveries are delayed and occasionally duplicated, as the real gateway does.
+ */
+@Component
+@Profile("gateway-sim")
+@Slf4j
+public class SimulatedWebhookEmitter {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final OkHttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final String webhookUrl;
+    private final String webhookSecret;
+    private final long delayMs;
+    private final double duplicateRate;
+
+    public SimulatedWebhookEmitter(
+            @Value("${gateway.simulator.webhook-url:http://localhost:8081/api/webhooks/razorpay}") String webhookUrl,
+            @Value("${razorpay.webhook.secret:}") String webhookSecret,
+            @Value("${gateway.simulator.webhook-delay-ms:1500}") long delayMs,
+            @Value("${gateway.simulator.webhook-duplicate-rate:0.05}") double duplicateRate,
+            @Value("${gateway.simulator.webhook-max-requests:64}") int maxRequests,
+            @Value("${gateway.simulator.webhook-max-requests-per-host:64}") int maxRequestsPerHost) {
+        this.webhookUrl = webhookUrl;
+        this.webhookSecret = webhookSecret;
+        this.delayMs = delayMs;
+        this.duplicateRate = duplicateRate;
+        // Every delivery goes to one host, so OkHttp's default of 5 per host would queue webhooks under load.
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        this.httpClient = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(10, TimeUnit.SECONDS)
+            .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-sim-webhooks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    public void emit(String eventType, String entityName, JSONObject entity) {
+        JSONObject event = new JSONObject();
+        event.put("entity", "event");
+        event.put("account_id", "acc_simulator");
+        event.put("event", eventType);
+        event.put("contains", new JSONArray().put(entityName));
+        event.put("payload", new JSONObject().put(entityName, new JSONObject().put("entity", entity)));
+        event.put("created_at", Instant.now().getEpochSecond());
+
+        String eventId = SimulatedGatewayConditions.randomId("evt");
+        String body = event.toString();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        scheduler.schedule(() -> deliver(eventId, eventType, body), delayMs, TimeUnit.MILLISECONDS);
+        if (random.nextDouble() < duplicateRate) {
+            scheduler.schedule(() -> deliver(eventId, eventType, body),
+                delayMs + random.nextLong(Math.max(1, delayMs) * 2), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void deliver(String eventId, String eventType, String body) {
+        Request.Builder request = new Request.Builder()
+            .url(webhookUrl)
+            .header("X-Razorpay-Event-Id", eventId)
+            .post(RequestBody.create(body, JSON));
+        if (webhookSecret != null && !webhookSecret.isEmpty()) {
+            request.header("X-Razorpay-Signature", SimulatedGatewayConditions.hmacHex(body, webhookSecret));
+        }
+
+        httpClient.newCall(request.build()).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("Simulated webhook {} ({}) not delivered: {}", eventId, eventType, e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    if (!response.isSuccessful()) {
+                        log.warn("Simulated webhook {} ({}) rejected with {}", eventId, eventType, response.code());
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+    }
+}
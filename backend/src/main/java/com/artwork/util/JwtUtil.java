@@ -1,9 +1,10 @@
 package com.artwork.util;
 
+import com.artwork.security.JwtTokenService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -15,10 +16,10 @@ import java.util.Map;
 import java.util.function.Function;
 
 @Component("legacyJwtUtil")
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret:defaultSecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm}")
-    private String secret;
+    private final JwtTokenService jwtTokenService;
 
     @Value("${jwt.expiration:86400000}") 
     private Long expiration;
@@ -45,15 +46,11 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtTokenService.parseClaims(token);
     }
 
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return jwtTokenService.getSigningKey();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -1,59 +1,149 @@
 package com.artwork.util;
 
 import com.artwork.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class UsernameGenerator {
-    
+
+    private static final int MAX_SUFFIX = 9999;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Set<String> USERNAME_CONSTRAINTS = Set.of("idx_user_username", "ux_users_username_lower");
+    // Constraint names Hibernate generates for the column are hashed, so fall back to the key the database reports.
+    private static final List<String> USERNAME_KEY_MARKERS = List.of("(username)=", "(username_lower)=", "users(username");
+
     private final UserRepository userRepository;
-    
-    
+    private final TransactionTemplate attemptTransaction;
+
+    public UsernameGenerator(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.attemptTransaction = new TransactionTemplate(transactionManager);
+    }
+
+
     public String generateUniqueUsername(String email, String firstName) {
-        
+        return nextAvailable(baseUsername(email, firstName), Collections.emptySet());
+    }
+
+
+    /**
+     * Runs {@code registration} with a free username, in a transaction of its own per attempt. A concurrent
+     * signup taking the same name fails the attempt's flush, which rolls back everything the attempt wrote,
+     * so it has to be called outside any transaction and the registration must be safe to run again.
+     */
+    public <T> T withUniqueUsername(String email, String firstName, Function<String, T> registration) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Username retries need their own transaction; call outside one");
+        }
+        String base = baseUsername(email, firstName);
+        Set<String> rejected = new HashSet<>();
+
+        for (int attempt = 1; ; attempt++) {
+            String username = nextAvailable(base, rejected);
+            try {
+                return attemptTransaction.execute(status -> registration.apply(username));
+            } catch (DataIntegrityViolationException e) {
+                if (!isUsernameConflict(e) || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Username {} was taken concurrently, retrying", username);
+                rejected.add(username);
+            }
+        }
+    }
+
+    static boolean isUsernameConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && USERNAME_CONSTRAINTS.contains(violation.getConstraintName().toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null) {
+                String lower = message.toLowerCase(Locale.ROOT);
+                if (USERNAME_KEY_MARKERS.stream().anyMatch(lower::contains)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String nextAvailable(String base, Collection<String> rejected) {
+        List<String> taken = userRepository.findUsernamesStartingWith(base);
+
+        BitSet usedSuffixes = new BitSet();
+        for (String name : taken) {
+            markSuffix(base, name, usedSuffixes);
+        }
+        for (String name : rejected) {
+            markSuffix(base, name, usedSuffixes);
+        }
+
+        int suffix = usedSuffixes.nextClearBit(0);
+        if (suffix == 0) {
+            return base;
+        }
+        if (suffix > MAX_SUFFIX) {
+            return base + UUID.randomUUID().toString().substring(0, 4);
+        }
+        return base + suffix;
+    }
+
+    private static void markSuffix(String base, String name, BitSet usedSuffixes) {
+        if (name == null || !name.startsWith(base)) {
+            return;
+        }
+        String rest = name.substring(base.length());
+        if (rest.isEmpty()) {
+            usedSuffixes.set(0);
+            return;
+        }
+        if (rest.length() > 4 || rest.charAt(0) == '0' || !rest.chars().allMatch(Character::isDigit)) {
+            return;
+        }
+        usedSuffixes.set(Integer.parseInt(rest));
+    }
+
+    private static String baseUsername(String email, String firstName) {
         String baseUsername = email.split("@")[0];
-        
-        
+
         baseUsername = baseUsername.replaceAll("[^a-zA-Z0-9_]", "").toLowerCase();
-        
-        
+
         if (baseUsername.isEmpty() && firstName != null) {
             baseUsername = firstName.replaceAll("[^a-zA-Z0-9_]", "").toLowerCase();
         }
-        
-        
+
         if (baseUsername.isEmpty()) {
             baseUsername = "user";
         }
-        
-        
+
         if (baseUsername.length() < 3) {
             baseUsername = baseUsername + "user";
         }
-        
-        
+
         if (baseUsername.length() > 15) {
             baseUsername = baseUsername.substring(0, 15);
         }
-        
-        
-        String username = baseUsername;
-        int counter = 1;
-        while (userRepository.findByUsername(username).isPresent()) {
-            username = baseUsername + counter;
-            counter++;
-            
-            if (counter > 9999) {
-                username = baseUsername + UUID.randomUUID().toString().substring(0, 4);
-                break;
-            }
-        }
-        
-        return username;
+
+        return baseUsername;
     }
 }
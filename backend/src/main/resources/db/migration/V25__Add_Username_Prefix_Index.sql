@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_users_username_lower_prefix ON users (LOWER(username) text_pattern_ops);
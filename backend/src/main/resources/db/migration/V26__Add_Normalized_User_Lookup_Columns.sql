@@ -0,0 +1,45 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_lower VARCHAR(255);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username_lower VARCHAR(50);
+
+
+-- Case-variant duplicates would fail the unique indexes below. The oldest account in each group gets the
+-- lowered value; the others keep NULL, which the unique index allows, and are reported for a manual merge.
+UPDATE users u
+SET email_lower = ranked.lowered
+FROM (SELECT id, LOWER(email) AS lowered,
+             ROW_NUMBER() OVER (PARTITION BY LOWER(email) ORDER BY email_lower IS NULL, created_at NULLS LAST, id) AS rn
+      FROM users) ranked
+WHERE u.id = ranked.id AND u.email_lower IS NULL AND ranked.rn = 1;
+
+UPDATE users u
+SET username_lower = ranked.lowered
+FROM (SELECT id, LOWER(username) AS lowered,
+             ROW_NUMBER() OVER (PARTITION BY LOWER(username) ORDER BY username_lower IS NULL, created_at NULLS LAST, id) AS rn
+      FROM users) ranked
+WHERE u.id = ranked.id AND u.username_lower IS NULL AND ranked.rn = 1;
+
+DO $$
+DECLARE
+    duplicate RECORD;
+BEGIN
+    FOR duplicate IN
+        SELECT id, email, username FROM users WHERE email_lower IS NULL OR username_lower IS NULL
+    LOOP
+        RAISE WARNING 'User % (email %, username %) duplicates another account case-insensitively; merge or rename it',
+            duplicate.id, duplicate.email, duplicate.username;
+    END LOOP;
+END $$;
+
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (email_lower);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_lower ON users (username_lower);
+CREATE INDEX IF NOT EXISTS idx_users_username_lower_pattern ON users (username_lower text_pattern_ops);
+
+DROP INDEX IF EXISTS idx_users_username_lower_prefix;
+
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_username_lower_trgm ON users USING gin (username_lower gin_trgm_ops);
@@ -0,0 +1,23 @@
+WITH ranked AS (
+    SELECT id,
+           SUM(quantity) OVER (PARTITION BY user_id, artwork_id) AS total_quantity,
+           ROW_NUMBER() OVER (PARTITION BY user_id, artwork_id ORDER BY created_at, id) AS rn
+    FROM cart_items
+)
+UPDATE cart_items c
+SET quantity = r.total_quantity
+FROM ranked r
+WHERE c.id = r.id AND r.rn = 1 AND c.quantity <> r.total_quantity;
+
+
+DELETE FROM cart_items c
+USING (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, artwork_id ORDER BY created_at, id) AS rn
+    FROM cart_items
+) d
+WHERE c.id = d.id AND d.rn > 1;
+
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_cart_items_user_artwork ON cart_items (user_id, artwork_id);
+
+DROP INDEX IF EXISTS idx_cart_user;
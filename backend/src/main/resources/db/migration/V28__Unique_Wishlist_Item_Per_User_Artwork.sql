@@ -0,0 +1,11 @@
+DELETE FROM wishlist_items w
+USING (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, artwork_id ORDER BY created_at, id) AS rn
+    FROM wishlist_items
+) d
+WHERE w.id = d.id AND d.rn > 1;
+
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_wishlist_items_user_artwork ON wishlist_items (user_id, artwork_id);
+
+DROP INDEX IF EXISTS idx_wishlist_user;
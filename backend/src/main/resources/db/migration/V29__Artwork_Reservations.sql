@@ -0,0 +1,7 @@
+ALTER TABLE artworks ADD COLUMN IF NOT EXISTS reserved_order_id VARCHAR(36);
+ALTER TABLE artworks ADD COLUMN IF NOT EXISTS reserved_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_artwork_reserved_order ON artworks (reserved_order_id)
+    WHERE reserved_order_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_artwork_reserved_until ON artworks (reserved_until)
+    WHERE reserved_until IS NOT NULL;
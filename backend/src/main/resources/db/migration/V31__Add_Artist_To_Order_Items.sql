@@ -0,0 +1,8 @@
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS artist_id VARCHAR(36);
+
+UPDATE order_items oi
+SET artist_id = a.artist_id
+FROM artworks a
+WHERE a.id = oi.artwork_id AND oi.artist_id IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_order_item_artist ON order_items (artist_id, order_id);
@@ -0,0 +1,34 @@
+-- Duplicate gateway ids point at real money movements, so they are not cleaned up automatically: the
+-- migration stops and lists them, and each group has to be resolved by hand before it is re-run.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(gateway_order_id || ' (' || ids || ')', '; ')
+    INTO duplicates
+    FROM (SELECT gateway_order_id, string_agg(id, ', ' ORDER BY created_at) AS ids
+          FROM payments
+          WHERE gateway_order_id IS NOT NULL
+          GROUP BY gateway_order_id
+          HAVING COUNT(*) > 1) dup;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'payments share a gateway_order_id, resolve before adding ux_payments_gateway_order_id: %', duplicates;
+    END IF;
+
+    SELECT string_agg(gateway_payout_id || ' (' || ids || ')', '; ')
+    INTO duplicates
+    FROM (SELECT gateway_payout_id, string_agg(id, ', ' ORDER BY created_at) AS ids
+          FROM payouts
+          WHERE gateway_payout_id IS NOT NULL
+          GROUP BY gateway_payout_id
+          HAVING COUNT(*) > 1) dup;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'payouts share a gateway_payout_id, resolve before adding ux_payouts_gateway_payout_id: %', duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payments_gateway_order_id ON payments (gateway_order_id)
+    WHERE gateway_order_id IS NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payouts_gateway_payout_id ON payouts (gateway_payout_id)
+    WHERE gateway_payout_id IS NOT NULL;
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    entity_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    claimed_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_webhook_events_event_id ON webhook_events (event_id);
+CREATE INDEX IF NOT EXISTS idx_webhook_events_status_next_attempt ON webhook_events (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_webhook_events_entity ON webhook_events (entity_key, id);
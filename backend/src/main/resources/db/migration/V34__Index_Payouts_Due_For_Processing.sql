@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_payouts_status_scheduled_at ON payouts (status, scheduled_at);
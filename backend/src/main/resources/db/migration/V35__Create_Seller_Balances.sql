@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS seller_balances (
+    seller_id VARCHAR(100) PRIMARY KEY,
+    available_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    reserved_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    paid_out_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    total_earnings NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    commission_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    tds_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    settled_splits BIGINT NOT NULL DEFAULT 0,
+    reconciled_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
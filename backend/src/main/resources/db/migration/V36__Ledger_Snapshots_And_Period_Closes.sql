@@ -0,0 +1,25 @@
+CREATE INDEX IF NOT EXISTS idx_ledger_account_created_at ON ledger_entries (account_type, account_id, created_at);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_ledger_transaction_account ON ledger_entries (transaction_id, account_type, account_id);
+
+CREATE TABLE IF NOT EXISTS ledger_account_snapshots (
+    id VARCHAR(110) PRIMARY KEY,
+    account_type VARCHAR(50) NOT NULL,
+    account_id VARCHAR(50) NOT NULL,
+    balance NUMERIC(16, 2) NOT NULL DEFAULT 0,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    as_of TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS ledger_period_closes (
+    id BIGSERIAL PRIMARY KEY,
+    period VARCHAR(7) NOT NULL,
+    account_type VARCHAR(50) NOT NULL,
+    account_id VARCHAR(50) NOT NULL,
+    debit_total NUMERIC(16, 2) NOT NULL,
+    credit_total NUMERIC(16, 2) NOT NULL,
+    entry_count BIGINT NOT NULL,
+    closed_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_ledger_period_account ON ledger_period_closes (period, account_type, account_id);
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS payment_analytics_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    granularity VARCHAR(5) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    metric VARCHAR(20) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    method VARCHAR(50) NOT NULL,
+    txn_count BIGINT NOT NULL,
+    amount NUMERIC(16, 2) NOT NULL,
+    refreshed_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payment_rollup_bucket
+    ON payment_analytics_rollups (granularity, bucket_start, metric, status, method);
+
+CREATE INDEX IF NOT EXISTS idx_payments_created_at ON payments (created_at);
+CREATE INDEX IF NOT EXISTS idx_payments_updated_at ON payments (updated_at);
+CREATE INDEX IF NOT EXISTS idx_refunds_created_at ON refunds (created_at);
+CREATE INDEX IF NOT EXISTS idx_refunds_updated_at ON refunds (updated_at);
+CREATE INDEX IF NOT EXISTS idx_splits_created_at ON payment_splits (created_at);
+CREATE INDEX IF NOT EXISTS idx_splits_updated_at ON payment_splits (updated_at);
@@ -0,0 +1,52 @@
+CREATE TABLE IF NOT EXISTS settlement_reconciliations (
+    id BIGSERIAL PRIMARY KEY,
+    source_name VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    period_start TIMESTAMP,
+    period_end TIMESTAMP,
+    rows_read BIGINT,
+    rows_matched BIGINT,
+    rows_skipped BIGINT,
+    malformed_rows BIGINT,
+    mismatches BIGINT,
+    error_message VARCHAR(1000),
+    owner_id VARCHAR(64),
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_recon_created_at ON settlement_reconciliations (created_at);
+CREATE INDEX IF NOT EXISTS idx_settlement_recon_status_heartbeat ON settlement_reconciliations (status, heartbeat_at);
+
+CREATE TABLE IF NOT EXISTS settlement_mismatches (
+    id BIGSERIAL PRIMARY KEY,
+    reconciliation_id BIGINT NOT NULL,
+    mismatch_type VARCHAR(30) NOT NULL,
+    entity_type VARCHAR(10) NOT NULL,
+    gateway_id VARCHAR(100),
+    internal_id VARCHAR(255),
+    reported_amount NUMERIC(12, 2),
+    internal_amount NUMERIC(12, 2),
+    reported_status VARCHAR(30),
+    internal_status VARCHAR(30),
+    line_number BIGINT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_mismatches_recon_type
+    ON settlement_mismatches (reconciliation_id, mismatch_type, id);
+
+CREATE TABLE IF NOT EXISTS settlement_report_entries (
+    id BIGSERIAL PRIMARY KEY,
+    reconciliation_id BIGINT NOT NULL,
+    entity_type VARCHAR(10) NOT NULL,
+    gateway_id VARCHAR(100) NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_settlement_report_entries
+    ON settlement_report_entries (reconciliation_id, entity_type, gateway_id);
+
+CREATE INDEX IF NOT EXISTS idx_refunds_gateway_refund_id ON refunds (gateway_refund_id);
+CREATE INDEX IF NOT EXISTS idx_payouts_created_at ON payouts (created_at);
@@ -0,0 +1,88 @@
+package com.artwork.cache;
+
+import com.artwork.dto.ArtworkDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Encode/decode cost of a cached artwork page with the Smile/LZ4 codec against the JSON serializer it replaced.
+ * Run with {@code main} from the test classpath; it is not part of the surefire run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactCacheSerializerBenchmark {
+
+    @Param({"12", "48"})
+    private int pageSize;
+
+    private CompactCacheSerializer compact;
+    private GenericJackson2JsonRedisSerializer json;
+    private CachedPage<ArtworkDto> page;
+    private byte[] compactBytes;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        compact = new CompactCacheSerializer(1024);
+        json = new GenericJackson2JsonRedisSerializer();
+
+        List<ArtworkDto> artworks = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            artworks.add(CompactCacheSerializerTest.artwork("artwork-" + i));
+        }
+        page = CachedPage.of(new PageImpl<>(artworks,
+                PageRequest.of(0, pageSize, Sort.by(Sort.Order.desc("createdAt"))), 500));
+        compactBytes = compact.serialize(page);
+        jsonBytes = json.serialize(page);
+        System.out.printf("%n%d artworks: compact %d bytes, json %d bytes%n", pageSize, compactBytes.length, jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize() {
+        return compact.serialize(page);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return compact.deserialize(compactBytes);
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return json.serialize(page);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return json.deserialize(jsonBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CompactCacheSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.artwork.cache;
+
+import com.artwork.dto.ArtworkDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class CompactCacheSerializerTest {
+
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer(1024);
+
+    @Test
+    void boxedScalarsKeepTheirType() {
+        assertThat(roundTrip(42L)).isEqualTo(42L).isInstanceOf(Long.class);
+        assertThat(roundTrip(new BigDecimal("12.50"))).isEqualTo(new BigDecimal("12.50"));
+        assertThat(roundTrip("plain")).isEqualTo("plain");
+        assertThat(roundTrip(Map.of("count", 7L))).isEqualTo(Map.of("count", 7L));
+    }
+
+    @Test
+    void recordsAndFinalClassesRoundTrip() {
+        Stats stats = new Stats("prints", 3L, LocalDateTime.of(2026, 1, 2, 3, 4));
+        assertThat(roundTrip(stats)).isEqualTo(stats);
+        assertThat(roundTrip(new Label("featured"))).isEqualTo(new Label("featured"));
+        assertThat(roundTrip(List.of(stats))).isEqualTo(List.of(stats));
+    }
+
+    @Test
+    void cachedPageKeepsContentPagingAndSort() {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("title").ignoreCase());
+        Page<ArtworkDto> page = new PageImpl<>(List.of(artwork("a1"), artwork("a2")), PageRequest.of(2, 2, sort), 9);
+
+        Object restored = roundTrip(CachedPage.of(page));
+
+        assertThat(restored).isInstanceOf(CachedPage.class);
+        Page<?> cached = (Page<?>) restored;
+        assertThat(cached.getContent()).isEqualTo(page.getContent());
+        assertThat(cached.getNumber()).isEqualTo(2);
+        assertThat(cached.getSize()).isEqualTo(2);
+        assertThat(cached.getTotalElements()).isEqualTo(9);
+        assertThat(cached.getSort()).isEqualTo(sort);
+    }
+
+    @Test
+    void compressedValuesRoundTrip() {
+        List<ArtworkDto> artworks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            artworks.add(artwork("artwork-" + i));
+        }
+        byte[] bytes = serializer.serialize(artworks);
+
+        assertThat(bytes[0]).isEqualTo((byte) 0x04);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(artworks);
+    }
+
+    @Test
+    void legacyEntriesAreTreatedAsMisses() {
+        assertThat(serializer.deserialize(new byte[] {0x01, 0x00})).isNull();
+        assertThat(serializer.deserialize(new byte[] {0x02, 0x00})).isNull();
+    }
+
+    private Object roundTrip(Object value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+    static ArtworkDto artwork(String id) {
+        ArtworkDto dto = new ArtworkDto();
+        dto.setId(id);
+        dto.setTitle("Title " + id);
+        dto.setDescription("Oil on canvas, signed and framed");
+        dto.setPrice(1250.0);
+        dto.setCategory("Painting");
+        dto.setMedium("Oil");
+        dto.setWidth(40.0);
+        dto.setHeight(60.0);
+        dto.setImages(List.of("https://cdn.example.com/" + id + ".jpg"));
+        dto.setTags(List.of("abstract", "blue"));
+        dto.setIsAvailable(true);
+        return dto;
+    }
+
+
+    public record Stats(String category, Long count, LocalDateTime updatedAt) {}
+
+    public static final class Label {
+
+        private final String name;
+
+        public Label(@com.fasterxml.jackson.annotation.JsonProperty("name") String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Label label && label.name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.artwork.entity.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Insert throughput into a string primary key index with time-ordered UUIDv7 ids against random UUIDv4 ids.
+ * Each operation inserts one batch into an H2 table pre-filled with {@code existingRows}, so the v4 case pays for
+ * scattered index pages while v7 appends to the right edge.
+ * Run with {@code main} from the test classpath; it is not part of the surefire run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidV7GeneratorBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"v4", "v7"})
+    private String idType;
+
+    @Param({"200000"})
+    private int existingRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid_benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS benchmark_rows");
+            statement.execute("CREATE TABLE benchmark_rows (id VARCHAR(36) PRIMARY KEY, payload VARCHAR(64))");
+        }
+        insert = connection.prepareStatement("INSERT INTO benchmark_rows (id, payload) VALUES (?, ?)");
+        connection.setAutoCommit(false);
+        for (int i = 0; i < existingRows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        insert.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setString(1, nextId());
+            insert.setString(2, "payload");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @Benchmark
+    public String generate() {
+        return nextId();
+    }
+
+    private String nextId() {
+        return ("v7".equals(idType) ? UuidV7Generator.next() : UUID.randomUUID()).toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UuidV7GeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.artwork.event.queue;
+
+import com.artwork.entity.OutboxEvent;
+import com.artwork.entity.OutboxStatus;
+import com.artwork.entity.payment.WebhookEvent;
+import com.artwork.entity.payment.WebhookEventStatus;
+import com.artwork.event.outbox.OutboxRelay;
+import com.artwork.repository.OutboxEventRepository;
+import com.artwork.repository.payment.WebhookEventRepository;
+import com.artwork.service.payment.impl.RazorpayWebhookInbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OrderedClaimDispatcherTest {
+
+    private static final OrderedClaimDispatcher.Settings SETTINGS =
+            new OrderedClaimDispatcher.Settings(100, 2, 1, 3, 1000, 60000, 300000, 7);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private WebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void claimsAnOrderedPrefixOfEachAggregate() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent a1 = saveOutbox("order", "a", OutboxStatus.PENDING, now.minusMinutes(1));
+        OutboxEvent a2 = saveOutbox("order", "a", OutboxStatus.PENDING, now.minusMinutes(1));
+        saveOutbox("order", "a", OutboxStatus.PENDING, now.minusMinutes(1));
+        saveOutbox("order", "b", OutboxStatus.PENDING, now.plusMinutes(5));
+        saveOutbox("order", "b", OutboxStatus.PENDING, now.minusMinutes(1));
+        saveOutbox("order", "c", OutboxStatus.IN_FLIGHT, now.minusMinutes(1));
+        saveOutbox("order", "c", OutboxStatus.PENDING, now.minusMinutes(1));
+        OutboxEvent d1 = saveOutbox("user", "a", OutboxStatus.PENDING, now.minusMinutes(1));
+
+        List<OutboxEvent> claimed = outboxDispatcher().claimBatch();
+
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactly(a1.getId(), a2.getId(), d1.getId());
+    }
+
+    @Test
+    void claimsAnOrderedPrefixOfEachEntity() {
+        LocalDateTime now = LocalDateTime.now();
+        WebhookEvent a1 = saveWebhook("payment:a", WebhookEventStatus.PENDING, now.minusMinutes(1));
+        WebhookEvent a2 = saveWebhook("payment:a", WebhookEventStatus.PENDING, now.minusMinutes(1));
+        saveWebhook("payment:a", WebhookEventStatus.PENDING, now.minusMinutes(1));
+        saveWebhook("payment:b", WebhookEventStatus.PENDING, now.plusMinutes(5));
+        saveWebhook("payment:b", WebhookEventStatus.PENDING, now.minusMinutes(1));
+        saveWebhook("payment:c", WebhookEventStatus.PROCESSING, now.minusMinutes(1));
+        saveWebhook("payment:c", WebhookEventStatus.PENDING, now.minusMinutes(1));
+        WebhookEvent d1 = saveWebhook("payout:a", WebhookEventStatus.PENDING, now.minusMinutes(1));
+
+        List<WebhookEvent> claimed = webhookDispatcher().claimBatch();
+
+        assertThat(claimed).extracting(WebhookEvent::getId).containsExactly(a1.getId(), a2.getId(), d1.getId());
+    }
+
+    @Test
+    void flagsEventsWhoseOlderSiblingsWereNotClaimed() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent a1 = saveOutbox("order", "a", OutboxStatus.PENDING, now);
+        OutboxEvent a2 = saveOutbox("order", "a", OutboxStatus.PENDING, now);
+        OutboxEvent a3 = saveOutbox("order", "a", OutboxStatus.PENDING, now);
+        WebhookEvent b1 = saveWebhook("payment:b", WebhookEventStatus.PENDING, now);
+        WebhookEvent b2 = saveWebhook("payment:b", WebhookEventStatus.PENDING, now);
+
+        OrderedClaimDispatcher<OutboxEvent> outbox = outboxDispatcher();
+        assertThat(outbox.findOutOfOrder(List.of(a1.getId(), a2.getId(), a3.getId()))).isEmpty();
+        assertThat(outbox.findOutOfOrder(List.of(a3.getId()))).containsExactly(a3.getId());
+
+        OrderedClaimDispatcher<WebhookEvent> webhook = webhookDispatcher();
+        assertThat(webhook.findOutOfOrder(List.of(b1.getId(), b2.getId()))).isEmpty();
+        assertThat(webhook.findOutOfOrder(List.of(b2.getId()))).containsExactly(b2.getId());
+    }
+
+    private OrderedClaimDispatcher<OutboxEvent> outboxDispatcher() {
+        return new OrderedClaimDispatcher<>("outbox", OutboxRelay.TABLE, SETTINGS,
+                outboxEventRepository::findAllById, event -> { }, false,
+                jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+
+    private OrderedClaimDispatcher<WebhookEvent> webhookDispatcher() {
+        return new OrderedClaimDispatcher<>("webhook", RazorpayWebhookInbox.TABLE, SETTINGS,
+                webhookEventRepository::findAllById, event -> { }, true,
+                jdbcTemplate, transactionManager, new SimpleMeterRegistry());
+    }
+
+    private OutboxEvent saveOutbox(String aggregateType, String aggregateId, OutboxStatus status,
+                                   LocalDateTime nextAttemptAt) {
+        return outboxEventRepository.saveAndFlush(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType("EMAIL")
+                .payload("{}")
+                .status(status)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    private WebhookEvent saveWebhook(String entityKey, WebhookEventStatus status, LocalDateTime nextAttemptAt) {
+        return webhookEventRepository.saveAndFlush(WebhookEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("payment.captured")
+                .entityKey(entityKey)
+                .payload("{}")
+                .status(status)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+}
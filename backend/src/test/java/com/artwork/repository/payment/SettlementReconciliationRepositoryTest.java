@@ -0,0 +1,55 @@
+package com.artwork.repository.payment;
+
+import com.artwork.entity.payment.SettlementReconciliation;
+import com.artwork.entity.payment.SettlementReconciliationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SettlementReconciliationRepositoryTest {
+
+    @Autowired
+    private SettlementReconciliationRepository reconciliationRepository;
+
+    @Test
+    void onlyRunsWithAStaleHeartbeatAreFailed() {
+        LocalDateTime now = LocalDateTime.now();
+        SettlementReconciliation stale = save("node-a", now.minusMinutes(10));
+        SettlementReconciliation live = save("node-b", now.minusSeconds(20));
+        LocalDateTime staleBefore = now.minusMinutes(5);
+
+        assertThat(reconciliationRepository.findStaleIds(staleBefore)).containsExactly(stale.getId());
+        assertThat(reconciliationRepository.failIfStale(live.getId(), staleBefore, "gone", now)).isZero();
+        assertThat(reconciliationRepository.failIfStale(stale.getId(), staleBefore, "gone", now)).isEqualTo(1);
+    }
+
+    @Test
+    void ownerCannotCompleteARunFailedAsStale() {
+        LocalDateTime now = LocalDateTime.now();
+        SettlementReconciliation run = save("node-a", now.minusMinutes(10));
+        assertThat(reconciliationRepository.markRunning(run.getId(), "node-b", now)).isZero();
+        assertThat(reconciliationRepository.markRunning(run.getId(), "node-a", now.minusMinutes(10))).isEqualTo(1);
+
+        assertThat(reconciliationRepository.failIfStale(run.getId(), now.minusMinutes(5), "gone", now)).isEqualTo(1);
+        assertThat(reconciliationRepository.finish(run.getId(), "node-a", SettlementReconciliationStatus.COMPLETED,
+                null, 10, 10, 0, 0, 0, now)).isZero();
+    }
+
+    private SettlementReconciliation save(String ownerId, LocalDateTime heartbeatAt) {
+        return reconciliationRepository.saveAndFlush(SettlementReconciliation.builder()
+                .sourceName("report.csv")
+                .ownerId(ownerId)
+                .heartbeatAt(heartbeatAt)
+                .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.artwork.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Per-request cost of verifying a bearer token through the verified-claims cache against parsing and checking
+ * the signature every time; {@code activeTokens} is the number of distinct tokens in rotation.
+ * Run with {@code main} from the test classpath; it is not part of the surefire run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"1", "1000"})
+    private int activeTokens;
+
+    private JwtTokenService jwtTokenService;
+    private JwtParser parser;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService();
+        ReflectionTestUtils.setField(jwtTokenService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenService, "verifiedCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtTokenService, "verifiedCacheMaxTtlSeconds", 300L);
+        jwtTokenService.init();
+        parser = Jwts.parserBuilder().setSigningKey(jwtTokenService.getSigningKey()).build();
+
+        tokens = new String[activeTokens];
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < activeTokens; i++) {
+            tokens[i] = Jwts.builder()
+                    .setSubject("user-" + i)
+                    .claim("role", "CUSTOMER")
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(jwtTokenService.getSigningKey(), SignatureAlgorithm.HS256)
+                    .compact();
+        }
+    }
+
+    @Benchmark
+    public Optional<Claims> cachedVerify() {
+        return jwtTokenService.verify(nextToken());
+    }
+
+    @Benchmark
+    public Claims parseAndVerifySignature() {
+        return parser.parseClaimsJws(nextToken()).getBody();
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtTokenServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
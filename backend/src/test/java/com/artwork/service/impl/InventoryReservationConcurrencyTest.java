@@ -0,0 +1,140 @@
+package com.artwork.service.impl;
+
+import com.artwork.entity.Artwork;
+import com.artwork.entity.Role;
+import com.artwork.entity.User;
+import com.artwork.exception.ArtworkUnavailableException;
+import com.artwork.repository.ArtworkRepository;
+import com.artwork.repository.UserRepository;
+import com.artwork.service.InventoryReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(InventoryReservationServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryReservationConcurrencyTest {
+
+    private static final int CHECKOUTS = 16;
+
+    @Autowired
+    private InventoryReservationService reservationService;
+
+    @Autowired
+    private ArtworkRepository artworkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        artworkRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCheckoutsForTheLastUnitHaveExactlyOneWinner() throws Exception {
+        String artworkId = saveAvailableArtwork();
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        CountDownLatch ready = new CountDownLatch(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CHECKOUTS);
+
+        List<Future<String>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < CHECKOUTS; i++) {
+                String orderId = UUID.randomUUID().toString();
+                attempts.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        checkout.executeWithoutResult(status ->
+                                reservationService.reserve(orderId, List.of(artworkId), "RAZORPAY"));
+                        return orderId;
+                    } catch (ArtworkUnavailableException e) {
+                        return null;
+                    }
+                }));
+            }
+            assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+            start.countDown();
+
+            List<String> winners = new ArrayList<>();
+            for (Future<String> attempt : attempts) {
+                String orderId = attempt.get(30, TimeUnit.SECONDS);
+                if (orderId != null) {
+                    winners.add(orderId);
+                }
+            }
+
+            assertThat(winners).hasSize(1);
+            Artwork artwork = artworkRepository.findById(artworkId).orElseThrow();
+            assertThat(artwork.getIsAvailable()).isFalse();
+            assertThat(artwork.getReservedOrderId()).isEqualTo(winners.get(0));
+            assertThat(artwork.getReservedUntil()).isNotNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void confirmationAfterTheSweepReleasedTheHoldReportsItLost() {
+        String artworkId = saveAvailableArtwork();
+        String lateOrderId = UUID.randomUUID().toString();
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        checkout.executeWithoutResult(status -> reservationService.reserve(lateOrderId, List.of(artworkId), "RAZORPAY"));
+
+        Artwork held = artworkRepository.findById(artworkId).orElseThrow();
+        held.setReservedUntil(LocalDateTime.now().minusMinutes(1));
+        artworkRepository.save(held);
+        assertThat(reservationService.releaseExpiredReservations()).isEqualTo(1);
+
+        String nextOrderId = UUID.randomUUID().toString();
+        checkout.executeWithoutResult(status -> reservationService.reserve(nextOrderId, List.of(artworkId), "RAZORPAY"));
+
+        assertThat(reservationService.confirm(lateOrderId)).isFalse();
+        assertThat(reservationService.confirm(nextOrderId)).isTrue();
+        assertThat(artworkRepository.findById(artworkId).orElseThrow().getReservedOrderId()).isEqualTo(nextOrderId);
+    }
+
+    private String saveAvailableArtwork() {
+        User artist = userRepository.save(User.builder()
+                .email("artist-" + UUID.randomUUID() + "@example.com")
+                .username("artist-" + UUID.randomUUID().toString().substring(0, 8))
+                .password("secret")
+                .role(Role.ARTIST)
+                .build());
+        return artworkRepository.save(Artwork.builder()
+                .title("Last unit")
+                .price(100.0)
+                .artist(artist)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,70 @@
+package com.artwork.service.impl;
+
+import com.artwork.entity.Order;
+import com.artwork.entity.OrderStatus;
+import com.artwork.repository.ArtworkRepository;
+import com.artwork.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+class InventoryReservationSweepTest {
+
+    private ArtworkRepository artworkRepository;
+    private OrderRepository orderRepository;
+    private InventoryReservationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        artworkRepository = mock(ArtworkRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        service = new InventoryReservationServiceImpl(artworkRepository, orderRepository, transactionManager,
+                15, Set.of("RAZORPAY"), 2);
+    }
+
+    @Test
+    void failingOrderDoesNotStopTheSweepAndIsBackedOff() {
+        when(artworkRepository.findOrderIdsWithExpiredReservations(any(), eq(""), any(Pageable.class)))
+                .thenReturn(List.of("order-a", "order-b"));
+        when(artworkRepository.findOrderIdsWithExpiredReservations(any(), eq("order-b"), any(Pageable.class)))
+                .thenReturn(List.of("order-c"));
+        when(orderRepository.findById(anyString())).thenReturn(Optional.of(pendingOrder()));
+        when(orderRepository.findById("order-a")).thenThrow(new QueryTimeoutException("lock timeout"));
+        when(artworkRepository.releaseExpiredReservation(anyString(), any(LocalDateTime.class))).thenReturn(1);
+
+        assertThat(service.releaseExpiredReservations()).isEqualTo(2);
+        verify(artworkRepository).releaseExpiredReservation(eq("order-b"), any(LocalDateTime.class));
+        verify(artworkRepository).releaseExpiredReservation(eq("order-c"), any(LocalDateTime.class));
+
+        assertThat(service.releaseExpiredReservations()).isEqualTo(2);
+        verify(orderRepository, times(1)).findById("order-a");
+        verify(artworkRepository, never()).releaseExpiredReservation(eq("order-a"), any(LocalDateTime.class));
+    }
+
+    private static Order pendingOrder() {
+        Order order = new Order();
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+}
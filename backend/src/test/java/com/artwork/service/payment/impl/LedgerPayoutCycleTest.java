@@ -0,0 +1,97 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.entity.payment.Payout;
+import com.artwork.entity.payment.PayoutStatus;
+import com.artwork.repository.payment.LedgerAccountSnapshotRepository;
+import com.artwork.repository.payment.LedgerEntryRepository;
+import com.artwork.repository.payment.LedgerPeriodCloseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+class LedgerPayoutCycleTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private final Set<String> posted = new HashSet<>();
+    private LedgerServiceImpl ledgerService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        LedgerEntryRepository ledgerEntryRepository = mock(LedgerEntryRepository.class);
+        when(ledgerEntryRepository.existsByTransactionId(anyString()))
+                .thenAnswer(invocation -> posted.contains(invocation.<String>getArgument(0)));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2);
+        ledgerService = new LedgerServiceImpl(jdbcTemplate, ledgerEntryRepository,
+                mock(LedgerAccountSnapshotRepository.class), mock(LedgerPeriodCloseRepository.class));
+    }
+
+    @Test
+    void completionAfterAReversalIsPostedUnderANewTransaction() {
+        posted.add("payout:p1");
+        posted.add("payout-reversal:p1");
+
+        ledgerService.postPayoutCompleted(payout());
+
+        assertThat(postedTransactionId()).isEqualTo("payout:p1:1");
+    }
+
+    @Test
+    void secondReversalFollowsTheSecondCompletion() {
+        posted.add("payout:p1");
+        posted.add("payout-reversal:p1");
+        posted.add("payout:p1:1");
+
+        ledgerService.postPayoutReversed(payout());
+
+        assertThat(postedTransactionId()).isEqualTo("payout-reversal:p1:1");
+    }
+
+    @Test
+    void replayedCompletionReusesTheSameTransaction() {
+        posted.add("payout:p1");
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(0);
+
+        ledgerService.postPayoutCompleted(payout());
+
+        assertThat(postedTransactionId()).isEqualTo("payout:p1");
+    }
+
+    @Test
+    void partiallyPostedTransactionIsRejected() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+
+        assertThatThrownBy(() -> ledgerService.postPayoutCompleted(payout()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("payout:p1");
+    }
+
+    private String postedTransactionId() {
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        return (String) args.getValue()[1];
+    }
+
+    private static Payout payout() {
+        Payout payout = new Payout();
+        payout.setId("p1");
+        payout.setSellerId("seller-1");
+        payout.setAmount(new BigDecimal("500.00"));
+        payout.setStatus(PayoutStatus.COMPLETED);
+        return payout;
+    }
+}
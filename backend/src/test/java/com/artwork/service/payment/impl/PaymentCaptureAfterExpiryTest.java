@@ -0,0 +1,107 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.dto.payment.PaymentVerificationRequest;
+import com.artwork.dto.payment.PaymentVerificationResponse;
+import com.artwork.entity.payment.Payment;
+import com.artwork.entity.payment.PaymentStatus;
+import com.artwork.repository.payment.PaymentRepository;
+import com.artwork.repository.payment.PayoutRepository;
+import com.artwork.repository.payment.RefundRepository;
+import com.artwork.repository.payment.SellerLinkedAccountRepository;
+import com.artwork.service.InventoryReservationService;
+import com.artwork.service.payment.LedgerService;
+import com.artwork.service.payment.PaymentGateway;
+import com.artwork.service.payment.SellerBalanceService;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+class PaymentCaptureAfterExpiryTest {
+
+    private PaymentRepository paymentRepository;
+    private InventoryReservationService inventoryReservationService;
+    private LedgerService ledgerService;
+    private PaymentGateway paymentGateway;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        inventoryReservationService = mock(InventoryReservationService.class);
+        ledgerService = mock(LedgerService.class);
+        paymentGateway = mock(PaymentGateway.class);
+
+        payment = Payment.builder()
+                .id("payment-1")
+                .orderId("order-1")
+                .customerId("customer-1")
+                .amount(new BigDecimal("2500.00"))
+                .gatewayOrderId("order_gw1")
+                .paymentStatus(PaymentStatus.INITIATED)
+                .build();
+        when(paymentRepository.findByGatewayOrderId("order_gw1")).thenReturn(Optional.of(payment));
+        when(paymentGateway.verifyPayment(any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void verificationAfterTheHoldWasReleasedIsNotReportedAsSuccess() {
+        when(inventoryReservationService.confirm("order-1")).thenReturn(false);
+        PaymentServiceImpl service = new PaymentServiceImpl(paymentRepository, mock(RefundRepository.class),
+                mock(SellerLinkedAccountRepository.class), inventoryReservationService, ledgerService,
+                mock(PaymentAnalyticsRollups.class), paymentGateway);
+
+        PaymentVerificationResponse response = service.verifyPayment(PaymentVerificationRequest.builder()
+                .gatewayOrderId("order_gw1")
+                .gatewayPaymentId("pay_gw1")
+                .gatewaySignature("signature")
+                .build());
+
+        assertThat(response.isVerified()).isFalse();
+        assertThat(response.getStatus()).isEqualTo("REFUND_REQUIRED");
+        assertThat(payment.getPaymentStatus()).isEqualTo(PaymentStatus.REFUND_REQUIRED);
+        assertThat(payment.getGatewayPaymentId()).isEqualTo("pay_gw1");
+        verify(ledgerService, never()).postPaymentCaptured(any());
+    }
+
+    @Test
+    void capturedWebhookAfterTheHoldWasReleasedMarksThePaymentForRefund() {
+        when(inventoryReservationService.confirm("order-1")).thenReturn(false);
+        RazorpayWebhookProcessor processor = new RazorpayWebhookProcessor(paymentRepository,
+                mock(PayoutRepository.class), inventoryReservationService, mock(SellerBalanceService.class), ledgerService);
+
+        processor.apply("payment.captured", new JSONObject().put("payment", new JSONObject().put("entity",
+                new JSONObject().put("id", "pay_gw1").put("order_id", "order_gw1").put("method", "card"))));
+
+        assertThat(payment.getPaymentStatus()).isEqualTo(PaymentStatus.REFUND_REQUIRED);
+        verify(ledgerService, never()).postPaymentCaptured(any());
+    }
+
+    @Test
+    void verificationWhileTheHoldIsHeldCapturesAndPostsToTheLedger() {
+        when(inventoryReservationService.confirm("order-1")).thenReturn(true);
+        PaymentServiceImpl service = new PaymentServiceImpl(paymentRepository, mock(RefundRepository.class),
+                mock(SellerLinkedAccountRepository.class), inventoryReservationService, ledgerService,
+                mock(PaymentAnalyticsRollups.class), paymentGateway);
+
+        PaymentVerificationResponse response = service.verifyPayment(PaymentVerificationRequest.builder()
+                .gatewayOrderId("order_gw1")
+                .gatewayPaymentId("pay_gw1")
+                .gatewaySignature("signature")
+                .build());
+
+        assertThat(response.isVerified()).isTrue();
+        assertThat(payment.getPaymentStatus()).isEqualTo(PaymentStatus.CAPTURED);
+        verify(ledgerService).postPaymentCaptured(payment);
+    }
+}
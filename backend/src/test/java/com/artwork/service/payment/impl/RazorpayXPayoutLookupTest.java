@@ -0,0 +1,34 @@
+package com.artwork.service.payment.impl;
+
+import com.artwork.service.payment.RazorpayXPayoutService.PayoutResult;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+class RazorpayXPayoutLookupTest {
+
+    @Test
+    void processedPayoutIsReportedWithItsUtr() {
+        PayoutResult result = RazorpayXPayoutServiceImpl.toPayoutResult(new JSONObject()
+                .put("id", "pout_1").put("status", "processed").put("utr", "UTR123"));
+
+        assertThat(result.success()).isTrue();
+        assertThat(result.payoutId()).isEqualTo("pout_1");
+        assertThat(result.utr()).isEqualTo("UTR123");
+        assertThat(result.errorMessage()).isNull();
+    }
+
+    @Test
+    void rejectedPayoutCarriesTheGatewayReason() {
+        PayoutResult result = RazorpayXPayoutServiceImpl.toPayoutResult(new JSONObject()
+                .put("id", "pout_2").put("status", "rejected").put("utr", JSONObject.NULL)
+                .put("status_details", new JSONObject().put("description", "Beneficiary account is closed")));
+
+        assertThat(result.success()).isFalse();
+        assertThat(result.status()).isEqualTo("rejected");
+        assertThat(result.utr()).isNull();
+        assertThat(result.errorMessage()).isEqualTo("Beneficiary account is closed");
+    }
+}
@@ -0,0 +1,76 @@
+package com.artwork.util;
+
+import com.artwork.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+class UsernameGeneratorTest {
+
+    private UsernameGenerator usernameGenerator;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findUsernamesStartingWith(anyString())).thenReturn(List.of());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        usernameGenerator = new UsernameGenerator(userRepository, transactionManager);
+    }
+
+    @Test
+    void retriesWithTheNextSuffixWhenTheUsernameWasTaken() {
+        List<String> tried = new ArrayList<>();
+
+        String registered = usernameGenerator.withUniqueUsername("jane@example.com", "Jane", username -> {
+            tried.add(username);
+            if (tried.size() == 1) {
+                throw violation("ux_users_username_lower");
+            }
+            return username;
+        });
+
+        assertThat(tried).containsExactly("jane", "jane1");
+        assertThat(registered).isEqualTo("jane1");
+    }
+
+    @Test
+    void rethrowsOtherIntegrityViolationsWithoutRetrying() {
+        List<String> tried = new ArrayList<>();
+
+        assertThatThrownBy(() -> usernameGenerator.withUniqueUsername("jane@example.com", "Jane", username -> {
+            tried.add(username);
+            throw violation("ux_users_email_lower");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(tried).containsExactly("jane");
+    }
+
+    @Test
+    void recognisesTheUsernameKeyWhenTheConstraintNameIsGenerated() {
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key",
+                        new SQLException("Detail: Key (username)=(jane) already exists."), "uk6dotkott2kjsp8vw4d0m25fb7"));
+
+        assertThat(UsernameGenerator.isUsernameConflict(e)).isTrue();
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
+}